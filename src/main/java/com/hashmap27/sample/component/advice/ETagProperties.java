@@ -0,0 +1,20 @@
+package com.hashmap27.sample.component.advice;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * API 응답 ETag 설정 (sample.web.etag)
+ */
+@Getter
+@Setter
+@ToString
+public class ETagProperties {
+
+    /**
+     * GET 응답의 ETag 생성 및 If-None-Match 304 응답
+     *  - hash 를 위해 응답을 한 번 더 직렬화하므로 기본은 사용하지 않는다. (자주 바뀌지 않는 조회 API 가 많을 때 켠다)
+     */
+    private boolean enabled = false;
+}
@@ -0,0 +1,113 @@
+package com.hashmap27.sample.component.advice;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashmap27.sample.component.common.ApiCommonResponse;
+import com.hashmap27.sample.config.type.BinaryFormatType;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 직렬화된 JSON 오류 응답 Body 캐시
+ *  - 같은 (status, code, message) 오류는 한번만 직렬화하고 이후 같은 byte[] 를 그대로 응답한다.
+ *  - debugMessage 가 있으면(local, development) 요청 값이 포함되므로 캐시하지 않는다.
+ *  - 반환한 byte[] 는 공유되므로 수정하지 않는다.
+ *  - 오류 메시지에 요청 값이 포함되어 종류가 많아질 수 있으므로 maxEntries 까지만 보관한다.
+ */
+@Slf4j
+public class ErrorBodyCache {
+
+    private final ObjectMapper objectMapper;
+    private final ErrorBodyCacheProperties properties;
+    private final Map<List<Object>, byte[]> bodies = new ConcurrentHashMap<>();
+
+    /**
+     * 생성자
+     * @param objectMapper JSON 응답 Converter 와 같은 ObjectMapper
+     * @param properties 캐시 설정
+     */
+    public ErrorBodyCache(ObjectMapper objectMapper, ErrorBodyCacheProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * 직렬화된 오류 응답 Body
+     * @return JSON byte[] (캐시 사용 안함, debugMessage 가 있음, 직렬화 실패 시 null)
+     */
+    public byte[] get(int status, String code, String message, String debugMessage) {
+        if (!properties.isEnabled() || debugMessage != null) {
+            return null;
+        }
+        List<Object> key = Arrays.asList(status, code, message);
+        byte[] body = bodies.get(key);
+        if (body != null) {
+            return body;
+        }
+        try {
+            body = objectMapper.writeValueAsBytes(ApiCommonResponse.builder()
+                    .status(status)
+                    .code(code)
+                    .message(message)
+                    .build());
+        } catch (JsonProcessingException e) {
+            log.warn("error body serialize FAILED. {} - {}", e.getClass().getName(), e.getMessage());
+            return null;
+        }
+        if (bodies.size() < properties.getMaxEntries()) {
+            byte[] previous = bodies.putIfAbsent(key, body);
+            return previous != null ? previous : body;
+        }
+        return body;
+    }
+
+    /** 캐시된 오류 응답 건수 */
+    public int size() {
+        return bodies.size();
+    }
+
+    /**
+     * Accept 헤더 기준으로 JSON 응답이 선택되는가?
+     *  - Accept 가 없거나 *&#47;*, application/json 이 Binary 형식(Smile, CBOR)보다 우선하면 true
+     *  - 그 외(Binary 형식 우선, JSON 을 q=0 으로 거부, 해석 불가 등)는 Spring Content Negotiation 에 맡긴다.
+     */
+    public static boolean acceptsJson(String accept) {
+        if (StringUtils.isBlank(accept)) {
+            return true;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        for (MediaType mediaType : mediaTypes) {
+            // application/json;q=0 처럼 거부한 형식은 */* 보다 우선
+            if (mediaType.getQualityValue() <= 0 && mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+        }
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() <= 0) {
+                continue;
+            }
+            if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return true;
+            }
+            for (BinaryFormatType format : BinaryFormatType.values()) {
+                if (mediaType.isCompatibleWith(format.getMediaType())) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.hashmap27.sample.component.advice;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 오류 응답 Body 캐시 설정 (4xx, 503) (sample.web.error-body-cache)
+ */
+@Getter
+@Setter
+@ToString
+public class ErrorBodyCacheProperties {
+
+    /** 직렬화한 JSON 오류 응답 Body 재사용 */
+    private boolean enabled = true;
+
+    /** 최대 건수 (가득 차면 새 오류 응답은 캐시하지 않고 매번 직렬화) */
+    private int maxEntries = 512;
+}
@@ -0,0 +1,20 @@
+package com.hashmap27.sample.component.advice;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * API 오류 로그 설정 (sample.web.error-log)
+ */
+@Getter
+@Setter
+@ToString
+public class ErrorLogProperties {
+
+    /** 예상된 4xx 오류(잘못된 요청, 없는 자원 등) 로그 비율 (0 ~ 1, 나머지는 건수만 다음 로그에 표시) */
+    private double clientErrorSampleRate = 0.01;
+
+    /** 4xx 오류도 모두 stack trace 와 함께 출력 (문제 분석 시 일시적으로 사용) */
+    private boolean clientErrorTrace = false;
+}
@@ -1,22 +1,42 @@
 package com.hashmap27.sample.component.advice;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hashmap27.sample.component.common.ApiCommonResponse;
+import com.hashmap27.sample.component.mybatis.paging.KeysetPage;
+import com.hashmap27.sample.component.util.ETagUtil;
+import com.hashmap27.sample.config.type.BinaryFormatType;
+import lombok.RequiredArgsConstructor;
 import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 /**
  * Rest API 응답 형태를 공통화 하기 위한 처리
+ *  - GET 200 JSON 응답은 직렬화 결과의 hash 로 ETag 를 만들고, If-None-Match 가 같으면 Body 없이 304 로 응답한다.
+ *  - Controller 가 버전 정보로 ETag 를 먼저 지정했으면(WebRequest.checkNotModified) hash 를 계산하지 않는다.
+ *  - nextPageToken 은 발급 시각을 포함해 매번 달라지므로 hash 에서 제외한다. (다음 페이지 유무만 반영)
+ *  - JSON 외에 내부 서비스간 Binary 형식(Smile, CBOR)도 같은 형태로 감싼다. (Vary: Accept)
  */
+@RequiredArgsConstructor
 @RestControllerAdvice(basePackages = "com.hashmap27.sample.controller")
 public class ResponseEntityCommonAdvice implements ResponseBodyAdvice<Object> {
 
+    private final ObjectMapper objectMapper;
+    private final ETagProperties eTagProperties;
+
     @Override
     public boolean supports(MethodParameter methodParameter, Class<? extends HttpMessageConverter<?>> aClass) {
         // Controller 에서 작업이 끝난 Response 를 beforeBodyWrite 로 보낼 것인지 결정.
@@ -32,16 +52,83 @@ public class ResponseEntityCommonAdvice implements ResponseBodyAdvice<Object> {
             status = ((ServletServerHttpResponse) serverHttpResponse).getServletResponse().getStatus();
         }
 
-        if(mediaType.isCompatibleWith(MediaType.APPLICATION_JSON) && HttpStatus.valueOf(status).is2xxSuccessful()
+        if (isJacksonMediaType(mediaType) && !serverHttpResponse.getHeaders().getVary().contains(HttpHeaders.ACCEPT)) {
+            // Accept 에 따라 JSON / Smile / CBOR 로 응답
+            serverHttpResponse.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+
+        if(isJacksonMediaType(mediaType) && HttpStatus.valueOf(status).is2xxSuccessful()
             && !(o instanceof ApiCommonResponse) && !(o instanceof String)) {
-            return ApiCommonResponse.builder()
+            if (o instanceof KeysetPage) {
+                // Keyset 페이징 결과는 content 를 data 로, 연속 토큰은 envelope 로 분리
+                KeysetPage<?> page = (KeysetPage<?>) o;
+                return checkNotModified(ApiCommonResponse.builder()
+                        .status(status)
+                        .code("SUCCESS")
+                        .message("정상적으로 처리 되었습니다.")
+                        .data(page.getContent())
+                        .nextPageToken(page.getNextPageToken())
+                        .build(), status, mediaType, serverHttpRequest, serverHttpResponse);
+            }
+            return checkNotModified(ApiCommonResponse.builder()
                     .status(status)
                     .code("SUCCESS")
                     .message("정상적으로 처리 되었습니다.")
                     .data(o)
-                    .build();
+                    .build(), status, mediaType, serverHttpRequest, serverHttpResponse);
         }
 
+        if (o instanceof ApiCommonResponse && isJacksonMediaType(mediaType)) {
+            return checkNotModified(o, status, mediaType, serverHttpRequest, serverHttpResponse);
+        }
         return o;
     }
+
+    /** Jackson 으로 직렬화되는 응답 형식인가? (JSON, Smile, CBOR) */
+    private static boolean isJacksonMediaType(MediaType mediaType) {
+        if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return true;
+        }
+        for (BinaryFormatType format : BinaryFormatType.values()) {
+            if (format.getMediaType().isCompatibleWith(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * ETag 를 지정하고, 요청의 If-None-Match 와 같으면 304 (Body 없음)
+     * @return 응답 Body (304 면 null)
+     */
+    private Object checkNotModified(Object body, int status, MediaType mediaType, ServerHttpRequest serverHttpRequest, ServerHttpResponse serverHttpResponse) {
+        if (!eTagProperties.isEnabled() || status != HttpStatus.OK.value()
+                || !(serverHttpRequest instanceof ServletServerHttpRequest) || !(serverHttpResponse instanceof ServletServerHttpResponse)) {
+            return body;
+        }
+        HttpServletRequest request = ((ServletServerHttpRequest) serverHttpRequest).getServletRequest();
+        HttpServletResponse response = ((ServletServerHttpResponse) serverHttpResponse).getServletResponse();
+        if (!(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) || response.containsHeader(HttpHeaders.ETAG)) {
+            return body;
+        }
+        String eTag = ETagUtil.hash(objectMapper, eTagSource(body));
+        if (eTag != null && !mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            // Binary 형식은 JSON 과 다른 ETag (W/"hash-subtype")
+            eTag = eTag.substring(0, eTag.length() - 1) + "-" + mediaType.getSubtype() + "\"";
+        }
+        if (eTag != null && new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return null;
+        }
+        return body;
+    }
+
+    /** ETag hash 대상 (nextPageToken 은 유무만 남긴다) */
+    private static Object eTagSource(Object body) {
+        if (!(body instanceof ApiCommonResponse) || ((ApiCommonResponse<?>) body).getNextPageToken() == null) {
+            return body;
+        }
+        ApiCommonResponse<?> response = (ApiCommonResponse<?>) body;
+        return new ApiCommonResponse<>(response.getStatus(), response.getCode(), response.getMessage(),
+                response.getDebugMessage(), response.getData(), "");
+    }
 }
@@ -1,15 +1,18 @@
 package com.hashmap27.sample.component.advice;
 
 import com.hashmap27.sample.component.common.ApiCommonResponse;
+import com.hashmap27.sample.component.exception.SampleApiException;
 import com.hashmap27.sample.component.exception.SampleBadRequestException;
 import com.hashmap27.sample.component.exception.SampleConflictException;
 import com.hashmap27.sample.component.exception.SampleNotFoundException;
 import com.hashmap27.sample.component.exception.SampleRuntimeException;
+import com.hashmap27.sample.component.exception.SampleServiceUnavailableException;
 import com.hashmap27.sample.config.ActiveProfiles;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindException;
@@ -18,13 +21,25 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import javax.annotation.Resource;
 import javax.validation.ConstraintViolationException;
 import javax.validation.UnexpectedTypeException;
-
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * API 예외 응답 처리
+ *  - 예상된 4xx 오류는 stack trace 없이 일부만 로그로 남기고(sample.web.error-log), 5xx 오류는 ERROR 로 남긴다.
+ *  - 503(장애 격리)은 장애 상황을 드러내야 하므로 sampling 하지 않는다.
+ *  - 4xx, 503 JSON 응답은 직렬화된 Body 를 재사용한다. (sample.web.error-body-cache)
+ */
 @Slf4j
 @RestControllerAdvice
 public class ResponseEntityExceptionAdvice extends ResponseEntityExceptionHandler {
@@ -32,39 +47,62 @@ public class ResponseEntityExceptionAdvice extends ResponseEntityExceptionHandle
     @Resource
     private ActiveProfiles activeProfiles;
 
+    @Resource
+    private ErrorLogProperties errorLogProperties;
+
+    @Resource
+    private ErrorBodyCache errorBodyCache;
+
+    /** 캐시된 JSON 오류 응답 Header */
+    private static final HttpHeaders JSON_HEADERS;
+    static {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        JSON_HEADERS = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    /** 로그를 생략한 4xx 오류 건수 */
+    private final LongAdder suppressedClientErrors = new LongAdder();
+
     @Override
     public ResponseEntity<Object> handleHttpRequestMethodNotSupported(HttpRequestMethodNotSupportedException ex, HttpHeaders headers, HttpStatus status, WebRequest request) {
-        log.error("#handleHttpRequestMethodNotSupported: {}", ex.getMessage(), ex);
+        logClientError("handleHttpRequestMethodNotSupported", ex);
         return createResponseEntity(HttpStatus.METHOD_NOT_ALLOWED, ex);
     }
 
     @Override
     public ResponseEntity<Object> handleTypeMismatch(TypeMismatchException ex, HttpHeaders headers, HttpStatus status, WebRequest request) {
-        log.error("#handleTypeMismatch: {}", ex.getMessage(), ex);
+        logClientError("handleTypeMismatch", ex);
         return createResponseEntity(HttpStatus.BAD_REQUEST, ex);
     }
 
     @Override
     public ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatus status, WebRequest request) {
-        log.error("handleMethodArgumentNotValid: {}, ex.getBindingResult().getAllErrors().size(): {} ", ex.getMessage(), ex.getBindingResult().getAllErrors().size(), ex);
+        logClientError("handleMethodArgumentNotValid", ex);
         return createResponseEntity(HttpStatus.BAD_REQUEST, ex);
     }
 
     @Override
     public ResponseEntity<Object> handleBindException(BindException ex, HttpHeaders headers, HttpStatus status, WebRequest request) {
-        log.error("#handleBindException: {}", ex.getMessage(), ex);
+        logClientError("handleBindException", ex);
         return createResponseEntity(HttpStatus.BAD_REQUEST, ex);
     }
 
     @Override
     public ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException ex, HttpHeaders headers, HttpStatus status, WebRequest request) {
-        log.error("#handleHttpMessageNotReadable : {}", ex.getMessage(), ex);
+        logClientError("handleHttpMessageNotReadable", ex);
         return createResponseEntity(HttpStatus.BAD_REQUEST, ex);
     }
 
+    @Override
+    public ResponseEntity<Object> handleNoHandlerFoundException(NoHandlerFoundException ex, HttpHeaders headers, HttpStatus status, WebRequest request) {
+        logClientError("handleNoHandlerFoundException", ex);
+        return createResponseEntity(HttpStatus.NOT_FOUND, ex);
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<Object> handleConstraintViolationException(ConstraintViolationException ex) {
-        log.error("#handleConstraintViolationException: {}", ex.getMessage(), ex);
+        logClientError("handleConstraintViolationException", ex);
         return createResponseEntity(HttpStatus.BAD_REQUEST, ex);
     }
 
@@ -82,28 +120,62 @@ public class ResponseEntityExceptionAdvice extends ResponseEntityExceptionHandle
 
     @ExceptionHandler(SampleBadRequestException.class)
     public ResponseEntity<Object> handleBadRequestException(SampleBadRequestException ex) {
-        log.error("#handleBadRequestException: {}", ex.getMessage(), ex);
+        logClientError("handleBadRequestException", ex);
         return createResponseEntity(HttpStatus.BAD_REQUEST, ex.getCode(), ex.getMessage(), ex.getDebugMessage(), null);
     }
 
     @ExceptionHandler(SampleNotFoundException.class)
     public ResponseEntity<Object> handlerNotFoundException(SampleNotFoundException ex) {
-        log.error("#handlerNotFoundException: {}", ex.getMessage(), ex);
+        logClientError("handlerNotFoundException", ex);
         return createResponseEntity(HttpStatus.NOT_FOUND, ex.getCode(), ex.getMessage(), ex.getDebugMessage(), null);
     }
 
     @ExceptionHandler(SampleConflictException.class)
     public ResponseEntity<Object> handlerStampConflictException(SampleConflictException ex) {
-        log.error("#handlerStampConflictException: {}", ex.getMessage(), ex);
+        logClientError("handlerStampConflictException", ex);
         return createResponseEntity(HttpStatus.CONFLICT, ex.getCode(), ex.getMessage(), ex.getDebugMessage(), null);
     }
 
+    @ExceptionHandler(SampleServiceUnavailableException.class)
+    public ResponseEntity<Object> handleServiceUnavailableException(SampleServiceUnavailableException ex) {
+        // 외부 호출 장애 격리로 바로 실패한 경우 (stack trace 없음)
+        log.warn("#handleServiceUnavailableException: {} - {}", ex.getMessage(), ex.getDebugMessage());
+        return createResponseEntity(HttpStatus.SERVICE_UNAVAILABLE, ex.getCode(), ex.getMessage(), ex.getDebugMessage(), null);
+    }
+
     @ExceptionHandler({ RuntimeException.class, SampleRuntimeException.class })
     public ResponseEntity<Object> handlerRuntimeException(RuntimeException ex) {
         log.error("#handlerRuntimeException: {}", ex.getMessage(), ex);
         return createResponseEntity(HttpStatus.INTERNAL_SERVER_ERROR, ex);
     }
 
+    /**
+     * 예상된 4xx 오류 로그
+     *  - stack trace 없이 clientErrorSampleRate 비율만 INFO 로 출력하고, 생략한 건수는 다음 로그에 표시한다.
+     *  - DEBUG 레벨이면 모두 출력한다.
+     * @param handler 처리한 Handler 이름
+     * @param ex 에러 객체
+     */
+    private void logClientError(String handler, Exception ex) {
+        if (errorLogProperties.isClientErrorTrace()) {
+            log.warn("#{}: {}", handler, ex.getMessage(), ex);
+        } else if (log.isDebugEnabled()) {
+            log.debug("#{}: {} - {}", handler, ex.getClass().getName(), describe(ex));
+        } else if (ThreadLocalRandom.current().nextDouble() < errorLogProperties.getClientErrorSampleRate()) {
+            log.info("#{}: {} - {} (suppressed: {})", handler, ex.getClass().getName(), describe(ex), suppressedClientErrors.sumThenReset());
+        } else {
+            suppressedClientErrors.increment();
+        }
+    }
+
+    private static String describe(Exception ex) {
+        if (ex instanceof SampleApiException) {
+            SampleApiException apiException = (SampleApiException) ex;
+            return apiException.getCode() + ", " + apiException.getMessage() + ", " + apiException.getDebugMessage();
+        }
+        return ex.getMessage();
+    }
+
     /**
      * 에러 응답 객체 생성
      * @param httpStatus HttpStatus Code
@@ -116,6 +188,7 @@ public class ResponseEntityExceptionAdvice extends ResponseEntityExceptionHandle
 
     /**
      * 에러 응답 객체 생성
+     *  - 대량으로 발생할 수 있는 4xx, 503 오류는 JSON 응답이면 ErrorBodyCache 의 byte[] 로 바로 응답한다.
      * @param httpStatus HttpStatus Code
      * @param code 에러 코드
      * @param message 에러 메시지
@@ -124,13 +197,31 @@ public class ResponseEntityExceptionAdvice extends ResponseEntityExceptionHandle
      * @return ResponseEntity 객체
      */
     private ResponseEntity<Object> createResponseEntity(HttpStatus httpStatus, String code, String message, String messageDev, Object body) {
-        log.error("httpStatusCode: {}, code: {}, message: {}, messageDev: {}, body: {}", httpStatus, code, message, messageDev, body);
+        if (httpStatus.is5xxServerError()) {
+            log.error("httpStatusCode: {}, code: {}, message: {}, messageDev: {}, body: {}", httpStatus, code, message, messageDev, body);
+        }
+        String debugMessage = activeProfiles.isLocal() || activeProfiles.isDevelopment() ? messageDev : null;
+        if (body == null && (httpStatus.is4xxClientError() || httpStatus == HttpStatus.SERVICE_UNAVAILABLE) && acceptsJson()) {
+            byte[] cachedBody = errorBodyCache.get(httpStatus.value(), code, message, debugMessage);
+            if (cachedBody != null) {
+                return new ResponseEntity<>(cachedBody, JSON_HEADERS, httpStatus);
+            }
+        }
         return new ResponseEntity<>(ApiCommonResponse.builder()
                 .status(httpStatus.value())
                 .code(code)
                 .message(message)
-                .debugMessage(activeProfiles.isLocal() || activeProfiles.isDevelopment() ? messageDev : null)
+                .debugMessage(debugMessage)
                 .data(body)
                 .build(), new HttpHeaders(), httpStatus);
     }
+
+    /** 현재 요청의 Accept 가 JSON 응답을 선택하는가? */
+    private static boolean acceptsJson() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!(requestAttributes instanceof ServletRequestAttributes)) {
+            return false;
+        }
+        return ErrorBodyCache.acceptsJson(((ServletRequestAttributes) requestAttributes).getRequest().getHeader(HttpHeaders.ACCEPT));
+    }
 }
@@ -30,4 +30,8 @@ public class ApiCommonResponse<T> {
 
     /** 응답 바디 */
     private T data;
+
+    /** Keyset 페이징 다음 페이지 연속 토큰 (페이징 응답이 아니거나 마지막 페이지면 전달되지 않음) */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextPageToken;
 }
@@ -0,0 +1,86 @@
+package com.hashmap27.sample.component.concurrent;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+
+/**
+ * 서비스 계층 Fan-out 실행기
+ *  - 서로 독립적인 Mapper / 외부 호출을 동시에 실행하여 응답 시간을 합이 아닌 최댓값으로 줄인다.
+ *  - 작업은 호출 스레드의 트랜잭션에 참여하지 않는다. (각자 커넥션을 사용, 트랜잭션 안에서 쓰기와 섞지 말 것)
+ *
+ * <pre>
+ *  try (FanOutScope scope = fanOutExecutor.open()) {
+ *      FanOutScope.Task&lt;Foo&gt; foo = scope.fork(fooMapper::selectFoo);
+ *      FanOutScope.Task&lt;Bar&gt; bar = scope.fork(barClient::getBar);
+ *      scope.join();
+ *      return new FooBar(foo.get(), bar.get());
+ *  }
+ * </pre>
+ */
+public class FanOutExecutor implements DisposableBean {
+
+    /** 작업 스레드에서 다시 fork 하면 대기 작업끼리 서로 기다리지 않도록 바로 실행 */
+    private static final ThreadLocal<Boolean> IN_TASK = new ThreadLocal<>();
+
+    private final Executor executor;
+    private final Duration defaultTimeout;
+
+    /**
+     * 생성자
+     * @param executor 작업 실행 Executor (포화 시 거절하지 않고 호출 스레드에서 실행하는 정책 권장)
+     * @param defaultTimeout join 기본 제한 시간
+     */
+    public FanOutExecutor(Executor executor, Duration defaultTimeout) {
+        this.executor = executor;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    /** 기본 제한 시간으로 Scope 시작 */
+    public FanOutScope open() {
+        return open(defaultTimeout);
+    }
+
+    /**
+     * Scope 시작
+     * @param timeout join 제한 시간 (open 시점부터)
+     */
+    public FanOutScope open(Duration timeout) {
+        return new FanOutScope(this, System.nanoTime() + timeout.toNanos());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        } else if (executor instanceof DisposableBean) {
+            ((DisposableBean) executor).destroy();
+        }
+    }
+
+    /** 작업 실행 (작업 스레드 안이면 바로 실행) */
+    <T> void submit(FutureTask<T> task) {
+        if (Boolean.TRUE.equals(IN_TASK.get())) {
+            task.run();
+        } else {
+            executor.execute(task);
+        }
+    }
+
+    /** 작업 스레드 표시 후 실행 */
+    static <T> T runInTask(Callable<T> callable) throws Exception {
+        Boolean previous = IN_TASK.get();
+        IN_TASK.set(Boolean.TRUE);
+        try {
+            return callable.call();
+        } finally {
+            if (previous == null) {
+                IN_TASK.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.hashmap27.sample.component.concurrent;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * 서비스 계층 동시 실행(Fan-out) 설정 (sample.fan-out)
+ */
+@Getter
+@Setter
+@ToString
+public class FanOutProperties {
+
+    /** 동시 실행 작업 스레드 수 (DB Pool 크기를 넘지 않도록 지정) */
+    private int poolSize = 16;
+
+    /** 대기 작업 수 (초과 시 호출한 스레드에서 바로 실행) */
+    private int queueCapacity = 256;
+
+    /** join 기본 제한 시간 */
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /** Virtual Thread 로 실행 (Java 21+ 런타임, poolSize 는 동시 실행 제한으로 적용) */
+    private boolean virtualThreads = false;
+}
@@ -0,0 +1,207 @@
+package com.hashmap27.sample.component.concurrent;
+
+import com.hashmap27.sample.component.exception.SampleRuntimeException;
+import com.hashmap27.sample.component.exception.SampleServiceUnavailableException;
+import com.hashmap27.sample.config.datasource.DataSourceRoutingContext;
+import com.hashmap27.sample.config.type.DataSourceType;
+import org.slf4j.MDC;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fan-out 작업 범위
+ *  - fork 한 작업은 호출 스레드의 MDC, Request Attribute, Locale, 메소드 레벨 DataSource 라우팅을 이어받는다.
+ *  - 하나가 실패(SampleApiException 등)하면 나머지 작업을 취소하고, join 에서 처음 실패한 예외를 그대로 던진다.
+ *  - 실행 중인 JDBC / HTTP 호출은 interrupt 로 중단되지 않을 수 있으며, 이 경우 결과만 버린다.
+ *  - 호출 스레드에서 실행된 작업(CallerRunsPolicy, 작업 안의 fork)이 취소되면 그 interrupt 는 작업 종료 후 지운다.
+ *  - close 시 끝나지 않은 작업은 취소한다. (try-with-resources 로 사용)
+ */
+public class FanOutScope implements AutoCloseable {
+
+    private final FanOutExecutor executor;
+    private final long deadlineNanos;
+    /** 실패한 작업 스레드에서 취소를 위해 순회하므로 CopyOnWriteArrayList */
+    private final List<Task<?>> tasks = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private boolean joined = false;
+
+    FanOutScope(FanOutExecutor executor, long deadlineNanos) {
+        this.executor = executor;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 작업 시작
+     * @param callable 독립적으로 실행할 작업 (Mapper 조회, 외부 호출 등)
+     * @return join 후 결과를 꺼낼 Task
+     */
+    public <T> Task<T> fork(Callable<T> callable) {
+        if (joined) {
+            throw new IllegalStateException("FanOutScope already joined");
+        }
+        Task<T> task = new Task<>(this, wrap(callable));
+        tasks.add(task);
+        if (failure.get() != null) {
+            // 이미 실패한 Scope
+            task.future.cancel(false);
+            return task;
+        }
+        executor.submit(task.future);
+        return task;
+    }
+
+    /**
+     * 모든 작업 종료 대기
+     *  - 실패한 작업이 있으면 나머지를 취소하고 처음 실패한 예외를 던진다. (RuntimeException 은 그대로)
+     *  - 제한 시간을 넘으면 나머지를 취소하고 503 (F03504) 예외를 던진다.
+     */
+    public void join() {
+        joined = true;
+        try {
+            for (Task<?> task : tasks) {
+                long remaining = deadlineNanos - System.nanoTime();
+                try {
+                    task.future.get(Math.max(remaining, 0L), TimeUnit.NANOSECONDS);
+                } catch (CancellationException | ExecutionException e) {
+                    // 처음 실패한 예외로 처리
+                    fail((e instanceof ExecutionException) ? e.getCause() : e);
+                    break;
+                }
+            }
+        } catch (TimeoutException e) {
+            fail(new SampleServiceUnavailableException("F03504", "fan-out.timeout", tasks.size() + " tasks", null, false, false));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        }
+        Throwable cause = failure.get();
+        if (cause != null) {
+            cancelAll();
+            throw propagate(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    /** 처음 실패 기록 후 나머지 작업 취소 */
+    void fail(Throwable cause) {
+        if (failure.compareAndSet(null, cause)) {
+            cancelAll();
+        }
+    }
+
+    private void cancelAll() {
+        for (Task<?> task : tasks) {
+            task.future.cancel(true);
+        }
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new SampleRuntimeException("fan-out task FAILED. " + cause.getClass().getName() + " - " + cause.getMessage(), cause);
+    }
+
+    /** 호출 스레드의 실행 문맥을 작업 스레드로 전달 */
+    private static <T> Callable<T> wrap(Callable<T> callable) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        DataSourceType route = DataSourceRoutingContext.current();
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            RequestAttributes previousRequestAttributes = RequestContextHolder.getRequestAttributes();
+            LocaleContext previousLocaleContext = LocaleContextHolder.getLocaleContext();
+            setMdc(mdc);
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            LocaleContextHolder.setLocaleContext(localeContext);
+            if (route != null) {
+                DataSourceRoutingContext.push(route);
+            }
+            try {
+                return FanOutExecutor.runInTask(callable);
+            } finally {
+                if (route != null) {
+                    DataSourceRoutingContext.pop();
+                }
+                LocaleContextHolder.setLocaleContext(previousLocaleContext);
+                RequestContextHolder.setRequestAttributes(previousRequestAttributes);
+                setMdc(previousMdc);
+            }
+        };
+    }
+
+    private static void setMdc(Map<String, String> contextMap) {
+        if (contextMap == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(contextMap);
+        }
+    }
+
+    /**
+     * Fan-out 작업
+     * @param <T> 결과 타입
+     */
+    public static class Task<T> {
+
+        private final FutureTask<T> future;
+
+        private Task(FanOutScope scope, Callable<T> callable) {
+            Thread forkThread = Thread.currentThread();
+            this.future = new FutureTask<>(callable) {
+                @Override
+                public void run() {
+                    if (Thread.currentThread() != forkThread) {
+                        super.run();
+                        return;
+                    }
+                    // 호출 스레드에서 실행: 취소(cancel(true))로 받은 interrupt 가 요청 스레드에 남지 않도록 지운다.
+                    boolean cancelledBefore = isCancelled();
+                    super.run();
+                    if (!cancelledBefore && isCancelled()) {
+                        Thread.interrupted();
+                    }
+                }
+
+                @Override
+                protected void setException(Throwable t) {
+                    super.setException(t);
+                    scope.fail(t);
+                }
+            };
+        }
+
+        /** 결과 (join 이 성공한 뒤에만 호출) */
+        public T get() {
+            if (!future.isDone() || future.isCancelled()) {
+                throw new IllegalStateException("FanOutScope.Task is not completed. call join() first");
+            }
+            try {
+                return future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IllegalStateException("FanOutScope.Task FAILED", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.hashmap27.sample.component.concurrent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 작업마다 Virtual Thread 를 만드는 Executor
+ *  - maxConcurrency 가 있으면 Virtual Thread 안에서 permit 을 기다리므로, 호출한 쪽(Tomcat Poller 등)은 block 되지 않는다.
+ *  - 지표: executor.virtual.active (실행 중), executor.virtual.waiting (permit 대기) (name 태그)
+ */
+@Slf4j
+public class VirtualThreadExecutor implements Executor, DisposableBean {
+
+    private final String name;
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final AtomicInteger active = new AtomicInteger();
+
+    /**
+     * 생성자
+     * @param name 이름 (thread 이름 prefix, 지표 태그)
+     * @param maxConcurrency 동시 실행 제한 (0: 제한 없음)
+     * @param meterRegistry 지표 등록
+     */
+    public VirtualThreadExecutor(String name, int maxConcurrency, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.delegate = VirtualThreads.newThreadPerTaskExecutor(name + "-");
+        this.permits = (maxConcurrency > 0) ? new Semaphore(maxConcurrency, true) : null;
+        Gauge.builder("executor.virtual.active", active, AtomicInteger::get).tag("name", name).register(meterRegistry);
+        if (permits != null) {
+            Gauge.builder("executor.virtual.waiting", permits, Semaphore::getQueueLength).tag("name", name).register(meterRegistry);
+        }
+    }
+
+    /** 런타임이 Virtual Thread 를 지원하는가? (false 면 사용하지 않음) */
+    public boolean isAvailable() {
+        return delegate != null;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (delegate == null) {
+            throw new IllegalStateException("Virtual threads are not supported on Java " + Runtime.version());
+        }
+        delegate.execute(() -> {
+            if (permits != null) {
+                permits.acquireUninterruptibly();
+            }
+            active.incrementAndGet();
+            try {
+                command.run();
+            } finally {
+                active.decrementAndGet();
+                if (permits != null) {
+                    permits.release();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (delegate != null) {
+            delegate.shutdown();
+            log.info("## {} {} shutdown.", getClass().getSimpleName(), name);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.hashmap27.sample.component.concurrent;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Virtual Thread 요청 처리 설정 (sample.virtual-threads)
+ */
+@Getter
+@Setter
+@ToString
+public class VirtualThreadProperties {
+
+    /** Tomcat 요청 처리 / MVC 비동기 작업을 Virtual Thread 로 실행 (Java 21+ 런타임, 아니면 기존 Thread Pool) */
+    private boolean enabled = false;
+
+    /**
+     * 동시 처리 요청 수 제한 (0: 제한 없음)
+     *  - 스레드 수가 더 이상 동시성을 제한하지 않으므로, 초과 요청은 DB Pool 대신 여기서 대기(park)시킨다.
+     */
+    private int maxConcurrency = 0;
+
+    /** Pinning 진단 (short, full, 빈 값이면 사용 안 함) */
+    private String tracePinnedThreads = "";
+}
@@ -0,0 +1,68 @@
+package com.hashmap27.sample.component.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual Thread (Java 21+) 생성 Util
+ *  - 컴파일 대상이 Java 11 이므로 Thread.ofVirtual() 등은 Reflection 으로 호출한다.
+ *  - 지원하지 않는 런타임(21 미만, 또는 preview 미사용 19/20)이면 null 을 반환한다.
+ */
+@Slf4j
+public class VirtualThreads {
+
+    /** Virtual Thread 가 고정(pinned)된 채로 block 될 때 stack 출력 (short / full) */
+    private static final String TRACE_PINNED_THREADS = "jdk.tracePinnedThreads";
+
+    private VirtualThreads() { /* DO NOTHING */ }
+
+    /**
+     * Virtual Thread 생성 ThreadFactory
+     * @param namePrefix thread 이름 prefix (뒤에 순번)
+     * @return 지원하지 않으면 null
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("virtual thread not supported. java: {} - {} - {}", Runtime.version(), e.getClass().getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 작업마다 Virtual Thread 를 만드는 ExecutorService
+     * @param namePrefix thread 이름 prefix
+     * @return 지원하지 않으면 null
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory threadFactory = newThreadFactory(namePrefix);
+        if (threadFactory == null) {
+            return null;
+        }
+        try {
+            Method method = java.util.concurrent.Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("newThreadPerTaskExecutor FAILED. {} - {}", e.getClass().getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Pinning 진단 활성화 (synchronized / native 구간에서 block 되어 carrier thread 를 점유하는 경우 stack 출력)
+     *  - JVM 옵션(-Djdk.tracePinnedThreads)이 없을 때만 지정하며, 첫 Virtual Thread 생성 전에 호출해야 적용된다.
+     * @param mode short, full (빈 값이면 사용 안 함)
+     */
+    public static void tracePinnedThreads(String mode) {
+        if (mode != null && !mode.isBlank() && System.getProperty(TRACE_PINNED_THREADS) == null) {
+            System.setProperty(TRACE_PINNED_THREADS, mode);
+        }
+    }
+}
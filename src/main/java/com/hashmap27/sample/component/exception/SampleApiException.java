@@ -63,4 +63,13 @@ public class SampleApiException extends SampleRuntimeException {
         this.message = message;
         this.debugMessage = debugMessage;
     }
+
+    /** Stack trace 없는 예외 (반복 발생하는 업무 오류용, 코드 / 메시지가 고정이면 상수로 재사용 가능) */
+    protected SampleApiException(HttpStatus status, String code, String message, String debugMessage, boolean writableStackTrace) {
+        super(code, null, false, writableStackTrace);
+        this.status = status;
+        this.code = code;
+        this.message = message;
+        this.debugMessage = debugMessage;
+    }
 }
@@ -33,4 +33,12 @@ public class SampleBadRequestException extends SampleApiException {
     public SampleBadRequestException(HttpStatus status, String code) {
         super(status, code);
     }
+
+    private SampleBadRequestException(String code, String message, String debugMessage, boolean writableStackTrace) {
+        super(HttpStatus.BAD_REQUEST, code, message, debugMessage, writableStackTrace);
+    }
+
+    public static SampleBadRequestException stackless(String code, String message, String debugMessage) {
+        return new SampleBadRequestException(code, message, debugMessage, false);
+    }
 }
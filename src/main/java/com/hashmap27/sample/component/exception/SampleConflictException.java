@@ -29,4 +29,12 @@ public class SampleConflictException extends SampleApiException {
     public SampleConflictException(String code, String message, String debugMessage, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(HttpStatus.CONFLICT, code, message, debugMessage, cause, enableSuppression, writableStackTrace);
     }
+
+    private SampleConflictException(String code, String message, String debugMessage, boolean writableStackTrace) {
+        super(HttpStatus.CONFLICT, code, message, debugMessage, writableStackTrace);
+    }
+
+    public static SampleConflictException stackless(String code, String message, String debugMessage) {
+        return new SampleConflictException(code, message, debugMessage, false);
+    }
 }
@@ -29,4 +29,12 @@ public class SampleNotFoundException extends SampleApiException {
     public SampleNotFoundException(String code, String message, String debugMessage, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(HttpStatus.NOT_FOUND, code, message, debugMessage, cause, enableSuppression, writableStackTrace);
     }
+
+    private SampleNotFoundException(String code, String message, String debugMessage, boolean writableStackTrace) {
+        super(HttpStatus.NOT_FOUND, code, message, debugMessage, writableStackTrace);
+    }
+
+    public static SampleNotFoundException stackless(String code, String message, String debugMessage) {
+        return new SampleNotFoundException(code, message, debugMessage, false);
+    }
 }
@@ -0,0 +1,32 @@
+package com.hashmap27.sample.component.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE)
+public class SampleServiceUnavailableException extends SampleApiException {
+
+    public SampleServiceUnavailableException(String code) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, code);
+    }
+
+    public SampleServiceUnavailableException(String code, Throwable cause) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, code, cause);
+    }
+
+    public SampleServiceUnavailableException(String code, String message) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, code, message);
+    }
+
+    public SampleServiceUnavailableException(String code, String message, String debugMessage) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, code, message, debugMessage);
+    }
+
+    public SampleServiceUnavailableException(String code, String message, String debugMessage, Throwable cause) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, code, message, debugMessage, cause);
+    }
+
+    public SampleServiceUnavailableException(String code, String message, String debugMessage, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, code, message, debugMessage, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,106 @@
+package com.hashmap27.sample.component.http.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 호스트 별 동시 호출 수를 응답 시간 / 실패에 따라 조절 (AIMD)
+ *  - 빠르게 성공하면 limit 을 조금씩 늘리고 (+1/limit), 실패(IOException, 5xx, 429)하거나 latencyThreshold 를 넘으면 backoffRatio 를 곱해 줄인다.
+ *  - 실행 중인 호출이 limit 이상이면 SampleServiceUnavailableException(503)
+ *  - http.client.concurrency.limit / http.client.concurrency.inflight (host)
+ */
+public class AdaptiveLimitClientHttpRequestInterceptor extends PerHostClientHttpRequestInterceptor<AdaptiveLimitClientHttpRequestInterceptor.Limit> {
+
+    private final HttpResilienceProperties.AdaptiveLimit properties;
+
+    public AdaptiveLimitClientHttpRequestInterceptor(HttpResilienceProperties.AdaptiveLimit properties, MeterRegistry meterRegistry) {
+        super(meterRegistry, "limit_exceeded");
+        this.properties = properties;
+    }
+
+    @Override
+    protected Limit createState(String host) {
+        Limit limit = new Limit();
+        Gauge.builder("http.client.concurrency.limit", limit, Limit::getLimit).tag("host", host).register(meterRegistry);
+        Gauge.builder("http.client.concurrency.inflight", limit, Limit::getInflight).tag("host", host).register(meterRegistry);
+        return limit;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        Limit limit = stateOf(request.getURI());
+        if (!limit.tryAcquire()) {
+            throw reject(request.getURI(), "concurrency limit " + limit.getLimit() + " reached");
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getRawStatusCode();
+            success = status < 500 && status != 429;
+            return response;
+        } finally {
+            limit.release(success && System.nanoTime() - start < properties.getLatencyThreshold().toNanos());
+        }
+    }
+
+    /** 호스트 별 limit / 실행 중인 호출 수 */
+    class Limit {
+        private final ReentrantLock lock = new ReentrantLock();
+        private double limit = properties.getInitialLimit();
+        private int inflight = 0;
+
+        private boolean tryAcquire() {
+            lock.lock();
+            try {
+                if (inflight >= (int) limit) {
+                    return false;
+                }
+                inflight++;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** 호출 완료: 성공이면 가산 증가, 실패 / 지연이면 곱셈 감소 */
+        private void release(boolean success) {
+            lock.lock();
+            try {
+                inflight--;
+                if (success) {
+                    limit = Math.min(limit + 1.0 / limit, properties.getMaxLimit());
+                } else {
+                    limit = Math.max(limit * properties.getBackoffRatio(), properties.getMinLimit());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int getLimit() {
+            lock.lock();
+            try {
+                return (int) limit;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int getInflight() {
+            lock.lock();
+            try {
+                return inflight;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
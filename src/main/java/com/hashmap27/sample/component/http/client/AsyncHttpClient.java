@@ -0,0 +1,261 @@
+package com.hashmap27.sample.component.http.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashmap27.sample.component.exception.SampleRuntimeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 외부 HTTP 호출 Client (java.net.http.HttpClient)
+ *  - 요청 스레드를 점유하지 않고 CompletableFuture 로 응답을 전달한다. (응답 처리는 HttpClient 스레드에서 실행)
+ *  - 동시에 실행 중인 같은 GET(URL + 헤더) 요청은 한번만 호출하고 결과를 공유한다. (sample.http-client.async.coalesce-gets)
+ *  - 로그는 LoggingClientHttpRequestInterceptor 와 같이 HttpExchangeLogPipeline 으로 보내고, putAsyncMetadata 로 같은 namespace / key 의 메타데이터를 전달한다.
+ *
+ * <pre>
+ *  CompletableFuture&lt;UserVO&gt; user = asyncHttpClient.getForObject(userUri, UserVO.class);
+ *  CompletableFuture&lt;OrderVO&gt; order = asyncHttpClient.getForObject(orderUri, OrderVO.class);
+ *  CompletableFuture.allOf(user, order).join();
+ * </pre>
+ */
+@Slf4j
+public class AsyncHttpClient {
+
+    private final HttpClient httpClient;
+    private final HttpClientProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HttpExchangeLogPipeline pipeline;
+
+    /** 실행 중인 GET 요청 (key: URL + 헤더) */
+    private final Map<String, CompletableFuture<AsyncHttpResponse>> inFlightGets = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+
+    /**
+     * 생성자
+     * @param properties 외부 HTTP 호출 설정 (connectTimeout, async.*)
+     * @param objectMapper 요청 / 응답 Body 변환
+     * @param pipeline 비동기 로그 Pipeline (없으면 null)
+     * @param meterRegistry 합쳐진 요청 수 지표 (http.client.async.coalesced)
+     */
+    public AsyncHttpClient(HttpClientProperties properties, ObjectMapper objectMapper, HttpExchangeLogPipeline pipeline, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.pipeline = pipeline;
+        this.httpClient = HttpClient.newBuilder()
+                .version(properties.getAsync().getVersion())
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.coalescedCounter = Counter.builder("http.client.async.coalesced")
+                .description("in-flight GET 요청에 합쳐진 호출 수")
+                .register(meterRegistry);
+    }
+
+    /** GET 응답 */
+    public CompletableFuture<AsyncHttpResponse> get(URI uri) {
+        return get(uri, HttpHeaders.EMPTY);
+    }
+
+    /**
+     * GET 응답
+     * @param uri 호출 URL
+     * @param headers 요청 헤더
+     */
+    public CompletableFuture<AsyncHttpResponse> get(URI uri, HttpHeaders headers) {
+        return exchange("GET", uri, headers, null);
+    }
+
+    /** GET 응답 Body (2xx 가 아니면 HttpStatusCodeException 으로 완료) */
+    public <T> CompletableFuture<T> getForObject(URI uri, Class<T> responseType) {
+        return get(uri, jsonHeaders()).thenApply(response -> toObject(response, responseType));
+    }
+
+    /** JSON POST 응답 Body (2xx 가 아니면 HttpStatusCodeException 으로 완료) */
+    public <T> CompletableFuture<T> postForObject(URI uri, Object request, Class<T> responseType) {
+        HttpHeaders headers = jsonHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return exchange("POST", uri, headers, toJson(request)).thenApply(response -> toObject(response, responseType));
+    }
+
+    /**
+     * 요청 실행
+     *  - GET 이고 요청 Body 가 없으면 실행 중인 같은 요청과 합친다.
+     * @param method HTTP method
+     * @param uri 호출 URL
+     * @param headers 요청 헤더
+     * @param body 요청 Body (없으면 null)
+     */
+    public CompletableFuture<AsyncHttpResponse> exchange(String method, URI uri, HttpHeaders headers, byte[] body) {
+        byte[] requestBody = (body == null) ? new byte[0] : body;
+        if (!"GET".equals(method) || requestBody.length > 0 || !properties.getAsync().isCoalesceGets()) {
+            return send(method, uri, headers, requestBody);
+        }
+
+        String key = coalesceKey(uri, headers);
+        CompletableFuture<AsyncHttpResponse> created = new CompletableFuture<>();
+        CompletableFuture<AsyncHttpResponse> inFlight = inFlightGets.putIfAbsent(key, created);
+        if (inFlight != null) {
+            coalescedCounter.increment();
+            // 호출자별 cancel / complete 가 공유 요청에 영향을 주지 않도록 복사본 전달
+            return inFlight.copy();
+        }
+        send(method, uri, headers, requestBody).whenComplete((response, error) -> {
+            inFlightGets.remove(key, created);
+            if (error != null) {
+                created.completeExceptionally(error);
+            } else {
+                created.complete(response);
+            }
+        });
+        return created.copy();
+    }
+
+    /**
+     * 로깅 메타데이터를 기록 (하위클래스에서 정보를 받아서 쓰려는 경우)
+     *  - namespace / key 는 LoggingClientHttpRequestInterceptor.putMetadata 와 같지만, 요청은 java.net.http.HttpRequest 이므로 별도 Hook 이다.
+     *  - 응답 메타데이터는 HttpClient 스레드에서 호출된다.
+     * @param request 요청 객체
+     * @param namespace request / response
+     * @param key 메타데이터 키
+     * @param value 메타데이터 값
+     */
+    public void putAsyncMetadata(HttpRequest request, String namespace, String key, Object value) { /**/ }
+
+    /** 현재 실행 중인(합쳐질 수 있는) GET 요청 수 */
+    public int getInFlightGetCount() {
+        return inFlightGets.size();
+    }
+
+    private CompletableFuture<AsyncHttpResponse> send(String method, URI uri, HttpHeaders headers, byte[] requestBody) {
+        HttpRequest request;
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                    .timeout(properties.getAsync().getRequestTimeout())
+                    .method(method, requestBody.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+            headers.forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+            request = builder.build();
+        } catch (IllegalArgumentException e) {
+            // 잘못된 URL, 제한된 헤더(Host, Connection 등)
+            return CompletableFuture.failedFuture(e);
+        }
+
+        putAsyncMetadata(request, "request", "method", method);
+        putAsyncMetadata(request, "request", "url", uri);
+        putAsyncMetadata(request, "request", "headers", headers);
+        if (requestBody.length > 0) {
+            putAsyncMetadata(request, "request", "body", HttpContentUtil.hasTextBody(headers) ? new String(requestBody, HttpContentUtil.determineCharset(headers)) : "[BINARY]");
+        }
+
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    putAsyncMetadata(request, "response", "elapsedMillis", elapsedMillis);
+                    if (error != null) {
+                        Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+                        putAsyncMetadata(request, "response", "EXCEPTION", cause.getClass().getName() + " - " + cause.getMessage());
+                        publishExchange(method, uri, headers, requestBody, null, elapsedMillis, cause);
+                        throw (error instanceof CompletionException) ? (CompletionException) error : new CompletionException(error);
+                    }
+
+                    HttpHeaders responseHeaders = new HttpHeaders();
+                    response.headers().map().forEach(responseHeaders::addAll);
+                    AsyncHttpResponse asyncResponse = new AsyncHttpResponse(method, uri, response.statusCode(), responseHeaders, response.body(), objectMapper);
+                    putAsyncMetadata(request, "response", "status", response.statusCode());
+                    putAsyncMetadata(request, "response", "contentLength", response.body().length);
+                    putAsyncMetadata(request, "response", "contentType", HttpContentUtil.getContentType(responseHeaders));
+                    publishExchange(method, uri, headers, requestBody, asyncResponse, elapsedMillis, null);
+                    return asyncResponse;
+                });
+    }
+
+    /** 요청 / 응답 로그를 Pipeline 으로 전달 (Body 는 앞부분만 복사) */
+    private void publishExchange(String method, URI uri, HttpHeaders requestHeaders, byte[] requestBody, AsyncHttpResponse response, long elapsedMillis, Throwable error) {
+        if (pipeline == null || !pipeline.isEnabled()) {
+            return;
+        }
+        try {
+            int maxBodyLogBytes = pipeline.getProperties().getMaxBodyLogBytes();
+            HttpExchangeRecord.HttpExchangeRecordBuilder record = HttpExchangeRecord.builder()
+                    .method(method)
+                    .uri(uri)
+                    .elapsedMillis(elapsedMillis)
+                    .requestHeaders(HttpHeaders.readOnlyHttpHeaders(requestHeaders))
+                    .requestBody(HttpContentUtil.hasTextBody(requestHeaders) ? Arrays.copyOf(requestBody, Math.min(requestBody.length, maxBodyLogBytes)) : null)
+                    .requestBodyLength(requestBody.length)
+                    .status(-1);
+            if (response == null) {
+                record.error(error.getClass().getName() + " - " + error.getMessage());
+            } else {
+                byte[] body = response.rawBody();
+                record.status(response.getStatus())
+                        .responseHeaders(response.getHeaders())
+                        .responseBody(HttpContentUtil.hasTextBody(response.getHeaders()) ? Arrays.copyOf(body, Math.min(body.length, maxBodyLogBytes)) : null)
+                        .responseBodyLength(body.length)
+                        .responseCompleted(true);
+            }
+            pipeline.publish(record.build());
+        } catch (Exception e) {
+            log.warn("publishExchange FAILED. {} - {}", e.getClass().getName(), e.getMessage(), e);
+        }
+    }
+
+    /** 같은 요청 판단 key: URL + 헤더 (헤더 이름은 대소문자 구분 없이 정렬) */
+    private static String coalesceKey(URI uri, HttpHeaders headers) {
+        StringBuilder sb = new StringBuilder(uri.toString());
+        headers.keySet().stream()
+                .sorted(String.CASE_INSENSITIVE_ORDER)
+                .forEach(name -> sb.append('\n').append(name.toLowerCase()).append(':').append(headers.get(name)));
+        return sb.toString();
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        return headers;
+    }
+
+    private byte[] toJson(Object request) {
+        try {
+            return (request instanceof byte[]) ? (byte[]) request : objectMapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException e) {
+            throw new SampleRuntimeException("request body convert FAILED. " + e.getMessage(), e);
+        }
+    }
+
+    /** 2xx 응답이면 Body 변환, 아니면 RestTemplate 과 같은 HttpStatusCodeException */
+    private static <T> T toObject(AsyncHttpResponse response, Class<T> responseType) {
+        if (response.is2xxSuccessful()) {
+            return response.bodyAs(responseType);
+        }
+        HttpStatus status = response.getHttpStatus();
+        String statusText = (status == null) ? "" : status.getReasonPhrase();
+        String message = response.getStatus() + " " + statusText + ": " + response.getMethod() + " " + response.getUri();
+        if (status != null && status.is4xxClientError()) {
+            throw HttpClientErrorException.create(message, status, statusText, response.getHeaders(), response.getBody(), HttpContentUtil.determineCharset(response.getHeaders()));
+        }
+        if (status != null && status.is5xxServerError()) {
+            throw HttpServerErrorException.create(message, status, statusText, response.getHeaders(), response.getBody(), HttpContentUtil.determineCharset(response.getHeaders()));
+        }
+        throw new UnknownHttpStatusCodeException(message, response.getStatus(), statusText, response.getHeaders(), response.getBody(), HttpContentUtil.determineCharset(response.getHeaders()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.hashmap27.sample.component.http.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashmap27.sample.component.exception.SampleRuntimeException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * AsyncHttpClient 응답
+ *  - Body 는 모두 수신한 뒤 전달된다.
+ *  - 합쳐진(coalesced) GET 요청은 같은 응답 객체를 공유하므로 byte[] Body 는 복사본을 반환한다.
+ */
+@Getter
+public class AsyncHttpResponse {
+
+    private final String method;
+    private final URI uri;
+    private final int status;
+    private final HttpHeaders headers;
+    @Getter(AccessLevel.NONE)
+    private final byte[] body;
+
+    @Getter(AccessLevel.NONE)
+    private final ObjectMapper objectMapper;
+
+    AsyncHttpResponse(String method, URI uri, int status, HttpHeaders headers, byte[] body, ObjectMapper objectMapper) {
+        this.method = method;
+        this.uri = uri;
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.objectMapper = objectMapper;
+    }
+
+    /** 2xx 응답인가? */
+    public boolean is2xxSuccessful() {
+        return status >= 200 && status < 300;
+    }
+
+    /** HttpStatus (알 수 없는 코드면 null) */
+    public HttpStatus getHttpStatus() {
+        return HttpStatus.resolve(status);
+    }
+
+    /** Body (복사본) */
+    public byte[] getBody() {
+        return body.clone();
+    }
+
+    /** Body 원본 (로그 등 읽기 전용으로만 사용) */
+    byte[] rawBody() {
+        return body;
+    }
+
+    /** Content-Type 의 charset 으로 변환한 Body */
+    public String getBodyAsString() {
+        return new String(body, HttpContentUtil.determineCharset(headers));
+    }
+
+    /**
+     * JSON Body 를 객체로 변환
+     * @param responseType 변환할 타입
+     */
+    public <T> T bodyAs(Class<T> responseType) {
+        if (body.length == 0) {
+            return null;
+        }
+        if (responseType == byte[].class) {
+            return responseType.cast(body.clone());
+        }
+        if (responseType == String.class) {
+            return responseType.cast(getBodyAsString());
+        }
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (IOException e) {
+            throw new SampleRuntimeException("response body convert FAILED. " + method + " " + uri + " -> " + responseType.getName(), e);
+        }
+    }
+}
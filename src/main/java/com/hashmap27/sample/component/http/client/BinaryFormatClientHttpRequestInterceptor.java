@@ -0,0 +1,81 @@
+package com.hashmap27.sample.component.http.client;
+
+import com.hashmap27.sample.config.type.BinaryFormatType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 내부 서비스 host 로의 요청은 Binary(Smile / CBOR) 응답을 우선 요청
+ *  - RestTemplate 이 만든 Accept 에 JSON 과 해당 Binary 형식이 모두 있을 때(Jackson 으로 읽는 응답)만 순서를 바꾼다.
+ *  - JSON 은 낮은 q 로 남겨두므로 Binary 를 지원하지 않는 서버는 JSON 으로 응답한다.
+ *  - 요청 Body 는 호출하는 쪽에서 Content-Type 을 Binary 형식으로 지정하면 해당 Converter 로 직렬화된다.
+ *  - 응답 캐시 key(Vary: Accept)에 반영되도록 RestTemplate 에 가장 먼저 적용한다.
+ */
+public class BinaryFormatClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final double FALLBACK_QUALITY = 0.5;
+
+    /** key: host[:port] (소문자) */
+    private final Map<String, BinaryFormatType> binaryFormats;
+
+    /**
+     * 생성자
+     * @param binaryFormats host[:port] 별 선호 Binary 형식
+     */
+    public BinaryFormatClientHttpRequestInterceptor(Map<String, BinaryFormatType> binaryFormats) {
+        this.binaryFormats = new HashMap<>();
+        binaryFormats.forEach((host, format) -> this.binaryFormats.put(host.toLowerCase(Locale.ROOT), format));
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        BinaryFormatType format = formatOf(request.getURI());
+        if (format != null) {
+            preferBinary(request.getHeaders(), format.getMediaType());
+        }
+        return execution.execute(request, body);
+    }
+
+    private BinaryFormatType formatOf(URI uri) {
+        if (uri.getHost() == null) {
+            return null;
+        }
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        BinaryFormatType format = (uri.getPort() > 0) ? binaryFormats.get(host + ":" + uri.getPort()) : null;
+        return (format != null) ? format : binaryFormats.get(host);
+    }
+
+    /** Accept 에서 binary 형식을 맨 앞으로, 나머지는 낮은 q 로 변경 */
+    private static void preferBinary(HttpHeaders headers, MediaType binary) {
+        List<MediaType> accept = headers.getAccept();
+        boolean readable = false;
+        boolean json = false;
+        for (MediaType mediaType : accept) {
+            readable |= binary.equalsTypeAndSubtype(mediaType);
+            json |= MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mediaType);
+        }
+        if (!readable || !json) {
+            return;
+        }
+        List<MediaType> preferred = new ArrayList<>(accept.size());
+        preferred.add(binary);
+        for (MediaType mediaType : accept) {
+            if (!binary.equalsTypeAndSubtype(mediaType)) {
+                preferred.add(mediaType.getQualityValue() > FALLBACK_QUALITY ? new MediaType(mediaType, Map.of("q", String.valueOf(FALLBACK_QUALITY))) : mediaType);
+            }
+        }
+        headers.setAccept(preferred);
+    }
+}
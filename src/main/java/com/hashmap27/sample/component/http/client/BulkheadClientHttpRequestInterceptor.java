@@ -0,0 +1,65 @@
+package com.hashmap27.sample.component.http.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 호스트 별 동시 호출 수 제한 (Semaphore Bulkhead)
+ *  - 느린 호스트 하나가 요청 스레드를 모두 점유하지 못하도록 호스트 별 동시 호출 수를 제한한다.
+ *  - 자리가 없으면 maxWait 까지 기다린 뒤 SampleServiceUnavailableException(503)
+ *  - 자리는 응답 헤더를 받으면 반환한다.
+ *  - 남은 자리: http.client.bulkhead.available (host)
+ */
+public class BulkheadClientHttpRequestInterceptor extends PerHostClientHttpRequestInterceptor<Semaphore> {
+
+    private final HttpResilienceProperties.Bulkhead properties;
+    /** 호스트 별 최대 동시 호출 수 (key: scheme://host:port) */
+    private final Map<String, Integer> hostLimits = new HashMap<>();
+
+    public BulkheadClientHttpRequestInterceptor(HttpResilienceProperties.Bulkhead properties, MeterRegistry meterRegistry) {
+        super(meterRegistry, "bulkhead_full");
+        this.properties = properties;
+        properties.getHosts().forEach((key, limit) -> hostLimits.put(hostOf(key), limit));
+    }
+
+    @Override
+    protected Semaphore createState(String host) {
+        Semaphore semaphore = new Semaphore(hostLimits.getOrDefault(host, properties.getMaxConcurrentCalls()));
+        Gauge.builder("http.client.bulkhead.available", semaphore, Semaphore::availablePermits).tag("host", host).register(meterRegistry);
+        return semaphore;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        Semaphore semaphore = stateOf(request.getURI());
+        if (!acquire(semaphore)) {
+            throw reject(request.getURI(), "max concurrent calls reached. waited " + properties.getMaxWait().toMillis() + "ms");
+        }
+        try {
+            return execution.execute(request, body);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    private boolean acquire(Semaphore semaphore) {
+        if (properties.getMaxWait().isZero()) {
+            return semaphore.tryAcquire();
+        }
+        try {
+            return semaphore.tryAcquire(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
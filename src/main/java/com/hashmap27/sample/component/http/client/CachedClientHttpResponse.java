@@ -0,0 +1,67 @@
+package com.hashmap27.sample.component.http.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 캐시된 응답 (외부 호출 없이 반환)
+ *  - 캐시하기에 너무 커서 앞부분만 읽은 응답도 이 객체로 반환하며, 닫을 때 원래 응답을 닫는다.
+ */
+class CachedClientHttpResponse implements ClientHttpResponse {
+
+    private final int status;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final InputStream body;
+    /** Body 일부만 읽은 원래 응답 (없으면 null) */
+    private final Closeable source;
+
+    CachedClientHttpResponse(int status, String statusText, HttpHeaders headers, InputStream body, Closeable source) {
+        this.status = status;
+        this.statusText = statusText;
+        this.headers = headers;
+        this.body = body;
+        this.source = source;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+        return HttpStatus.valueOf(status);
+    }
+
+    @Override
+    public int getRawStatusCode() {
+        return status;
+    }
+
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @Override
+    public void close() {
+        if (source != null) {
+            try {
+                source.close();
+            } catch (IOException e) {
+                // 원래 응답 정리 실패는 무시
+            }
+        }
+    }
+}
@@ -0,0 +1,631 @@
+package com.hashmap27.sample.component.http.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.slf4j.MDC;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 외부 HTTP GET 응답 캐시 Interceptor
+ *  - Cache-Control(s-maxage, max-age, no-cache, no-store, private) / Expires 에 따라 200 응답을 보관한다. (서버가 지정하지 않으면 보관하지 않음)
+ *  - 유효 시간이 지나면 ETag / Last-Modified 로 조건부 요청(If-None-Match / If-Modified-Since)을 보내고 304 면 보관한 Body 를 사용한다.
+ *  - stale-while-revalidate 기간에는 보관한 응답을 바로 반환하고 백그라운드에서 재검증한다. (재검증 요청은 Interceptor 를 거치지 않고 requestFactory 로 직접 보냄, requestFactory 가 없으면 동기 재검증)
+ *  - stale-if-error 기간에는 호출 실패(연결 오류, 5xx) 시 보관한 응답을 반환한다.
+ *  - LRU 순으로 maxEntries, maxBytes 를 넘지 않도록 제거하며, spill 설정 시 큰 Body 는 memory-mapped 파일에 보관한다.
+ *  - 같은 URL 로 GET 이 아닌 요청이 성공하면 해당 URL 의 캐시를 지운다.
+ *  - http.client.cache.requests (result=hit / miss / stale / revalidated / stale_if_error / bypass), http.client.cache.entries, http.client.cache.bytes
+ */
+@Slf4j
+public class CachingClientHttpRequestInterceptor implements ClientHttpRequestInterceptor, Closeable {
+
+    private final HttpCacheProperties properties;
+    /** 큰 Body 보관 파일 (사용하지 않으면 null) */
+    private final MappedBodyStore spillStore;
+    /** 백그라운드 재검증 요청을 만들 Factory (없으면 null) */
+    private final ClientHttpRequestFactory revalidateRequestFactory;
+    private final ThreadPoolExecutor revalidator;
+    /** 백그라운드 재검증 중인 key */
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight = 0L;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stales;
+    private final Counter revalidations;
+    private final Counter staleIfErrors;
+    private final Counter bypasses;
+
+    /**
+     * 생성자 (백그라운드 재검증 없이 stale-while-revalidate 기간에도 동기 재검증)
+     * @param properties 캐시 설정
+     * @param meterRegistry 지표 등록
+     */
+    public CachingClientHttpRequestInterceptor(HttpCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, null);
+    }
+
+    /**
+     * 생성자
+     * @param properties 캐시 설정
+     * @param meterRegistry 지표 등록
+     * @param revalidateRequestFactory 백그라운드 재검증 요청을 만들 {@link ClientHttpRequestFactory} (RestTemplate 의 Interceptor 를 적용하지 않은 Factory)
+     */
+    public CachingClientHttpRequestInterceptor(HttpCacheProperties properties, MeterRegistry meterRegistry, ClientHttpRequestFactory revalidateRequestFactory) {
+        this.properties = properties;
+        this.revalidateRequestFactory = revalidateRequestFactory;
+        this.spillStore = properties.getSpill().isEnabled() ? openSpillStore(properties.getSpill()) : null;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.revalidator = new ThreadPoolExecutor(properties.getRevalidateThreads(), properties.getRevalidateThreads(), 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(properties.getRevalidateQueueCapacity(), 1)), runnable -> {
+            Thread thread = new Thread(runnable, "http-cache-revalidate-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.revalidator.allowCoreThreadTimeOut(true);
+
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.stales = counter(meterRegistry, "stale");
+        this.revalidations = counter(meterRegistry, "revalidated");
+        this.staleIfErrors = counter(meterRegistry, "stale_if_error");
+        this.bypasses = counter(meterRegistry, "bypass");
+        Gauge.builder("http.client.cache.entries", this, CachingClientHttpRequestInterceptor::getSize).register(meterRegistry);
+        Gauge.builder("http.client.cache.bytes", this, CachingClientHttpRequestInterceptor::getWeight).register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!properties.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        String key = request.getURI().toString();
+        if (request.getMethod() != HttpMethod.GET) {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (!isSafe(request.getMethod()) && response.getRawStatusCode() < 400) {
+                invalidate(key);
+            }
+            return response;
+        }
+
+        HttpHeaders requestHeaders = request.getHeaders();
+        Map<String, String> requestCacheControl = parseCacheControl(requestHeaders.getCacheControl());
+        if (requestCacheControl.containsKey("no-store") || requestHeaders.containsKey(HttpHeaders.RANGE)
+                || requestHeaders.containsKey(HttpHeaders.IF_NONE_MATCH) || requestHeaders.containsKey(HttpHeaders.IF_MODIFIED_SINCE)) {
+            // 호출자가 직접 조건부 / 부분 요청을 하는 경우
+            bypasses.increment();
+            return execution.execute(request, body);
+        }
+
+        Entry entry = requestCacheControl.containsKey("no-cache") ? null : lookup(key, requestHeaders);
+        if (entry == null) {
+            misses.increment();
+            return store(request, key, execution.execute(request, body));
+        }
+
+        long now = System.currentTimeMillis();
+        long age = entry.ageMillis(now);
+        if (age < entry.freshMillis) {
+            ClientHttpResponse cached = toResponse(entry, age);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        } else if (revalidateRequestFactory != null && age < entry.freshMillis + entry.staleWhileRevalidateMillis) {
+            ClientHttpResponse cached = toResponse(entry, age);
+            if (cached != null) {
+                stales.increment();
+                revalidateInBackground(request, body, key, entry);
+                return cached;
+            }
+        }
+        return revalidate(request, body, execution, key, entry, age);
+    }
+
+    /**
+     * 조건부 요청으로 재검증 (검증값이 없으면 일반 요청)
+     *  - stale-if-error 기간이면 호출 실패 시 보관한 응답을 반환
+     */
+    private ClientHttpResponse revalidate(HttpRequest request, byte[] body, ClientHttpRequestExecution execution, String key, Entry entry, long age) throws IOException {
+        // 304 / stale-if-error 응답에 쓸 Body 를 먼저 확보 (execution 은 한 번만 실행할 수 있으므로 304 이후에는 다시 요청할 수 없음)
+        byte[] cachedBody = bodyOf(entry);
+        if (cachedBody == null) {
+            // spill 영역이 다시 쓰임 → 캐시 miss
+            invalidate(key);
+            misses.increment();
+            return store(request, key, execution.execute(request, body));
+        }
+
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(entry.hasValidators() ? conditionalRequest(request, entry) : request, body);
+        } catch (IOException | RuntimeException e) {
+            ClientHttpResponse stale = staleIfError(entry, cachedBody, age);
+            if (stale == null) {
+                throw e;
+            }
+            log.warn("outbound call FAILED. serve stale response. uri: {} - {} - {}", key, e.getClass().getName(), e.getMessage());
+            return stale;
+        }
+
+        int status = response.getRawStatusCode();
+        if (status == 304) {
+            Entry refreshed = entry.refresh(response.getHeaders(), System.currentTimeMillis());
+            response.close();
+            put(key, refreshed);
+            revalidations.increment();
+            return toResponse(refreshed, cachedBody, 0L);
+        }
+        if (status >= 500) {
+            ClientHttpResponse stale = staleIfError(entry, cachedBody, age);
+            if (stale != null) {
+                response.close();
+                return stale;
+            }
+        }
+        misses.increment();
+        return store(request, key, response);
+    }
+
+    /**
+     * 보관한 응답을 반환하고 백그라운드에서 재검증 (key 별로 하나만 실행)
+     *  - execution 은 호출자 스레드에서 한 번만 실행할 수 있으므로 revalidateRequestFactory 로 새 요청을 만든다.
+     *  - 호출자의 MDC 를 재검증 스레드에 옮겨 로그를 이어 볼 수 있게 한다.
+     */
+    private void revalidateInBackground(HttpRequest request, byte[] body, String key, Entry entry) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        // 요청 객체는 반환 후 사용하지 않도록 URI / Method / 헤더를 복사해 둔다.
+        URI uri = request.getURI();
+        HttpMethod method = request.getMethod();
+        HttpHeaders headers = (entry.hasValidators() ? conditionalRequest(request, entry) : copyRequest(request)).getHeaders();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        try {
+            revalidator.execute(() -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    ClientHttpRequest revalidateRequest = revalidateRequestFactory.createRequest(uri, method);
+                    revalidateRequest.getHeaders().putAll(headers);
+                    if (body.length > 0) {
+                        revalidateRequest.getBody().write(body);
+                    }
+                    try (ClientHttpResponse response = revalidateRequest.execute()) {
+                        if (response.getRawStatusCode() == 304) {
+                            put(key, entry.refresh(response.getHeaders(), System.currentTimeMillis()));
+                            revalidations.increment();
+                        } else {
+                            try (ClientHttpResponse stored = store(revalidateRequest, key, response)) {
+                                // Body 를 모두 읽어 보관
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    log.warn("cache revalidate FAILED. uri: {} - {} - {}", key, e.getClass().getName(), e.getMessage());
+                } finally {
+                    revalidating.remove(key);
+                    MDC.clear();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revalidating.remove(key);
+        }
+    }
+
+    /**
+     * 캐시 가능한 응답이면 Body 를 읽어 보관하고 보관한 Body 로 응답
+     *  - Body 가 maxEntryBytes 를 넘으면 보관하지 않고 읽은 앞부분 + 나머지 Body 로 응답
+     */
+    private ClientHttpResponse store(HttpRequest request, String key, ClientHttpResponse response) throws IOException {
+        Entry candidate = Entry.of(request.getHeaders(), response, System.currentTimeMillis());
+        if (candidate == null || response.getHeaders().getContentLength() > properties.getMaxEntryBytes()) {
+            return response;
+        }
+
+        InputStream source = response.getBody();
+        byte[] bytes = readUpTo(source, properties.getMaxEntryBytes() + 1);
+        HttpHeaders headers = HttpHeaders.readOnlyHttpHeaders(response.getHeaders());
+        if (bytes.length > properties.getMaxEntryBytes()) {
+            return new CachedClientHttpResponse(candidate.status, candidate.statusText, headers, new SequenceInputStream(new ByteArrayInputStream(bytes), source), response);
+        }
+        response.close();
+
+        if (spillStore != null && bytes.length >= properties.getSpill().getThreshold()) {
+            candidate.slot = spillStore.write(bytes);
+        }
+        if (candidate.slot == null) {
+            candidate.body = bytes;
+        }
+        put(key, candidate);
+        log.debug("cache STORE. uri: {}, bytes: {}, spilled: {}, fresh: {}ms", key, bytes.length, candidate.slot != null, candidate.freshMillis);
+        return new CachedClientHttpResponse(candidate.status, candidate.statusText, headers, new ByteArrayInputStream(bytes), null);
+    }
+
+    /** stale-if-error 기간이면 보관한 응답 (아니면 null) */
+    private ClientHttpResponse staleIfError(Entry entry, byte[] cachedBody, long age) {
+        if (age >= entry.freshMillis + entry.staleIfErrorMillis) {
+            return null;
+        }
+        staleIfErrors.increment();
+        return toResponse(entry, cachedBody, age);
+    }
+
+    /** 보관한 Body (spill 영역이 다시 쓰였으면 null) */
+    private byte[] bodyOf(Entry entry) {
+        return (entry.slot != null) ? spillStore.read(entry.slot) : entry.body;
+    }
+
+    /** 보관한 응답 (spill 영역이 다시 쓰였으면 null) */
+    private ClientHttpResponse toResponse(Entry entry, long age) {
+        byte[] cachedBody = bodyOf(entry);
+        return (cachedBody == null) ? null : toResponse(entry, cachedBody, age);
+    }
+
+    private static ClientHttpResponse toResponse(Entry entry, byte[] cachedBody, long age) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(entry.headers);
+        headers.set(HttpHeaders.AGE, Long.toString(TimeUnit.MILLISECONDS.toSeconds(age)));
+        return new CachedClientHttpResponse(entry.status, entry.statusText, headers, new ByteArrayInputStream(cachedBody), null);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // 보관소 (LRU)
+
+    private Entry lookup(String key, HttpHeaders requestHeaders) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.slot != null && !spillStore.isValid(entry.slot)) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.matchesVary(requestHeaders) ? entry : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(String key, Entry entry) {
+        lock.lock();
+        try {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                weight -= previous.weight();
+            }
+            weight += entry.weight();
+            evictIfNecessary();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** URL 의 캐시 제거 */
+    public void invalidate(String key) {
+        lock.lock();
+        try {
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                weight -= previous.weight();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 전체 캐시 제거 */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            weight = 0L;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** LRU 순으로 건수 / 용량 제한 초과분 제거 (lock 보유 상태에서 호출) */
+    private void evictIfNecessary() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > properties.getMaxEntries() || weight > properties.getMaxBytes()) && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            weight -= eldest.weight();
+        }
+    }
+
+    public int getSize() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Heap 에 보관한 Body 용량(byte) */
+    public long getWeight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        revalidator.shutdownNow();
+        clear();
+        if (spillStore != null) {
+            spillStore.close();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("http.client.cache.requests").tag("result", result).register(meterRegistry);
+    }
+
+    private static MappedBodyStore openSpillStore(HttpCacheProperties.Spill spill) {
+        try {
+            return new MappedBodyStore(spill.getPath(), spill.getCapacity());
+        } catch (IOException | RuntimeException e) {
+            log.warn("http cache spill store open FAILED. spill disabled. {} - {}", e.getClass().getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isSafe(HttpMethod method) {
+        return method == HttpMethod.HEAD || method == HttpMethod.OPTIONS || method == HttpMethod.TRACE;
+    }
+
+    /** ETag / Last-Modified 로 조건부 요청 */
+    private static HttpRequest conditionalRequest(HttpRequest request, Entry entry) {
+        HttpHeaders headers = copyHeaders(request.getHeaders());
+        String eTag = entry.headers.getETag();
+        String lastModified = entry.headers.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (eTag != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, eTag);
+        }
+        if (lastModified != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+        return new SnapshotHttpRequest(request, headers);
+    }
+
+    private static HttpRequest copyRequest(HttpRequest request) {
+        return new SnapshotHttpRequest(request, copyHeaders(request.getHeaders()));
+    }
+
+    private static HttpHeaders copyHeaders(HttpHeaders source) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(source);
+        return headers;
+    }
+
+    private static byte[] readUpTo(InputStream in, int limit) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(limit, 8192));
+        byte[] buffer = new byte[8192];
+        int read;
+        while (out.size() < limit && (read = in.read(buffer, 0, Math.min(buffer.length, limit - out.size()))) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /** Cache-Control 지시자 (이름 소문자 → 값, 값이 없으면 "") */
+    static Map<String, String> parseCacheControl(String cacheControl) {
+        if (StringUtils.isBlank(cacheControl)) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> directives = new HashMap<>();
+        for (String directive : StringUtils.split(cacheControl, ',')) {
+            int separator = directive.indexOf('=');
+            String name = (separator < 0 ? directive : directive.substring(0, separator)).trim().toLowerCase(Locale.ROOT);
+            String value = (separator < 0) ? "" : StringUtils.strip(directive.substring(separator + 1).trim(), "\"");
+            directives.put(name, value);
+        }
+        return directives;
+    }
+
+    /** 초 단위 지시자 값(ms), 없거나 잘못된 값이면 -1 */
+    private static long seconds(Map<String, String> directives, String name) {
+        String value = directives.get(name);
+        return StringUtils.isNumeric(value) ? TimeUnit.SECONDS.toMillis(Long.parseLong(value)) : -1L;
+    }
+
+    /** 헤더를 복사해 둔 요청 (백그라운드 재검증 / 조건부 요청) */
+    private static class SnapshotHttpRequest extends HttpRequestWrapper {
+        private final HttpHeaders headers;
+
+        private SnapshotHttpRequest(HttpRequest request, HttpHeaders headers) {
+            super(request);
+            this.headers = headers;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    /** 캐시 항목 */
+    private static class Entry {
+        private final int status;
+        private final String statusText;
+        private final HttpHeaders headers;
+        /** Vary 헤더에 지정된 요청 헤더 값 (key: 소문자 헤더명) */
+        private final Map<String, List<String>> varyValues;
+
+        /** 응답 수신 시각 */
+        private final long responseTime;
+        /** 수신 시점의 Age(ms) */
+        private final long initialAge;
+        private final long freshMillis;
+        private final long staleWhileRevalidateMillis;
+        private final long staleIfErrorMillis;
+
+        /** Heap 보관 Body (spill 이면 null) */
+        private byte[] body;
+        /** 파일 보관 위치 (Heap 보관이면 null) */
+        private MappedBodyStore.Slot slot;
+
+        private Entry(int status, String statusText, HttpHeaders headers, Map<String, List<String>> varyValues, long responseTime) {
+            this.status = status;
+            this.statusText = statusText;
+            this.headers = headers;
+            this.varyValues = varyValues;
+            this.responseTime = responseTime;
+
+            Map<String, String> cacheControl = parseCacheControl(headers.getCacheControl());
+            String ageHeader = headers.getFirst(HttpHeaders.AGE);
+            this.initialAge = StringUtils.isNumeric(ageHeader) ? TimeUnit.SECONDS.toMillis(Long.parseLong(ageHeader)) : 0L;
+            this.freshMillis = freshnessLifetime(headers, cacheControl, responseTime);
+            boolean mustRevalidate = cacheControl.containsKey("must-revalidate") || cacheControl.containsKey("proxy-revalidate");
+            this.staleWhileRevalidateMillis = mustRevalidate ? 0L : Math.max(seconds(cacheControl, "stale-while-revalidate"), 0L);
+            this.staleIfErrorMillis = mustRevalidate ? 0L : Math.max(seconds(cacheControl, "stale-if-error"), 0L);
+        }
+
+        /**
+         * 캐시 가능한 응답이면 항목 생성 (Body 제외)
+         * @return 캐시할 수 없으면 null
+         */
+        private static Entry of(HttpHeaders requestHeaders, ClientHttpResponse response, long now) throws IOException {
+            if (response.getRawStatusCode() != 200) {
+                return null;
+            }
+            HttpHeaders responseHeaders = response.getHeaders();
+            Map<String, String> cacheControl = parseCacheControl(responseHeaders.getCacheControl());
+            if (cacheControl.containsKey("no-store") || cacheControl.containsKey("private")) {
+                return null;
+            }
+            // 인증된 요청은 공유 가능하다고 명시된 응답만 보관
+            if (requestHeaders.containsKey(HttpHeaders.AUTHORIZATION)
+                    && !(cacheControl.containsKey("public") || cacheControl.containsKey("s-maxage") || cacheControl.containsKey("must-revalidate"))) {
+                return null;
+            }
+
+            Map<String, List<String>> varyValues = new HashMap<>();
+            for (String name : responseHeaders.getVary()) {
+                if ("*".equals(name.trim())) {
+                    return null;
+                }
+                varyValues.put(name.trim().toLowerCase(Locale.ROOT), requestHeaders.get(name.trim()));
+            }
+
+            Entry entry = new Entry(response.getRawStatusCode(), response.getStatusText(), copyHeaders(responseHeaders), varyValues, now);
+            // 유효 시간도, 재검증 수단도, stale 허용 기간도 없으면 다시 쓸 수 없음
+            boolean reusable = entry.freshMillis > 0 || entry.hasValidators() || entry.staleWhileRevalidateMillis > 0 || entry.staleIfErrorMillis > 0;
+            return reusable ? entry : null;
+        }
+
+        /** 304 응답 헤더로 갱신한 항목 (Body 는 그대로) */
+        private Entry refresh(HttpHeaders notModifiedHeaders, long now) {
+            HttpHeaders merged = copyHeaders(headers);
+            notModifiedHeaders.forEach((name, values) -> {
+                if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && !HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name)) {
+                    merged.put(name, values);
+                }
+            });
+            if (!notModifiedHeaders.containsKey(HttpHeaders.AGE)) {
+                merged.remove(HttpHeaders.AGE);
+            }
+            Entry refreshed = new Entry(status, statusText, merged, varyValues, now);
+            refreshed.body = body;
+            refreshed.slot = slot;
+            return refreshed;
+        }
+
+        /** 유효 시간: s-maxage → max-age → Expires - Date (no-cache 면 0) */
+        private static long freshnessLifetime(HttpHeaders headers, Map<String, String> cacheControl, long responseTime) {
+            if (cacheControl.containsKey("no-cache")) {
+                return 0L;
+            }
+            long sMaxAge = seconds(cacheControl, "s-maxage");
+            if (sMaxAge >= 0) {
+                return sMaxAge;
+            }
+            long maxAge = seconds(cacheControl, "max-age");
+            if (maxAge >= 0) {
+                return maxAge;
+            }
+            long expires = headers.getExpires();
+            if (expires < 0) {
+                return 0L;
+            }
+            long date;
+            try {
+                date = headers.getDate();
+            } catch (IllegalArgumentException e) {
+                date = -1L;
+            }
+            return Math.max(expires - (date > 0 ? date : responseTime), 0L);
+        }
+
+        private long ageMillis(long now) {
+            return initialAge + Math.max(now - responseTime, 0L);
+        }
+
+        private boolean hasValidators() {
+            return headers.getETag() != null || headers.containsKey(HttpHeaders.LAST_MODIFIED);
+        }
+
+        private boolean matchesVary(HttpHeaders requestHeaders) {
+            for (Map.Entry<String, List<String>> vary : varyValues.entrySet()) {
+                if (!Objects.equals(requestHeaders.get(vary.getKey()), vary.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** Heap 사용량 (파일 보관이면 0) */
+        private long weight() {
+            return (body == null) ? 0L : body.length;
+        }
+    }
+}
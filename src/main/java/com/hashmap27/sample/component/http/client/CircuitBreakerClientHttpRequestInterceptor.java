@@ -0,0 +1,187 @@
+package com.hashmap27.sample.component.http.client;
+
+import com.hashmap27.sample.component.exception.SampleServiceUnavailableException;
+import com.hashmap27.sample.config.type.CircuitStateType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 호스트 별 Circuit Breaker
+ *  - 최근 slidingWindowSize 건 중 실패(IOException, 5xx, 429, slowCallDuration 초과) 비율이 failureRateThreshold 이상이면 OPEN
+ *  - OPEN 동안은 호출 없이 바로 실패하고, openDuration 이후 HALF_OPEN 에서 halfOpenCalls 건만 시험 호출한다.
+ *  - 뒤쪽 Bulkhead / Adaptive Limit 이 로컬에서 거절한 호출(SampleServiceUnavailableException)은 실패로 계산하지 않는다.
+ *  - 상태: http.client.circuit.state (host) 0: CLOSED, 1: OPEN, 2: HALF_OPEN
+ */
+@Slf4j
+public class CircuitBreakerClientHttpRequestInterceptor extends PerHostClientHttpRequestInterceptor<CircuitBreakerClientHttpRequestInterceptor.Circuit> {
+
+    private final HttpResilienceProperties.CircuitBreaker properties;
+
+    public CircuitBreakerClientHttpRequestInterceptor(HttpResilienceProperties.CircuitBreaker properties, MeterRegistry meterRegistry) {
+        super(meterRegistry, "circuit_open");
+        this.properties = properties;
+    }
+
+    @Override
+    protected Circuit createState(String host) {
+        Circuit circuit = new Circuit(host);
+        Gauge.builder("http.client.circuit.state", circuit, c -> c.state.ordinal()).tag("host", host).register(meterRegistry);
+        return circuit;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        Circuit circuit = stateOf(request.getURI());
+        if (!circuit.tryAcquire()) {
+            throw reject(request.getURI(), "circuit " + circuit.state);
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        boolean rejected = false;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getRawStatusCode();
+            boolean slow = !properties.getSlowCallDuration().isZero() && System.nanoTime() - start > properties.getSlowCallDuration().toNanos();
+            success = status < 500 && status != 429 && !slow;
+            return response;
+        } catch (SampleServiceUnavailableException e) {
+            // 뒤쪽 Bulkhead / Adaptive Limit 의 로컬 거절은 호스트 실패가 아님
+            rejected = true;
+            throw e;
+        } finally {
+            if (rejected) {
+                circuit.onRejected();
+            } else {
+                circuit.onComplete(success);
+            }
+        }
+    }
+
+    /** 호스트의 현재 상태 */
+    public CircuitStateType getState(URI uri) {
+        return stateOf(uri).state;
+    }
+
+    /** 호스트 별 Circuit 상태 */
+    class Circuit {
+        private final String host;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private volatile CircuitStateType state = CircuitStateType.CLOSED;
+        /** 최근 호출 결과 (true: 실패) */
+        private final boolean[] window;
+        private int windowIndex = 0;
+        private int windowCount = 0;
+        private int windowFailures = 0;
+
+        private long openedAt = 0L;
+        private int halfOpenStarted = 0;
+        private int halfOpenSucceeded = 0;
+
+        private Circuit(String host) {
+            this.host = host;
+            this.window = new boolean[Math.max(properties.getSlidingWindowSize(), 1)];
+        }
+
+        /** 호출 허용 여부 (OPEN 이 끝났으면 HALF_OPEN 으로 전환) */
+        private boolean tryAcquire() {
+            if (state == CircuitStateType.CLOSED) {
+                return true;
+            }
+            lock.lock();
+            try {
+                if (state == CircuitStateType.OPEN && System.nanoTime() - openedAt >= properties.getOpenDuration().toNanos()) {
+                    transition(CircuitStateType.HALF_OPEN);
+                }
+                if (state == CircuitStateType.HALF_OPEN && halfOpenStarted < properties.getHalfOpenCalls()) {
+                    halfOpenStarted++;
+                    return true;
+                }
+                return state == CircuitStateType.CLOSED;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** 호출 전에 로컬에서 거절됨: 결과로 계산하지 않고 HALF_OPEN 시험 호출 자리만 반환 */
+        private void onRejected() {
+            lock.lock();
+            try {
+                if (state == CircuitStateType.HALF_OPEN && halfOpenStarted > 0) {
+                    halfOpenStarted--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void onComplete(boolean success) {
+            lock.lock();
+            try {
+                switch (state) {
+                    case HALF_OPEN:
+                        if (!success) {
+                            transition(CircuitStateType.OPEN);
+                        } else if (++halfOpenSucceeded >= properties.getHalfOpenCalls()) {
+                            transition(CircuitStateType.CLOSED);
+                        }
+                        break;
+                    case CLOSED:
+                        record(!success);
+                        if (windowCount >= properties.getMinimumCalls() && windowFailures * 100 >= properties.getFailureRateThreshold() * windowCount) {
+                            transition(CircuitStateType.OPEN);
+                        }
+                        break;
+                    default:
+                        // OPEN 전에 시작된 호출
+                        break;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void record(boolean failure) {
+            if (windowCount == window.length) {
+                if (window[windowIndex]) {
+                    windowFailures--;
+                }
+            } else {
+                windowCount++;
+            }
+            window[windowIndex] = failure;
+            if (failure) {
+                windowFailures++;
+            }
+            windowIndex = (windowIndex + 1) % window.length;
+        }
+
+        /** 상태 전환 (lock 보유 상태에서 호출) */
+        private void transition(CircuitStateType next) {
+            CircuitStateType previous = state;
+            if (next == CircuitStateType.OPEN) {
+                log.warn("circuit {} -> OPEN. host: {}, failures: {}/{}, openDuration: {}", previous, host, windowFailures, windowCount, properties.getOpenDuration());
+                openedAt = System.nanoTime();
+            } else {
+                log.info("circuit {} -> {}. host: {}", previous, next, host);
+            }
+            if (next != CircuitStateType.HALF_OPEN) {
+                windowIndex = 0;
+                windowCount = 0;
+                windowFailures = 0;
+            }
+            halfOpenStarted = 0;
+            halfOpenSucceeded = 0;
+            state = next;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.hashmap27.sample.component.http.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 외부 HTTP GET 응답 캐시 설정 (sample.http-client.cache)
+ */
+@Getter
+@Setter
+@ToString
+public class HttpCacheProperties {
+
+    private boolean enabled = false;
+
+    /** 최대 건수 */
+    private int maxEntries = 1_000;
+
+    /** 최대 용량(byte, Heap 보관분) */
+    private long maxBytes = 32L * 1024 * 1024;
+
+    /** 응답 한 건의 최대 Body 크기 (초과 시 캐시하지 않음) */
+    private int maxEntryBytes = 1024 * 1024;
+
+    /** stale-while-revalidate 백그라운드 재검증 스레드 수 */
+    private int revalidateThreads = 2;
+
+    /** 백그라운드 재검증 대기열 크기 (초과 시 재검증 생략) */
+    private int revalidateQueueCapacity = 100;
+
+    /** 큰 Body 를 memory-mapped 파일에 보관 */
+    private Spill spill = new Spill();
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Spill {
+
+        private boolean enabled = false;
+
+        /** 이 크기 이상의 Body 는 파일에 보관 */
+        private int threshold = 64 * 1024;
+
+        /** 파일 크기 (가득 차면 처음부터 다시 쓰고, 이전 Body 는 모두 무효화) */
+        private int capacity = 256 * 1024 * 1024;
+
+        /** 파일 경로 (없으면 임시 파일) */
+        private String path;
+    }
+}
@@ -0,0 +1,68 @@
+package com.hashmap27.sample.component.http.client;
+
+import com.hashmap27.sample.config.type.BinaryFormatType;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 외부 HTTP 호출 Connection Pool 설정 (sample.http-client)
+ */
+@Getter
+@Setter
+@ToString
+public class HttpClientProperties {
+
+    /** 전체 최대 커넥션 수 */
+    private int maxTotal = 200;
+
+    /** Route(scheme + host + port) 별 기본 최대 커넥션 수 */
+    private int defaultMaxPerRoute = 20;
+
+    /** Route 별 최대 커넥션 수 (key: https://api.example.com 또는 api.example.com:8080) */
+    private Map<String, Integer> maxPerRoute = new LinkedHashMap<>();
+
+    /** 연결 제한 시간 */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /** 응답 대기(socket read) 제한 시간 */
+    private Duration socketTimeout = Duration.ofSeconds(10);
+
+    /** Pool 에서 커넥션을 빌려오는(lease) 제한 시간 */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    /** 서버가 Keep-Alive timeout 을 주지 않을 때 유지 시간 */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /** 이 시간 이상 사용하지 않은 커넥션은 정리 */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /** 이 시간 이상 사용하지 않은 커넥션은 빌려주기 전에 검사 */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /** 내부 서비스 host[:port] 별 선호 Binary 응답 형식 (Accept 에 Smile / CBOR 를 JSON 보다 앞에 지정) */
+    private Map<String, BinaryFormatType> binaryFormats = new LinkedHashMap<>();
+
+    /** 비동기 Client(AsyncHttpClient) 설정 */
+    private Async async = new Async();
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Async {
+
+        /** 우선 사용 HTTP 버전 (HTTP_2 는 서버가 지원하지 않으면 HTTP/1.1 로 연결) */
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+
+        /** 요청 ~ 응답 헤더 수신 제한 시간 */
+        private Duration requestTimeout = Duration.ofSeconds(10);
+
+        /** 동시에 실행 중인 같은 GET(URL + 헤더) 요청을 하나로 합침 */
+        private boolean coalesceGets = true;
+    }
+}
@@ -0,0 +1,67 @@
+package com.hashmap27.sample.component.http.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 외부 HTTP 호출 Content-Type 관련 유틸
+ */
+@Slf4j
+public class HttpContentUtil {
+
+    private HttpContentUtil() { /* DO NOTHING */ }
+
+    /**
+     * ContentType이 text&#47;*, *&#47;json, *&#47;xml 이면 true
+     * @param headers contentType을 검사할 HttpHeaders 객체
+     */
+    public static boolean hasTextBody(HttpHeaders headers) {
+        MediaType contentType = getContentType(headers);
+        if (contentType != null) {
+            String subtype = contentType.getSubtype();
+            return "text".equals(contentType.getType()) || "xml".equals(subtype) || "json".equals(subtype);
+        }
+        return false;
+    }
+
+    /**
+     * ContentType의 charset 획득 (기본은 UTF-8)
+     * @param headers contentType을 검사할 HttpHeaders 객체
+     */
+    public static Charset determineCharset(HttpHeaders headers) {
+        MediaType contentType = getContentType(headers);
+        if (contentType != null) {
+            try {
+                Charset charSet = contentType.getCharset();
+                if (charSet != null) {
+                    return charSet;
+                }
+            } catch (IllegalArgumentException e) {
+                // UnsupportedCharsetException, IllegalCharsetNameException
+                log.warn("determineCharset FAILED. contentType:{} - {} - {}", contentType, e.getClass().getName(), e.getMessage());
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * ContentType 획득 (형식이 잘못된 외부 응답 헤더면 null)
+     * @param headers contentType을 검사할 HttpHeaders 객체
+     */
+    public static MediaType getContentType(HttpHeaders headers) {
+        if (headers == null) {
+            return null;
+        }
+        try {
+            return headers.getContentType();
+        } catch (InvalidMediaTypeException e) {
+            log.warn("getContentType FAILED. {} - {}", e.getClass().getName(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.hashmap27.sample.component.http.client;
+
+import com.hashmap27.sample.config.type.LogOverflowPolicyType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 외부 HTTP 호출 비동기 로그 Pipeline
+ *  - 요청 스레드는 HttpExchangeRecord 를 Lock-free Ring Buffer 에 넣기만 하고, 전용 스레드가 마스킹 / 문자열 변환 / 로그 출력을 한다.
+ *  - 로그는 요청 스레드의 MDC 를 복원하여 출력한다. (traceId 등)
+ *  - 대기열이 가득 차면 DROP(즉시 버림) 또는 BLOCK(blockTimeout 까지 대기 후 버림) 으로 처리하므로 요청 스레드가 로그 때문에 멈추지 않는다.
+ *  - 지표: http.client.log.events (result=published / dropped), http.client.log.queue.size
+ */
+@Slf4j
+public class HttpExchangeLogPipeline implements InitializingBean, DisposableBean {
+
+    private static final String MASK = "****";
+    private static final long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final HttpLogPipelineProperties properties;
+    private final BoundedRingBuffer<HttpExchangeRecord> buffer;
+    private final Set<String> redactHeaders;
+    private final Pattern redactBodyPattern;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running = false;
+    private Thread consumerThread;
+
+    /**
+     * 생성자
+     * @param properties 비동기 로그 설정
+     * @param meterRegistry 지표 등록 (없으면 null)
+     */
+    public HttpExchangeLogPipeline(HttpLogPipelineProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.buffer = new BoundedRingBuffer<>(properties.getCapacity());
+        this.redactHeaders = properties.getRedactHeaders().stream().map(name -> name.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+        this.redactBodyPattern = properties.getRedactBodyFields().isEmpty() ? null
+                : Pattern.compile("(\"(?:" + properties.getRedactBodyFields().stream().map(Pattern::quote).collect(Collectors.joining("|")) + ")\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*\"");
+        if (meterRegistry != null) {
+            FunctionCounter.builder("http.client.log.events", published, LongAdder::sum).tag("result", "published").register(meterRegistry);
+            FunctionCounter.builder("http.client.log.events", dropped, LongAdder::sum).tag("result", "dropped").register(meterRegistry);
+            Gauge.builder("http.client.log.queue.size", buffer, BoundedRingBuffer::size).register(meterRegistry);
+        }
+    }
+
+    public HttpLogPipelineProperties getProperties() {
+        return properties;
+    }
+
+    /** 로그 출력 대상인가? (DEBUG) */
+    public boolean isEnabled() {
+        return log.isDebugEnabled();
+    }
+
+    /**
+     * 기록 전달 (요청 스레드)
+     * @return 대기열에 넣었으면 true, 버렸으면 false
+     */
+    public boolean publish(HttpExchangeRecord record) {
+        if (buffer.offer(record)) {
+            published.increment();
+            return true;
+        }
+        if (properties.getOverflowPolicy() == LogOverflowPolicyType.BLOCK) {
+            long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                if (buffer.offer(record)) {
+                    published.increment();
+                    return true;
+                }
+            }
+        }
+        dropped.increment();
+        return false;
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        consumerThread = new Thread(this::consume, "http-client-log-pipeline");
+        consumerThread.setDaemon(true);
+        consumerThread.start();
+        log.info("## {} started. capacity: {}, overflowPolicy: {}", getClass().getSimpleName(), buffer.capacity(), properties.getOverflowPolicy());
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (consumerThread != null) {
+            LockSupport.unpark(consumerThread);
+            consumerThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        if (dropped.sum() > 0) {
+            log.warn("{} stopped. dropped: {}", getClass().getSimpleName(), dropped.sum());
+        }
+    }
+
+    /** 소비 스레드: 비어 있으면 점점 길게 쉰다. 종료 시 남은 기록은 모두 출력 */
+    private void consume() {
+        long idleNanos = 0L;
+        while (true) {
+            HttpExchangeRecord record = buffer.poll();
+            if (record == null) {
+                if (!running) {
+                    break;
+                }
+                idleNanos = Math.min(Math.max(idleNanos * 2, TimeUnit.MICROSECONDS.toNanos(50)), MAX_IDLE_NANOS);
+                LockSupport.parkNanos(idleNanos);
+                continue;
+            }
+            idleNanos = 0L;
+            if (record.getMdc() != null) {
+                MDC.setContextMap(record.getMdc());
+            }
+            try {
+                write(record);
+            } catch (Exception e) {
+                log.warn("http exchange log write FAILED. {} - {}", e.getClass().getName(), e.getMessage());
+            } finally {
+                MDC.clear();
+            }
+        }
+    }
+
+    /** 마스킹 후 출력 (동기 로그와 같은 형식) */
+    void write(HttpExchangeRecord record) {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("\r\n>> ").append(record.getMethod()).append(" ").append(record.getUri()).append(" (").append(record.getElapsedMillis()).append("ms)");
+        appendHeaders(sb, ">> request.headers: ", record.getRequestHeaders());
+        if (record.getRequestBodyLength() > 0) {
+            sb.append("\r\n>> request.body: ").append(record.getRequestBody() == null ? "[BINARY]"
+                    : bodyText(record.getRequestBody(), record.getRequestBodyLength(), true, record.getRequestHeaders()));
+        }
+        if (record.getError() != null) {
+            sb.append("\r\n<< EXCEPTION: ").append(record.getError());
+            log.debug(sb.toString());
+            return;
+        }
+        sb.append("\r\n<< response.status: ").append(record.getStatus());
+        appendHeaders(sb, "<< response.headers: ", record.getResponseHeaders());
+        if (record.getResponseBody() != null) {
+            sb.append("\r\n<< response.body: ").append(bodyText(record.getResponseBody(), record.getResponseBodyLength(), record.isResponseCompleted(), record.getResponseHeaders()));
+        } else if (record.getResponseHeaders() != null && record.getResponseHeaders().getContentLength() != 0) {
+            long contentLength = record.getResponseHeaders().getContentLength();
+            MediaType contentType = HttpContentUtil.getContentType(record.getResponseHeaders());
+            sb.append("\r\n<< Content-Length: ").append(contentLength == -1 ? "UNKNOWN" : String.valueOf(contentLength));
+            sb.append("\r\n<< Content-Type: ").append(contentType == null ? "[null]" : contentType.toString());
+        }
+        log.debug(sb.toString());
+    }
+
+    private void appendHeaders(StringBuilder sb, String prefix, HttpHeaders headers) {
+        if (headers == null || headers.isEmpty()) {
+            return;
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            boolean redact = redactHeaders.contains(entry.getKey().toLowerCase(Locale.ROOT));
+            values.put(entry.getKey(), redact ? MASK : (entry.getValue().isEmpty() ? "" : entry.getValue().get(0)));
+        }
+        sb.append("\r\n").append(prefix).append(values);
+    }
+
+    private String bodyText(byte[] body, long totalLength, boolean completed, HttpHeaders headers) {
+        String text = new String(body, HttpContentUtil.determineCharset(headers));
+        if (redactBodyPattern != null) {
+            text = redactBodyPattern.matcher(text).replaceAll("$1\"" + MASK + "\"");
+        }
+        if (body.length < totalLength) {
+            return text + "...[TRUNCATED " + totalLength + " bytes" + (completed ? "" : "+") + "]";
+        }
+        return completed ? text : text + "...[PARTIAL " + totalLength + " bytes read]";
+    }
+}
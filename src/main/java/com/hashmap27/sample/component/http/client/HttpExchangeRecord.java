@@ -0,0 +1,42 @@
+package com.hashmap27.sample.component.http.client;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * 외부 HTTP 호출 한 건의 로그 기록 (비동기 로그 Pipeline 전달용)
+ *  - 요청 스레드에서는 값만 복사하고, 문자열 변환 / 마스킹은 소비 스레드에서 한다.
+ *  - Body 는 로그에 남길 앞부분만 복사한다.
+ */
+@Getter
+@Builder
+public class HttpExchangeRecord {
+
+    private final String method;
+    private final URI uri;
+    private final long elapsedMillis;
+    /** 요청 스레드의 MDC (소비 스레드에서 로그 출력 시 복원) */
+    private final Map<String, String> mdc;
+
+    private final HttpHeaders requestHeaders;
+    /** 요청 Body 앞부분 (텍스트가 아니면 null) */
+    private final byte[] requestBody;
+    private final long requestBodyLength;
+
+    /** 응답 상태 (실패 시 -1) */
+    private final int status;
+    private final HttpHeaders responseHeaders;
+    /** 응답 Body 앞부분 (텍스트가 아니거나 읽지 않았으면 null) */
+    private final byte[] responseBody;
+    /** 호출자가 읽은 응답 Body 크기 */
+    private final long responseBodyLength;
+    /** 호출자가 응답 Body 를 끝까지 읽었는가? */
+    private final boolean responseCompleted;
+
+    /** 요청 실패 예외 (ClassName - message) */
+    private final String error;
+}
@@ -0,0 +1,42 @@
+package com.hashmap27.sample.component.http.client;
+
+import com.hashmap27.sample.config.type.HttpClientLoggingType;
+import com.hashmap27.sample.config.type.LogOverflowPolicyType;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 외부 HTTP 호출 로그 설정 (sample.http-client.logging)
+ */
+@Getter
+@Setter
+@ToString
+public class HttpLogPipelineProperties {
+
+    /** RestTemplate Bean 로그 방식 */
+    private HttpClientLoggingType type = HttpClientLoggingType.ASYNC;
+
+    /** 요청/응답 Body 를 로그에 남길 최대 byte 수 */
+    private int maxBodyLogBytes = 4 * 1024;
+
+    /** 대기열 크기 (2의 거듭제곱으로 올림) */
+    private int capacity = 8192;
+
+    /** 대기열이 가득 찼을 때 처리 방식 */
+    private LogOverflowPolicyType overflowPolicy = LogOverflowPolicyType.DROP;
+
+    /** BLOCK: 최대 대기 시간 (초과 시 버림) */
+    private Duration blockTimeout = Duration.ofMillis(10);
+
+    /** 값을 마스킹할 헤더 (대소문자 무시) */
+    private List<String> redactHeaders = new ArrayList<>(Arrays.asList("Authorization", "Proxy-Authorization", "Cookie", "Set-Cookie", "X-Api-Key"));
+
+    /** 값을 마스킹할 JSON Body 필드명 */
+    private List<String> redactBodyFields = new ArrayList<>(Arrays.asList("password", "secret", "token", "accessToken", "refreshToken"));
+}
@@ -0,0 +1,87 @@
+package com.hashmap27.sample.component.http.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 외부 HTTP 호출 장애 격리 설정 (sample.http-client.resilience)
+ *  - 모든 제한은 호스트(scheme + host + port) 별로 적용된다.
+ */
+@Getter
+@Setter
+@ToString
+public class HttpResilienceProperties {
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Bulkhead bulkhead = new Bulkhead();
+    private AdaptiveLimit adaptiveLimit = new AdaptiveLimit();
+
+    /** 실패율이 높은 호스트는 일정 시간 호출하지 않고 바로 실패 */
+    @Getter
+    @Setter
+    @ToString
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+
+        /** 실패율 계산에 사용하는 최근 호출 수 */
+        private int slidingWindowSize = 20;
+
+        /** 실패율을 계산하기 위한 최소 호출 수 */
+        private int minimumCalls = 10;
+
+        /** 이 비율(%) 이상 실패하면 OPEN */
+        private int failureRateThreshold = 50;
+
+        /** 이 시간 이상 걸린 호출은 실패로 계산 (0 이면 사용 안 함) */
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+
+        /** OPEN 유지 시간 (이후 HALF_OPEN) */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /** HALF_OPEN 에서 허용하는 시험 호출 수 (모두 성공하면 CLOSED) */
+        private int halfOpenCalls = 3;
+    }
+
+    /** 호스트 별 동시 호출 수 제한 */
+    @Getter
+    @Setter
+    @ToString
+    public static class Bulkhead {
+
+        private boolean enabled = true;
+
+        /** 기본 최대 동시 호출 수 */
+        private int maxConcurrentCalls = 20;
+
+        /** 호스트 별 최대 동시 호출 수 (key: https://api.example.com 또는 api.example.com:8080) */
+        private Map<String, Integer> hosts = new LinkedHashMap<>();
+
+        /** 자리가 없을 때 최대 대기 시간 (0 이면 바로 실패) */
+        private Duration maxWait = Duration.ZERO;
+    }
+
+    /** 응답 시간 / 실패에 따라 호스트 별 동시 호출 수를 조절 (AIMD) */
+    @Getter
+    @Setter
+    @ToString
+    public static class AdaptiveLimit {
+
+        private boolean enabled = false;
+
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+
+        /** 이 시간 이상 걸리거나 실패하면 limit 을 backoffRatio 만큼 줄임 */
+        private Duration latencyThreshold = Duration.ofSeconds(2);
+
+        /** 감소 비율 */
+        private double backoffRatio = 0.9;
+    }
+}
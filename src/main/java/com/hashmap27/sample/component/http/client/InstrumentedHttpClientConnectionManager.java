@@ -0,0 +1,107 @@
+package com.hashmap27.sample.component.http.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool 커넥션 대여(lease) 시간을 기록하는 HttpClientConnectionManager
+ *  - http.client.pool.lease (outcome=success / timeout): 요청부터 Pool 에서 커넥션을 받을 때까지의 시간
+ *  - http.client.pool.connections (state=leased / available / pending / max)
+ */
+public class InstrumentedHttpClientConnectionManager implements HttpClientConnectionManager {
+
+    private final PoolingHttpClientConnectionManager delegate;
+    private final Timer leaseSuccess;
+    private final Timer leaseTimeout;
+
+    /**
+     * 생성자
+     * @param delegate 실제 Connection Pool
+     * @param meterRegistry 지표 등록
+     * @param name Pool 이름 (태그)
+     */
+    public InstrumentedHttpClientConnectionManager(PoolingHttpClientConnectionManager delegate, MeterRegistry meterRegistry, String name) {
+        this.delegate = delegate;
+        this.leaseSuccess = Timer.builder("http.client.pool.lease").tag("pool", name).tag("outcome", "success").register(meterRegistry);
+        this.leaseTimeout = Timer.builder("http.client.pool.lease").tag("pool", name).tag("outcome", "timeout").register(meterRegistry);
+        Gauge.builder("http.client.pool.connections", delegate, manager -> manager.getTotalStats().getLeased()).tag("pool", name).tag("state", "leased").register(meterRegistry);
+        Gauge.builder("http.client.pool.connections", delegate, manager -> manager.getTotalStats().getAvailable()).tag("pool", name).tag("state", "available").register(meterRegistry);
+        Gauge.builder("http.client.pool.connections", delegate, manager -> manager.getTotalStats().getPending()).tag("pool", name).tag("state", "pending").register(meterRegistry);
+        Gauge.builder("http.client.pool.connections", delegate, manager -> manager.getTotalStats().getMax()).tag("pool", name).tag("state", "max").register(meterRegistry);
+    }
+
+    public PoolingHttpClientConnectionManager getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        long start = System.nanoTime();
+        ConnectionRequest request = delegate.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit) throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                try {
+                    HttpClientConnection connection = request.get(timeout, timeUnit);
+                    leaseSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return connection;
+                } catch (ConnectionPoolTimeoutException e) {
+                    leaseTimeout.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void releaseConnection(HttpClientConnection conn, Object newState, long validDuration, TimeUnit timeUnit) {
+        delegate.releaseConnection(conn, newState, validDuration, timeUnit);
+    }
+
+    @Override
+    public void connect(HttpClientConnection conn, HttpRoute route, int connectTimeout, HttpContext context) throws IOException {
+        delegate.connect(conn, route, connectTimeout, context);
+    }
+
+    @Override
+    public void upgrade(HttpClientConnection conn, HttpRoute route, HttpContext context) throws IOException {
+        delegate.upgrade(conn, route, context);
+    }
+
+    @Override
+    public void routeComplete(HttpClientConnection conn, HttpRoute route, HttpContext context) throws IOException {
+        delegate.routeComplete(conn, route, context);
+    }
+
+    @Override
+    public void closeIdleConnections(long idletime, TimeUnit timeUnit) {
+        delegate.closeIdleConnections(idletime, timeUnit);
+    }
+
+    @Override
+    public void closeExpiredConnections() {
+        delegate.closeExpiredConnections();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+}
@@ -1,7 +1,10 @@
 package com.hashmap27.sample.component.http.client;
 
+import com.hashmap27.sample.config.HttpClientConfig;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.slf4j.MDC;
 import org.springframework.http.*;
 import org.springframework.http.client.*;
 import org.springframework.util.CollectionUtils;
@@ -12,11 +15,11 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.net.URI;
 import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Spring RestTemplate Logging 을 위한 ClientHttpRequestInterceptor 구현
@@ -24,6 +27,10 @@ import java.util.Set;
  * how to use: LoggingClientHttpRequestInterceptor.applyToTemplate(restTemplate) 으로 적용
  * Use1: applyToBufferingClientHttpRequestFactory 로 사전에 request, response 에 버퍼링 factory 설정
  * Use2: applyToRestTemplate 으로 적용 시 useBufferedResponseWhenOutput 을 true 로 설정하여 출력하는 순간에 버퍼링 적용처리
+ * Use3: applyToRestTemplateStreaming 으로 적용 시 호출자가 응답 Body 를 읽는 동안 앞부분(maxBodyLogBytes)만 복사하여
+ *       응답을 닫을 때 요청/응답을 하나의 로그로 출력 (Body 전체 버퍼링 없음, DEBUG 가 아니면 아무것도 하지 않음)
+ * Use4: applyToRestTemplateAsync 으로 적용 시 Use3 과 같이 복사한 값을 HttpExchangeLogPipeline 에 넘기고,
+ *       문자열 변환 / 마스킹 / 출력은 Pipeline 스레드에서 처리 (putMetadata 를 재정의한 경우에만 요청 스레드에서 호출)
  *
  * @see https://gist.github.com/jkuipers/24ffbf8a5ba26c0177629e9aba492bfa
  */
@@ -42,14 +49,50 @@ public class LoggingClientHttpRequestInterceptor implements ClientHttpRequestInt
         restTemplate.setInterceptors(interceptors);
     }
 
+    /**
+     * restTemplate에 Streaming 로깅 LoggingClientHttpRequestInterceptor를 적용
+     * @param maxBodyLogBytes 요청/응답 Body 를 로그에 남길 최대 byte 수
+     */
+    public static void applyToRestTemplateStreaming(RestTemplate restTemplate, int maxBodyLogBytes) {
+        List<ClientHttpRequestInterceptor> interceptors = restTemplate.getInterceptors();
+        interceptors.add(new LoggingClientHttpRequestInterceptor(maxBodyLogBytes));
+        log.info("## {} (streaming, maxBodyLogBytes: {}) apply to restTemplate", LoggingClientHttpRequestInterceptor.class.getSimpleName(), maxBodyLogBytes);
+        restTemplate.setInterceptors(interceptors);
+    }
+
+    /**
+     * restTemplate에 비동기 로깅 LoggingClientHttpRequestInterceptor를 적용
+     * @param pipeline 비동기 로그 Pipeline
+     */
+    public static void applyToRestTemplateAsync(RestTemplate restTemplate, HttpExchangeLogPipeline pipeline) {
+        List<ClientHttpRequestInterceptor> interceptors = restTemplate.getInterceptors();
+        interceptors.add(new LoggingClientHttpRequestInterceptor(pipeline));
+        log.info("## {} (async) apply to restTemplate", LoggingClientHttpRequestInterceptor.class.getSimpleName());
+        restTemplate.setInterceptors(interceptors);
+    }
+
     /**
      * restTemplate에 BufferingClientHttpRequestFactory를 적용
      * @param restTemplate 적용대상 {@link RestTemplate}
-     * @param optionalRequestFactory {@link BufferingClientHttpRequestFactory}를 적용하면서 내부적으로 사용할 {@link ClientHttpRequestFactory} (값이 없으면 {@link SimpleClientHttpRequestFactory}를 사용)
+     * @param optionalRequestFactory {@link BufferingClientHttpRequestFactory}를 적용하면서 내부적으로 사용할 {@link ClientHttpRequestFactory} (값이 없으면 기본 설정의 Pool 기반 {@link HttpComponentsClientHttpRequestFactory}를 사용)
      */
     public static void applyToBufferingClientHttpRequestFactory(RestTemplate restTemplate, ClientHttpRequestFactory optionalRequestFactory) {
-        ClientHttpRequestFactory requestFactory = (optionalRequestFactory == null) ? new SimpleClientHttpRequestFactory(): optionalRequestFactory;
-        restTemplate.setRequestFactory(new BufferingClientHttpRequestFactory(requestFactory));
+        if (optionalRequestFactory == null) {
+            applyToBufferingClientHttpRequestFactory(restTemplate, new HttpClientProperties());
+            return;
+        }
+        restTemplate.setRequestFactory(new BufferingClientHttpRequestFactory(optionalRequestFactory));
+    }
+
+    /**
+     * restTemplate에 Pool 기반 BufferingClientHttpRequestFactory를 적용
+     *  - 호출할 때마다 Connection Pool 을 새로 만들므로 RestTemplate 생성 시 한번만 호출한다.
+     * @param restTemplate 적용대상 {@link RestTemplate}
+     * @param httpClientProperties Connection Pool 설정 (sample.http-client)
+     */
+    public static void applyToBufferingClientHttpRequestFactory(RestTemplate restTemplate, HttpClientProperties httpClientProperties) {
+        CloseableHttpClient httpClient = HttpClientConfig.newHttpClient(HttpClientConfig.newConnectionManager(httpClientProperties), httpClientProperties);
+        restTemplate.setRequestFactory(new BufferingClientHttpRequestFactory(new HttpComponentsClientHttpRequestFactory(httpClient)));
     }
 
     ///////////////////////////////////////////////////////////////////////////
@@ -59,8 +102,14 @@ public class LoggingClientHttpRequestInterceptor implements ClientHttpRequestInt
     /** 출력할때 Response버퍼링이 적용되지 않은 경우 적용하여 출력할 것인가 */
     private boolean useBufferedResponseWhenOutput;
 
-    private Class<?> responseWrapperClass;
-    private Constructor<?> responseWrapperConstructor;
+    /** Streaming 로깅 응답 Body 버퍼 Pool (null 이면 기존 방식) */
+    private final LogBufferPool bufferPool;
+
+    /** 비동기 로그 Pipeline (null 이면 호출 스레드에서 출력) */
+    private final HttpExchangeLogPipeline pipeline;
+
+    /** 하위클래스에서 putMetadata 를 재정의했는가? (비동기 로깅에서 요청 스레드에서 호출할지 결정) */
+    private final boolean metadataOverridden = isMetadataOverridden(getClass());
 
     /**
      * 생성자
@@ -68,10 +117,35 @@ public class LoggingClientHttpRequestInterceptor implements ClientHttpRequestInt
      */
     public LoggingClientHttpRequestInterceptor(boolean useBufferedResponseWhenOutput) {
         this.useBufferedResponseWhenOutput = useBufferedResponseWhenOutput;
+        this.bufferPool = null;
+        this.pipeline = null;
+    }
+
+    /**
+     * 생성자 (Streaming 로깅)
+     * @param maxBodyLogBytes 요청/응답 Body 를 로그에 남길 최대 byte 수
+     */
+    public LoggingClientHttpRequestInterceptor(int maxBodyLogBytes) {
+        this.useBufferedResponseWhenOutput = false;
+        this.bufferPool = new LogBufferPool(maxBodyLogBytes, 64);
+        this.pipeline = null;
+    }
+
+    /**
+     * 생성자 (비동기 로깅)
+     * @param pipeline 비동기 로그 Pipeline
+     */
+    public LoggingClientHttpRequestInterceptor(HttpExchangeLogPipeline pipeline) {
+        this.useBufferedResponseWhenOutput = false;
+        this.bufferPool = new LogBufferPool(pipeline.getProperties().getMaxBodyLogBytes(), 64);
+        this.pipeline = pipeline;
     }
 
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] requestBody, ClientHttpRequestExecution execution) throws IOException {
+        if (bufferPool != null) {
+            return interceptStreaming(request, requestBody, execution);
+        }
         logRequest(request, requestBody);
         ClientHttpResponse response = execution.execute(request, requestBody);
         return logResponse(request, requestBody, response);
@@ -84,6 +158,168 @@ public class LoggingClientHttpRequestInterceptor implements ClientHttpRequestInt
      */
     public void putMetadata(HttpRequest request, String namespace, String key, Object value) { /**/ }
 
+    private static boolean isMetadataOverridden(Class<?> type) {
+        try {
+            return type.getMethod("putMetadata", HttpRequest.class, String.class, String.class, Object.class).getDeclaringClass() != LoggingClientHttpRequestInterceptor.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Streaming 로깅
+     *  - 응답 Body 가 텍스트면 호출자가 읽는 동안 앞부분만 복사하고, 응답을 닫을 때 한번 출력한다.
+     *  - 텍스트가 아니거나 Body 가 없으면 바로 출력한다.
+     */
+    private ClientHttpResponse interceptStreaming(HttpRequest request, byte[] requestBody, ClientHttpRequestExecution execution) throws IOException {
+        if (pipeline != null ? !pipeline.isEnabled() : !log.isDebugEnabled()) {
+            return execution.execute(request, requestBody);
+        }
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, requestBody);
+        } catch (IOException e) {
+            logExchange(request, requestBody, null, start, e);
+            throw e;
+        }
+        try {
+            HttpHeaders responseHeaders = response.getHeaders();
+            if (responseHeaders.getContentLength() != 0 && hasTextBody(responseHeaders)) {
+                return new TeeClientHttpResponse(response, bufferPool, tee -> logExchange(request, requestBody, tee, start, null));
+            }
+        } catch (Exception e) {
+            log.warn("interceptStreaming FAILED. {} - {}", e.getClass().getName(), e.getMessage(), e);
+        }
+        logExchange(request, requestBody, response, start, null);
+        return response;
+    }
+
+    /**
+     * 요청/응답을 하나의 로그로 출력 (Streaming 로깅)
+     * @param response 응답객체 (실패 시 null)
+     * @param startNanos 요청 시작 시각
+     * @param error 요청 실패 예외
+     */
+    private void logExchange(HttpRequest request, byte[] requestBody, ClientHttpResponse response, long startNanos, Exception error) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        if (pipeline != null) {
+            if (metadataOverridden) {
+                // 하위클래스가 요청 스레드의 문맥에서 메타데이터를 받을 수 있도록 (문자열은 버림)
+                describeExchange(request, requestBody, response, elapsedMillis, error);
+            }
+            publishExchange(request, requestBody, response, elapsedMillis, error);
+            return;
+        }
+        String text = describeExchange(request, requestBody, response, elapsedMillis, error);
+        if (text != null) {
+            log.debug(text);
+        }
+    }
+
+    /**
+     * 요청/응답 로그 문자열 생성 및 putMetadata 호출 (Streaming 로깅)
+     * @return 로그 문자열 (실패 시 null)
+     */
+    private String describeExchange(HttpRequest request, byte[] requestBody, ClientHttpResponse response, long elapsedMillis, Exception error) {
+        try {
+            StringBuilder sb = new StringBuilder(256);
+            //URL
+            logRequestUrl(request, sb);
+            sb.append(" (").append(elapsedMillis).append("ms)");
+            putMetadata(request, "response", "elapsedMillis", elapsedMillis);
+            //Request HEADER
+            logRequestHeaders(request, sb);
+            //Request BODY (앞부분만 디코딩)
+            if (requestBody.length > 0) {
+                String requestBodyText = hasTextBody(request.getHeaders())
+                        ? decode(requestBody, Math.min(requestBody.length, bufferPool.getBufferSize()), requestBody.length, true, request.getHeaders())
+                        : "[BINARY]";
+                sb.append("\r\n>> request.body: ").append(requestBodyText);
+                putMetadata(request, "request", "body", requestBodyText);
+            }
+            if (response == null) {
+                sb.append("\r\n<< EXCEPTION: ").append(error.getClass().getName()).append(" - ").append(error.getMessage());
+                putMetadata(request, "response", "EXCEPTION", error.getClass().getName() + " - " + error.getMessage());
+                return sb.toString();
+            }
+            //Response STATUS
+            logResponseStatus(request, response, sb);
+            //Response HEADER
+            logResponseHeaders(request, response, sb);
+            //Response BODY
+            if (response instanceof TeeClientHttpResponse) {
+                TeeClientHttpResponse tee = (TeeClientHttpResponse) response;
+                String bodyText = (tee.getCaptured() == null) ? "" : decode(tee.getCaptured(), tee.getCapturedLength(), tee.getTotalLength(), tee.isCompleted(), response.getHeaders());
+                sb.append("\r\n<< response.body: ").append(bodyText);
+                putMetadata(request, "response", "body", bodyText);
+            } else {
+                HttpHeaders responseHeaders = response.getHeaders();
+                long contentLength = responseHeaders.getContentLength();
+                if (contentLength != 0) {
+                    sb.append("\r\n<< Content-Length: ").append(contentLength == -1 ? "UNKNOWN" : String.valueOf(contentLength));
+                    sb.append("\r\n<< Content-Type: ").append(responseHeaders.getContentType() == null ? "[null]" : responseHeaders.getContentType().toString());
+                    putMetadata(request, "response", "contentLength", contentLength);
+                    putMetadata(request, "response", "contentType", responseHeaders.getContentType());
+                }
+            }
+            return sb.toString();
+        } catch (Exception e) {
+            log.warn("logExchange FAILED. {} - {}", e.getClass().getName(), e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 요청/응답 값을 복사하여 비동기 로그 Pipeline 으로 전달 (Body 는 앞부분만 복사)
+     */
+    private void publishExchange(HttpRequest request, byte[] requestBody, ClientHttpResponse response, long elapsedMillis, Exception error) {
+        try {
+            HttpHeaders requestHeaders = new HttpHeaders();
+            requestHeaders.putAll(request.getHeaders());
+            HttpExchangeRecord.HttpExchangeRecordBuilder record = HttpExchangeRecord.builder()
+                    .method(String.valueOf(request.getMethod()))
+                    .uri(request.getURI())
+                    .elapsedMillis(elapsedMillis)
+                    .mdc(MDC.getCopyOfContextMap())
+                    .requestHeaders(requestHeaders)
+                    .requestBody(hasTextBody(requestHeaders) ? Arrays.copyOf(requestBody, Math.min(requestBody.length, bufferPool.getBufferSize())) : null)
+                    .requestBodyLength(requestBody.length)
+                    .status(-1);
+            if (response == null) {
+                record.error(error.getClass().getName() + " - " + error.getMessage());
+            } else {
+                HttpHeaders responseHeaders = new HttpHeaders();
+                responseHeaders.putAll(response.getHeaders());
+                record.status(response.getRawStatusCode()).responseHeaders(responseHeaders);
+                if (response instanceof TeeClientHttpResponse) {
+                    TeeClientHttpResponse tee = (TeeClientHttpResponse) response;
+                    record.responseBody(tee.getCaptured() == null ? new byte[0] : Arrays.copyOf(tee.getCaptured(), tee.getCapturedLength()))
+                            .responseBodyLength(tee.getTotalLength())
+                            .responseCompleted(tee.isCompleted());
+                }
+            }
+            pipeline.publish(record.build());
+        } catch (Exception e) {
+            log.warn("publishExchange FAILED. {} - {}", e.getClass().getName(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Body 앞부분 디코딩 (잘린 경우 전체 크기 표시)
+     * @param bytes Body
+     * @param length 디코딩할 길이
+     * @param totalLength 전체(또는 읽은) 크기
+     * @param completed 끝까지 읽었는가?
+     */
+    private String decode(byte[] bytes, int length, long totalLength, boolean completed, HttpHeaders headers) {
+        String text = new String(bytes, 0, length, determineCharset(headers));
+        if (length < totalLength) {
+            return text + "...[TRUNCATED " + totalLength + " bytes" + (completed ? "" : "+") + "]";
+        }
+        return completed ? text : text + "...[PARTIAL " + totalLength + " bytes read]";
+    }
+
     /**
      * 요청로그 출력
      * @param request 요청객체
@@ -283,12 +519,7 @@ public class LoggingClientHttpRequestInterceptor implements ClientHttpRequestInt
      * @param headers contentType을 검사할 HttpHeaders 객체
      */
     protected boolean hasTextBody(HttpHeaders headers) {
-        MediaType contentType = headers.getContentType();
-        if (contentType != null) {
-            String subtype = contentType.getSubtype();
-            return "text".equals(contentType.getType()) || "xml".equals(subtype) || "json".equals(subtype);
-        }
-        return false;
+        return HttpContentUtil.hasTextBody(headers);
     }
 
     /**
@@ -296,18 +527,7 @@ public class LoggingClientHttpRequestInterceptor implements ClientHttpRequestInt
      * @param headers contentType을 검사할 HttpHeaders 객체
      */
     protected Charset determineCharset(HttpHeaders headers) {
-        MediaType contentType = headers.getContentType();
-        if (contentType != null) {
-            try {
-                Charset charSet = contentType.getCharset();
-                if (charSet != null) {
-                    return charSet;
-                }
-            } catch (UnsupportedCharsetException e) {
-                log.warn("determineCharset FAILED. contentType:{} - {} - {}", contentType, e.getClass().getName(), e.getMessage(), e);
-            }
-        }
-        return StandardCharsets.UTF_8;
+        return HttpContentUtil.determineCharset(headers);
     }
 
     /**
@@ -326,24 +546,18 @@ public class LoggingClientHttpRequestInterceptor implements ClientHttpRequestInt
     }
 
     /**
-     * 주어진 응답객체가
+     * 주어진 응답객체가 BufferingClientHttpResponseWrapper 가 아니면 감싸서 반환 (생성할 수 없으면 null)
      * @param responseParameter
      * @return
      */
     private ClientHttpResponse ensureBuffered(ClientHttpResponse responseParameter) {
         ClientHttpResponse response = responseParameter;
+        if (ResponseWrapper.CONSTRUCTOR == null) {
+            return null;
+        }
         try {
-            if (this.responseWrapperClass == null) {
-                this.responseWrapperClass = Class.forName(RESPONSE_WRAPPER_CLASS, false, ClientHttpResponse.class.getClassLoader());
-            }
-            if (!this.responseWrapperClass.isInstance(response)) {
-                if (this.responseWrapperConstructor == null) {
-                    this.responseWrapperConstructor = this.responseWrapperClass.getDeclaredConstructor(ClientHttpResponse.class);
-                    this.responseWrapperConstructor.setAccessible(true);
-                }
-                if(!this.responseWrapperClass.equals(response.getClass())) {
-                    response = (ClientHttpResponse)this.responseWrapperConstructor.newInstance(response);
-                }
+            if (!ResponseWrapper.TYPE.isInstance(response)) {
+                response = (ClientHttpResponse) ResponseWrapper.CONSTRUCTOR.newInstance(response);
             }
             return response;
         } catch (Exception e) {
@@ -351,4 +565,28 @@ public class LoggingClientHttpRequestInterceptor implements ClientHttpRequestInt
             return null;
         }
     }
+
+    /**
+     * BufferingClientHttpResponseWrapper 생성자 (non-public 이므로 Reflection 사용)
+     *  - 처음 ensureBuffered 를 호출할 때 한 번만 초기화 (Holder 클래스 초기화는 JVM 이 스레드 안전하게 처리)
+     */
+    private static final class ResponseWrapper {
+        private static final Class<?> TYPE;
+        private static final Constructor<?> CONSTRUCTOR;
+
+        static {
+            Class<?> type = null;
+            Constructor<?> constructor = null;
+            try {
+                type = Class.forName(RESPONSE_WRAPPER_CLASS, false, ClientHttpResponse.class.getClassLoader());
+                constructor = type.getDeclaredConstructor(ClientHttpResponse.class);
+                constructor.setAccessible(true);
+            } catch (Exception e) {
+                log.warn("ensureBuffered FAILED. loading {} constructor. {} - {}", RESPONSE_WRAPPER_CLASS, e.getClass().getName(), e.getMessage(), e);
+                constructor = null;
+            }
+            TYPE = type;
+            CONSTRUCTOR = constructor;
+        }
+    }
 }
@@ -0,0 +1,124 @@
+package com.hashmap27.sample.component.http.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 응답 캐시의 큰 Body 를 보관하는 memory-mapped 파일
+ *  - 앞에서부터 이어서 쓰고(append), 공간이 부족하면 처음부터 다시 쓴다.
+ *  - 다시 쓰기 시작하면 세대(generation)가 바뀌어 이전 세대의 Body 는 모두 무효가 된다.
+ *  - 읽기는 lock 없이 복사 전후의 세대를 비교하며, 세대 변경과 Body 쓰기 / 복사 순서는 VarHandle fence 로 보장한다.
+ *  - Heap 밖(page cache)에 보관하므로 GC 대상이 아니다.
+ */
+@Slf4j
+class MappedBodyStore implements Closeable {
+
+    private final Path path;
+    private final boolean temporary;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private int position = 0;
+    private volatile int generation = 0;
+
+    /**
+     * 생성자
+     * @param path 파일 경로 (없으면 임시 파일)
+     * @param capacity 파일 크기(byte)
+     */
+    MappedBodyStore(String path, int capacity) throws IOException {
+        this.temporary = (path == null || path.isEmpty());
+        this.path = temporary ? Files.createTempFile("http-cache-", ".bin") : Paths.get(path);
+        this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        log.info("## {} started. path: {}, capacity: {}", getClass().getSimpleName(), this.path, capacity);
+    }
+
+    /**
+     * Body 저장
+     * @return 저장 위치 (파일 크기보다 크면 null)
+     */
+    Slot write(byte[] body) {
+        if (body.length > buffer.capacity()) {
+            return null;
+        }
+        lock.lock();
+        try {
+            if (position + body.length > buffer.capacity()) {
+                position = 0;
+                generation++;
+                // 새 세대 표시가 아래 Body 쓰기보다 먼저 보이도록
+                VarHandle.storeStoreFence();
+            }
+            int offset = position;
+            // 세대가 바뀐 뒤 이전 세대의 쓰기가 겹치지 않도록 lock 안에서 쓴다.
+            ByteBuffer target = buffer.duplicate();
+            target.position(offset);
+            target.put(body);
+            position += body.length;
+            return new Slot(generation, offset, body.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Body 읽기 (seqlock 방식: 복사 전후 세대가 같을 때만 유효)
+     * @return 무효(다시 쓴 영역)면 null
+     */
+    byte[] read(Slot slot) {
+        if (slot.generation != generation) {
+            return null;
+        }
+        byte[] body = new byte[slot.length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(slot.offset);
+        source.get(body);
+        // 복사(읽기)가 아래 세대 확인 뒤로 밀리지 않도록
+        VarHandle.acquireFence();
+        // 복사하는 동안 다시 쓰였으면 무효
+        return (slot.generation == generation) ? body : null;
+    }
+
+    /** 유효한 위치인가? */
+    boolean isValid(Slot slot) {
+        return slot.generation == generation;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        if (temporary) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /** 저장 위치 */
+    static class Slot {
+        private final int generation;
+        private final int offset;
+        private final int length;
+
+        private Slot(int generation, int offset, int length) {
+            this.generation = generation;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        int getLength() {
+            return length;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.hashmap27.sample.component.http.client;
+
+import com.hashmap27.sample.component.exception.SampleServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 호스트(scheme + host + port) 별 상태를 가지는 장애 격리 Interceptor
+ *  - 제한에 걸리면 외부 호출 없이 SampleServiceUnavailableException(503) 으로 바로 실패한다.
+ *  - 거절 수: http.client.resilience.rejected (host, reason)
+ * @param <S> 호스트 별 상태
+ */
+@Slf4j
+abstract class PerHostClientHttpRequestInterceptor<S> implements ClientHttpRequestInterceptor {
+
+    private final Map<String, S> states = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+
+    protected final MeterRegistry meterRegistry;
+    private final String reason;
+
+    /**
+     * 생성자
+     * @param meterRegistry 지표 등록
+     * @param reason 거절 사유 (지표 태그, 에러 코드)
+     */
+    protected PerHostClientHttpRequestInterceptor(MeterRegistry meterRegistry, String reason) {
+        this.meterRegistry = meterRegistry;
+        this.reason = reason;
+    }
+
+    /** 호스트 상태 생성 (호스트 별 최초 1회, 지표 등록 포함) */
+    protected abstract S createState(String host);
+
+    /** 요청 호스트의 상태 */
+    protected S stateOf(URI uri) {
+        return states.computeIfAbsent(hostOf(uri), this::createState);
+    }
+
+    /** 거절: 지표 기록 후 503 예외 */
+    protected SampleServiceUnavailableException reject(URI uri, String detail) {
+        String host = hostOf(uri);
+        rejectedCounters.computeIfAbsent(host, key -> Counter.builder("http.client.resilience.rejected")
+                .tag("host", key)
+                .tag("reason", reason)
+                .register(meterRegistry)).increment();
+        // 장애 중에는 대량으로 발생하므로 건수는 지표로 보고, 응답 로그는 ResponseEntityExceptionAdvice 가 남긴다.
+        log.debug("outbound call REJECTED. reason: {}, host: {} - {}", reason, host, detail);
+        // 거절은 자주 발생하고 원인이 명확하므로 stack trace 를 만들지 않음
+        return new SampleServiceUnavailableException("F03503", "downstream." + reason, host + " - " + detail, null, false, false);
+    }
+
+    /** scheme://host:port */
+    static String hostOf(URI uri) {
+        String scheme = (uri.getScheme() == null) ? "http" : uri.getScheme().toLowerCase();
+        int port = (uri.getPort() > 0) ? uri.getPort() : ("https".equals(scheme) ? 443 : 80);
+        return scheme + "://" + uri.getHost() + ":" + port;
+    }
+
+    /** 설정 key (https://host[:port] 또는 host[:port]) → scheme://host:port */
+    static String hostOf(String key) {
+        return hostOf(URI.create(key.contains("://") ? key : "http://" + key));
+    }
+}
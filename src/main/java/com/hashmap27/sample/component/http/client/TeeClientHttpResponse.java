@@ -0,0 +1,163 @@
+package com.hashmap27.sample.component.http.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 호출자가 Body 를 읽는 동안 앞부분(최대 버퍼 크기)만 복사해 두는 응답 Wrapper
+ *  - Body 전체를 메모리에 올리지 않으며, 응답을 닫을 때 한번만 onClose 를 호출한다.
+ */
+class TeeClientHttpResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse response;
+    private final LogBufferPool bufferPool;
+    private final Consumer<TeeClientHttpResponse> onClose;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private TeeInputStream body;
+    private byte[] captured;
+    private int capturedLength = 0;
+    private long totalLength = 0L;
+    private boolean completed = false;
+
+    TeeClientHttpResponse(ClientHttpResponse response, LogBufferPool bufferPool, Consumer<TeeClientHttpResponse> onClose) {
+        this.response = response;
+        this.bufferPool = bufferPool;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (body == null) {
+            body = new TeeInputStream(response.getBody());
+        }
+        return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return response.getHeaders();
+    }
+
+    @Override
+    public HttpStatus getStatusCode() throws IOException {
+        return response.getStatusCode();
+    }
+
+    @Override
+    public int getRawStatusCode() throws IOException {
+        return response.getRawStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return response.getStatusText();
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            response.close();
+            return;
+        }
+        try {
+            // 상태/헤더를 읽을 수 있도록 닫기 전에 호출
+            onClose.accept(this);
+        } finally {
+            response.close();
+            bufferPool.release(captured);
+            captured = null;
+        }
+    }
+
+    /** 복사된 앞부분 (없으면 null, close 이후에는 사용 불가) */
+    byte[] getCaptured() {
+        return captured;
+    }
+
+    int getCapturedLength() {
+        return capturedLength;
+    }
+
+    /** 호출자가 읽은 전체 크기 */
+    long getTotalLength() {
+        return totalLength;
+    }
+
+    /** 호출자가 Body 를 끝까지 읽었는가? */
+    boolean isCompleted() {
+        return completed;
+    }
+
+    private void capture(int b) {
+        totalLength++;
+        if (capturedLength < bufferPool.getBufferSize()) {
+            if (captured == null) {
+                captured = bufferPool.acquire();
+            }
+            captured[capturedLength++] = (byte) b;
+        }
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        totalLength += length;
+        int remaining = bufferPool.getBufferSize() - capturedLength;
+        if (remaining <= 0) {
+            return;
+        }
+        if (captured == null) {
+            captured = bufferPool.acquire();
+        }
+        int copy = Math.min(remaining, length);
+        System.arraycopy(bytes, offset, captured, capturedLength, copy);
+        capturedLength += copy;
+    }
+
+    private class TeeInputStream extends FilterInputStream {
+
+        private TeeInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b < 0) {
+                completed = true;
+            } else {
+                capture(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = in.read(bytes, offset, length);
+            if (read < 0) {
+                completed = true;
+            } else if (read > 0) {
+                capture(bytes, offset, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            totalLength += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.hashmap27.sample.component.http.server;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.InvalidMimeTypeException;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * gzip 압축 응답 Wrapper
+ *  - 응답 앞부분(minSize)을 모은 뒤 압축 여부를 결정한다. (Content-Length 를 알면 바로 결정)
+ *  - 압축 대상이 아니거나(Content-Type, Content-Encoding, 상태 코드), 결정 전에 헤더를 보낸(flushBuffer) Streaming 응답은 그대로 보낸다.
+ *  - 비동기 처리(StreamingResponseBody 등) 중에 쓰는 응답은 쓰는 스레드에서 바로 PASSTHROUGH 로 결정한다.
+ *    (요청 스레드는 비동기 시작 후 이 객체를 건드리지 않으므로 상태는 한 스레드에서만 바뀐다.)
+ */
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /** 압축 여부 */
+    enum Mode {
+        UNDECIDED, COMPRESS, PASSTHROUGH
+    }
+
+    /** 압축하지 않은 사유 (지표 태그) */
+    enum SkipReason {
+        SMALL, CONTENT_TYPE, ENCODED, STATUS, STREAMED
+    }
+
+    private final HttpServletRequest request;
+    private final CompressionProperties properties;
+    private final List<MediaType> mimeTypes;
+    private final GzipEncoderPool pool;
+
+    private Mode mode = Mode.UNDECIDED;
+    private SkipReason skipReason;
+    private GzipEncoderPool.Encoder encoder;
+    private int buffered = 0;
+    private long contentLength = -1L;
+
+    private CompressingOutputStream outputStream;
+    private PrintWriter writer;
+
+    /** 압축에 사용한 CPU 시간(ns) */
+    private long compressNanos = 0L;
+    private long originalBytes = 0L;
+    private long compressedBytes = 0L;
+
+    CompressingResponseWrapper(HttpServletRequest request, HttpServletResponse response, CompressionProperties properties, List<MediaType> mimeTypes, GzipEncoderPool pool) {
+        super(response);
+        this.request = request;
+        this.properties = properties;
+        this.mimeTypes = mimeTypes;
+        this.pool = pool;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        return stream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(stream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        if (mode == Mode.UNDECIDED) {
+            // 압축하면 길이가 달라지므로 결정할 때 적용
+            contentLength = length;
+        } else if (mode == Mode.PASSTHROUGH) {
+            super.setContentLengthLong(length);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (mode == Mode.UNDECIDED) {
+            // 응답 헤더를 먼저 보내려는 Streaming 응답
+            passthrough(SkipReason.STREAMED);
+        }
+        if (outputStream != null) {
+            outputStream.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (mode == Mode.UNDECIDED) {
+            buffered = 0;
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (mode == Mode.UNDECIDED) {
+            buffered = 0;
+            contentLength = -1L;
+        }
+    }
+
+    /**
+     * 응답 종료: 모은 앞부분 출력 또는 압축 종료 후 압축기 반납
+     *  - 여러 번 호출해도 한번만 처리한다.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (mode == Mode.UNDECIDED) {
+            if (buffered == 0 && contentLength < 0) {
+                mode = Mode.PASSTHROUGH;
+                skipReason = SkipReason.SMALL;
+                releaseEncoder();
+                return;
+            }
+            if (contentLength < 0) {
+                contentLength = buffered;
+            }
+            passthrough(SkipReason.SMALL);
+        } else if (mode == Mode.COMPRESS && encoder != null) {
+            long start = cpuTime();
+            encoder.finish(getResponse().getOutputStream());
+            compressNanos += cpuTime() - start;
+            originalBytes = encoder.getInputBytes();
+            compressedBytes = encoder.getOutputBytes();
+            releaseEncoder();
+        }
+    }
+
+    /** 요청 처리 실패: 결정 전 앞부분은 버리고 압축기 반납 */
+    void abort() {
+        if (mode == Mode.UNDECIDED) {
+            buffered = 0;
+            mode = Mode.PASSTHROUGH;
+        }
+        releaseEncoder();
+    }
+
+
+    Mode getMode() {
+        return mode;
+    }
+
+    SkipReason getSkipReason() {
+        return skipReason;
+    }
+
+    long getCompressNanos() {
+        return compressNanos;
+    }
+
+    long getOriginalBytes() {
+        return originalBytes;
+    }
+
+    long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    private CompressingOutputStream stream() {
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream();
+        }
+        return outputStream;
+    }
+
+    /** 압축 여부 결정 (압축 대상이 아니면 PASSTHROUGH) */
+    private void decide() throws IOException {
+        SkipReason reason = isCommitted() ? SkipReason.STREAMED : checkSkipReason();
+        if (reason != null) {
+            passthrough(reason);
+            return;
+        }
+        mode = Mode.COMPRESS;
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        addVaryAcceptEncoding(response);
+        if (encoder == null) {
+            encoder = pool.acquire();
+        }
+        long start = cpuTime();
+        encoder.writeHeader(response.getOutputStream());
+        encoder.write(encoder.threshold, 0, buffered, response.getOutputStream());
+        compressNanos += cpuTime() - start;
+        buffered = 0;
+    }
+
+    private SkipReason checkSkipReason() {
+        int status = getStatus();
+        if (status < 200 || status == HttpStatus.NO_CONTENT.value() || status == HttpStatus.NOT_MODIFIED.value() || status == HttpStatus.PARTIAL_CONTENT.value()) {
+            return SkipReason.STATUS;
+        }
+        if (containsHeader(HttpHeaders.CONTENT_ENCODING) || containsHeader(HttpHeaders.CONTENT_RANGE)) {
+            return SkipReason.ENCODED;
+        }
+        if (!isCompressibleType(getContentType())) {
+            return SkipReason.CONTENT_TYPE;
+        }
+        if (contentLength >= 0 && contentLength < properties.getMinSize()) {
+            return SkipReason.SMALL;
+        }
+        return null;
+    }
+
+    private boolean isCompressibleType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            for (MediaType mimeType : mimeTypes) {
+                if (mimeType.includes(mediaType)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMimeTypeException e) {
+            // 잘못된 Content-Type 은 압축하지 않음
+        }
+        return false;
+    }
+
+    /** 압축하지 않고 모은 앞부분부터 그대로 출력 */
+    private void passthrough(SkipReason reason) throws IOException {
+        mode = Mode.PASSTHROUGH;
+        skipReason = reason;
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (reason != SkipReason.STATUS && reason != SkipReason.ENCODED && isCompressibleType(getContentType())) {
+            addVaryAcceptEncoding(response);
+        }
+        if (contentLength >= 0) {
+            response.setContentLengthLong(contentLength);
+        }
+        if (buffered > 0) {
+            response.getOutputStream().write(encoder.threshold, 0, buffered);
+            buffered = 0;
+        }
+        releaseEncoder();
+    }
+
+    private static void addVaryAcceptEncoding(HttpServletResponse response) {
+        if (!response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    private void releaseEncoder() {
+        if (encoder != null) {
+            pool.release(encoder);
+            encoder = null;
+        }
+    }
+
+    private static long cpuTime() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    /** 압축 여부에 따라 앞부분 보관 / 압축 / 그대로 출력 */
+    private class CompressingOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (mode == Mode.UNDECIDED) {
+                if (request.isAsyncStarted()) {
+                    // 비동기 스레드에서 쓰는 응답은 끝(finish)을 보장할 수 없으므로 압축하지 않음
+                    passthrough(SkipReason.STREAMED);
+                } else if (contentLength >= 0) {
+                    decide();
+                } else {
+                    if (encoder == null) {
+                        encoder = pool.acquire();
+                    }
+                    if (buffered + length <= encoder.threshold.length) {
+                        System.arraycopy(bytes, offset, encoder.threshold, buffered, length);
+                        buffered += length;
+                        return;
+                    }
+                    decide();
+                }
+            }
+            if (mode == Mode.COMPRESS) {
+                long start = cpuTime();
+                encoder.write(bytes, offset, length, getResponse().getOutputStream());
+                compressNanos += cpuTime() - start;
+            } else {
+                getResponse().getOutputStream().write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (mode == Mode.UNDECIDED) {
+                // 결정 전 flush(MessageConverter 는 항상 마지막에 flush)는 minSize 까지 보류
+                return;
+            }
+            if (mode == Mode.COMPRESS && encoder != null) {
+                long start = cpuTime();
+                encoder.flush(getResponse().getOutputStream());
+                compressNanos += cpuTime() - start;
+            }
+            getResponse().getOutputStream().flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            getResponse().getOutputStream().close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("non-blocking write is not supported by compressed response");
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.hashmap27.sample.component.http.server;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * API 응답 gzip 압축 Filter
+ *  - Accept-Encoding 에 gzip 이 있고, 압축 대상 Content-Type 이며, minSize 이상인 응답만 압축한다.
+ *  - Deflater 와 버퍼는 Pool 에서 재사용한다. (Tomcat 기본 압축은 요청마다 생성)
+ *  - 비동기(StreamingResponseBody 등) 응답, 이미 인코딩된 응답, 바이너리 응답은 압축하지 않는다.
+ *  - 지표 (uri: 요청 매핑 pattern)
+ *    http.server.compression.ratio: 압축 후 / 압축 전 크기
+ *    http.server.compression.cpu: 압축에 사용한 CPU 시간
+ *    http.server.compression.bytes (stage=original / compressed)
+ *    http.server.compression.skipped (reason)
+ */
+@Slf4j
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final CompressionProperties properties;
+    private final List<MediaType> mimeTypes;
+    private final GzipEncoderPool pool;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * 생성자
+     * @param properties 압축 설정
+     * @param meterRegistry 지표 등록
+     */
+    public CompressionFilter(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.mimeTypes = properties.getMimeTypes().stream().map(MediaType::parseMediaType).collect(Collectors.toList());
+        this.pool = new GzipEncoderPool(properties.getLevel(), properties.getBufferSize(), properties.getMinSize(), properties.getPoolSize());
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled() || HttpMethod.HEAD.matches(request.getMethod()) || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String excludedPath : properties.getExcludedPaths()) {
+            if (pathMatcher.match(excludedPath, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(request, response, properties, mimeTypes, pool);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            wrapper.abort();
+            throw e;
+        }
+
+        if (request.isAsyncStarted()) {
+            // 비동기 스레드가 이미 쓰고 있을 수 있으므로 wrapper 는 건드리지 않고(쓰는 스레드에서 PASSTHROUGH 결정),
+            // 완료 후 남은 압축기만 반납한다.
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    wrapper.abort();
+                    record(request, wrapper);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) { /* onComplete 에서 처리 */ }
+
+                @Override
+                public void onError(AsyncEvent event) { /* onComplete 에서 처리 */ }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) { /* DO NOTHING */ }
+            });
+            return;
+        }
+        wrapper.finish();
+        record(request, wrapper);
+    }
+
+    private void record(HttpServletRequest request, CompressingResponseWrapper wrapper) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = (pattern == null) ? "UNKNOWN" : pattern.toString();
+        if (wrapper.getMode() != CompressingResponseWrapper.Mode.COMPRESS) {
+            if (wrapper.getSkipReason() != null) {
+                Counter.builder("http.server.compression.skipped").tag("reason", wrapper.getSkipReason().name().toLowerCase(Locale.ROOT)).register(meterRegistry).increment();
+            }
+            return;
+        }
+        long originalBytes = wrapper.getOriginalBytes();
+        if (originalBytes > 0) {
+            DistributionSummary.builder("http.server.compression.ratio").tag("uri", uri).register(meterRegistry)
+                    .record((double) wrapper.getCompressedBytes() / originalBytes);
+        }
+        Timer.builder("http.server.compression.cpu").tag("uri", uri).register(meterRegistry).record(wrapper.getCompressNanos(), TimeUnit.NANOSECONDS);
+        Counter.builder("http.server.compression.bytes").tag("uri", uri).tag("stage", "original").register(meterRegistry).increment(originalBytes);
+        Counter.builder("http.server.compression.bytes").tag("uri", uri).tag("stage", "compressed").register(meterRegistry).increment(wrapper.getCompressedBytes());
+    }
+
+    /**
+     * Accept-Encoding 에 gzip 이 허용되어 있는가? (q=0 은 거부)
+     *  - br, zstd 는 지원하지 않으므로 gzip 을 허용하지 않으면 압축하지 않는다.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if ("gzip".equals(coding) || "x-gzip".equals(coding)) {
+                return accepted;
+            }
+            if ("*".equals(coding)) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+}
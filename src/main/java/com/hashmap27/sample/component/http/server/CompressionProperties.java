@@ -0,0 +1,40 @@
+package com.hashmap27.sample.component.http.server;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * API 응답 압축 설정 (sample.web.compression)
+ */
+@Getter
+@Setter
+@ToString
+public class CompressionProperties {
+
+    private boolean enabled = true;
+
+    /** 이 크기(byte) 미만의 응답은 압축하지 않음 */
+    private int minSize = 2048;
+
+    /** 압축 수준 (1: 빠름 ~ 9: 작음) */
+    private int level = 5;
+
+    /** 압축 대상 Content-Type */
+    private List<String> mimeTypes = new ArrayList<>(Arrays.asList(
+            "application/json", "application/*+json", "application/x-ndjson", "application/xml",
+            "text/html", "text/plain", "text/css", "text/csv", "application/javascript"));
+
+    /** 압축하지 않을 경로 (Ant pattern) */
+    private List<String> excludedPaths = new ArrayList<>();
+
+    /** 재사용할 압축기(Deflater + 버퍼) 최대 보관 수 */
+    private int poolSize = 64;
+
+    /** 압축 출력 버퍼 크기 */
+    private int bufferSize = 8 * 1024;
+}
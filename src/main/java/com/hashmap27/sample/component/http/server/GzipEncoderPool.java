@@ -0,0 +1,122 @@
+package com.hashmap27.sample.component.http.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * gzip 압축기 Pool
+ *  - Deflater(native 메모리 할당) 와 버퍼를 요청마다 만들지 않고 재사용한다.
+ *  - 보관 개수를 넘는 압축기는 바로 정리(end)한다.
+ */
+class GzipEncoderPool {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final int level;
+    private final int bufferSize;
+    private final int thresholdSize;
+    private final BlockingQueue<Encoder> encoders;
+
+    /**
+     * 생성자
+     * @param level 압축 수준
+     * @param bufferSize 압축 출력 버퍼 크기
+     * @param thresholdSize 압축 여부 결정 전까지 보관할 버퍼 크기 (minSize)
+     * @param maxPooled 최대 보관 수
+     */
+    GzipEncoderPool(int level, int bufferSize, int thresholdSize, int maxPooled) {
+        this.level = level;
+        this.bufferSize = bufferSize;
+        this.thresholdSize = thresholdSize;
+        this.encoders = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+    }
+
+    Encoder acquire() {
+        Encoder encoder = encoders.poll();
+        return (encoder != null) ? encoder : new Encoder();
+    }
+
+    void release(Encoder encoder) {
+        encoder.deflater.reset();
+        encoder.crc.reset();
+        encoder.inputBytes = 0L;
+        encoder.outputBytes = 0L;
+        if (!encoders.offer(encoder)) {
+            encoder.deflater.end();
+        }
+    }
+
+    /** 압축기 (한 응답에서만 사용) */
+    class Encoder {
+        private final Deflater deflater = new Deflater(level, true);
+        private final CRC32 crc = new CRC32();
+        private final byte[] buffer = new byte[bufferSize];
+        /** 압축 여부 결정 전 응답 앞부분 */
+        final byte[] threshold = new byte[thresholdSize];
+
+        private long inputBytes = 0L;
+        private long outputBytes = 0L;
+
+        void writeHeader(OutputStream out) throws IOException {
+            out.write(GZIP_HEADER);
+            outputBytes += GZIP_HEADER.length;
+        }
+
+        void write(byte[] bytes, int offset, int length, OutputStream out) throws IOException {
+            if (length == 0) {
+                return;
+            }
+            crc.update(bytes, offset, length);
+            inputBytes += length;
+            deflater.setInput(bytes, offset, length);
+            while (!deflater.needsInput()) {
+                drain(Deflater.NO_FLUSH, out);
+            }
+        }
+
+        /** 지금까지 입력한 내용을 모두 출력 (Streaming 응답의 flush) */
+        void flush(OutputStream out) throws IOException {
+            int length;
+            do {
+                length = drain(Deflater.SYNC_FLUSH, out);
+            } while (length == buffer.length);
+        }
+
+        /** 압축 종료 + gzip trailer (CRC32, 원본 크기) */
+        void finish(OutputStream out) throws IOException {
+            deflater.finish();
+            while (!deflater.finished()) {
+                drain(Deflater.NO_FLUSH, out);
+            }
+            long checksum = crc.getValue();
+            byte[] trailer = new byte[8];
+            for (int i = 0; i < 4; i++) {
+                trailer[i] = (byte) (checksum >>> (8 * i));
+                trailer[4 + i] = (byte) (inputBytes >>> (8 * i));
+            }
+            out.write(trailer);
+            outputBytes += trailer.length;
+        }
+
+        private int drain(int flush, OutputStream out) throws IOException {
+            int length = deflater.deflate(buffer, 0, buffer.length, flush);
+            if (length > 0) {
+                out.write(buffer, 0, length);
+                outputBytes += length;
+            }
+            return length;
+        }
+
+        long getInputBytes() {
+            return inputBytes;
+        }
+
+        long getOutputBytes() {
+            return outputBytes;
+        }
+    }
+}
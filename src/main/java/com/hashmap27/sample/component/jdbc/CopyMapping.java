@@ -0,0 +1,83 @@
+package com.hashmap27.sample.component.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * 도메인 객체 → COPY CSV 행 매핑
+ *
+ * <pre>
+ *  CopyMapping&lt;FooVO&gt; mapping = CopyMapping.&lt;FooVO&gt;builder()
+ *          .column("id", FooVO::getId)
+ *          .column("name", FooVO::getName)
+ *          .build();
+ * </pre>
+ */
+public final class CopyMapping<T> {
+
+    private static final Pattern COLUMN_PATTERN = Pattern.compile("^[A-Za-z_][A-Za-z0-9_]*$");
+
+    private final List<String> columns;
+    private final List<Function<? super T, ?>> getters;
+
+    private CopyMapping(List<String> columns, List<Function<? super T, ?>> getters) {
+        this.columns = Collections.unmodifiableList(columns);
+        this.getters = Collections.unmodifiableList(getters);
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /** 컬럼 목록 */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /** 객체 한 건을 CSV 한 줄로 추가 */
+    void appendCsvRow(StringBuilder line, T row) {
+        for (int i = 0; i < getters.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            CsvCodec.appendField(line, getters.get(i).apply(row));
+        }
+        line.append('\n');
+    }
+
+    /** 컬럼명 검증 (COPY 구문에 그대로 들어가므로 식별자만 허용) */
+    static String checkIdentifier(String identifier) {
+        if (identifier == null || !COLUMN_PATTERN.matcher(identifier).matches()) {
+            throw new IllegalArgumentException("invalid identifier: " + identifier);
+        }
+        return identifier;
+    }
+
+    public static class Builder<T> {
+        private final List<String> columns = new ArrayList<>();
+        private final List<Function<? super T, ?>> getters = new ArrayList<>();
+
+        private Builder() { /* DO NOTHING */ }
+
+        /**
+         * 컬럼 추가
+         * @param column 컬럼명
+         * @param getter 값 추출 (null 이면 NULL)
+         */
+        public Builder<T> column(String column, Function<? super T, ?> getter) {
+            columns.add(checkIdentifier(column));
+            getters.add(getter);
+            return this;
+        }
+
+        public CopyMapping<T> build() {
+            if (columns.isEmpty()) {
+                throw new IllegalStateException("at least one column is required.");
+            }
+            return new CopyMapping<T>(new ArrayList<>(columns), new ArrayList<Function<? super T, ?>>(getters));
+        }
+    }
+}
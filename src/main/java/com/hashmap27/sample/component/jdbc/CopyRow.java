@@ -0,0 +1,92 @@
+package com.hashmap27.sample.component.jdbc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * COPY ... TO STDOUT (FORMAT csv) 결과 한 행
+ *  - 컬럼 순서(0부터)로 값을 꺼내며, NULL 은 null 로 반환한다.
+ */
+public class CopyRow {
+
+    /** timestamp / timestamptz 출력 형식 (yyyy-MM-dd HH:mm:ss[.SSSSSS][+HH[:mm[:ss]]]) */
+    private static final DateTimeFormatter TIMESTAMP = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE)
+            .appendLiteral(' ')
+            .append(DateTimeFormatter.ISO_LOCAL_TIME)
+            .optionalStart().appendOffset("+HH:mm:ss", "Z").optionalEnd()
+            .toFormatter();
+
+    private final List<String> fields;
+
+    CopyRow(List<String> fields) {
+        this.fields = fields;
+    }
+
+    /** 컬럼 수 */
+    public int size() {
+        return fields.size();
+    }
+
+    public String getString(int index) {
+        return fields.get(index);
+    }
+
+    public Integer getInteger(int index) {
+        String value = fields.get(index);
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    public Long getLong(int index) {
+        String value = fields.get(index);
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    public BigDecimal getBigDecimal(int index) {
+        String value = fields.get(index);
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    /** boolean (t / f) */
+    public Boolean getBoolean(int index) {
+        String value = fields.get(index);
+        return value == null ? null : ("t".equals(value) || "true".equalsIgnoreCase(value));
+    }
+
+    public LocalDate getLocalDate(int index) {
+        String value = fields.get(index);
+        return value == null ? null : LocalDate.parse(value);
+    }
+
+    /** timestamp (yyyy-MM-dd HH:mm:ss[.SSSSSS]), timestamptz 는 JVM 기본 시간대로 변환 */
+    public LocalDateTime getLocalDateTime(int index) {
+        String value = fields.get(index);
+        if (value == null) {
+            return null;
+        }
+        TemporalAccessor parsed = TIMESTAMP.parseBest(value, OffsetDateTime::from, LocalDateTime::from);
+        if (parsed instanceof OffsetDateTime) {
+            return ((OffsetDateTime) parsed).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+        return (LocalDateTime) parsed;
+    }
+
+    /** timestamptz (yyyy-MM-dd HH:mm:ss[.SSSSSS]+HH[:mm[:ss]], 세션 TimeZone 기준 offset) */
+    public OffsetDateTime getOffsetDateTime(int index) {
+        String value = fields.get(index);
+        return value == null ? null : OffsetDateTime.parse(value, TIMESTAMP);
+    }
+
+    public UUID getUuid(int index) {
+        String value = fields.get(index);
+        return value == null ? null : UUID.fromString(value);
+    }
+}
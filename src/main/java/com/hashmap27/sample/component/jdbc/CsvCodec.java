@@ -0,0 +1,123 @@
+package com.hashmap27.sample.component.jdbc;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * PostgreSQL COPY CSV 형식 변환
+ *  - NULL 은 따옴표 없는 빈 값, 빈 문자열은 "" 로 구분한다.
+ *  - java.util.Date 는 JDBC 와 같이 JVM 기본 시간대의 ISO-8601 (offset 포함) 로 변환한다.
+ */
+final class CsvCodec {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private CsvCodec() { /* DO NOTHING */ }
+
+    /** 값 하나를 CSV 필드로 추가 */
+    static void appendField(StringBuilder line, Object value) {
+        if (value == null) {
+            return;
+        }
+        String text;
+        if (value instanceof byte[]) {
+            text = toByteaHex((byte[]) value);
+        } else if (value instanceof TemporalAccessor || value instanceof Number || value instanceof Boolean) {
+            line.append(value);
+            return;
+        } else if (value instanceof Date && !isJdbcDate(value)) {
+            // Date.toString() (Wed Sep 01 09:00:00 KST 2021) 은 PostgreSQL 이 읽지 못한다.
+            line.append(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(OffsetDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault())));
+            return;
+        } else {
+            text = value.toString();
+        }
+
+        if (text.isEmpty() || needsQuote(text)) {
+            line.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        } else {
+            line.append(text);
+        }
+    }
+
+    /** java.sql.Date / Time / Timestamp 는 toString() 이 PostgreSQL 입력 형식이다. (java.sql.Date, Time 은 toInstant() 미지원) */
+    private static boolean isJdbcDate(Object value) {
+        return value instanceof java.sql.Date || value instanceof java.sql.Time || value instanceof java.sql.Timestamp;
+    }
+
+    private static boolean needsQuote(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r' || c == '\\') {
+                return true;
+            }
+        }
+        // 앞뒤 공백 보존
+        return Character.isWhitespace(text.charAt(0)) || Character.isWhitespace(text.charAt(text.length() - 1));
+    }
+
+    private static String toByteaHex(byte[] bytes) {
+        char[] chars = new char[2 + bytes.length * 2];
+        chars[0] = '\\';
+        chars[1] = 'x';
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 + i * 2] = HEX[(bytes[i] >> 4) & 0x0F];
+            chars[3 + i * 2] = HEX[bytes[i] & 0x0F];
+        }
+        return new String(chars);
+    }
+
+    /** CSV 한 행(COPY OUT 메시지 하나)을 필드로 분리. 따옴표 없는 빈 값은 null */
+    static List<String> parseRow(String line) {
+        List<String> fields = new ArrayList<>();
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\n') {
+            length--;
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                length--;
+            }
+        }
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        for (int i = 0; i < length; i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"') {
+                    if (i + 1 < length && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(quoted || field.length() > 0 ? field.toString() : null);
+                field.setLength(0);
+                quoted = false;
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(quoted || field.length() > 0 ? field.toString() : null);
+        return fields;
+    }
+}
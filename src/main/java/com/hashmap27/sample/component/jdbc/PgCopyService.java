@@ -0,0 +1,193 @@
+package com.hashmap27.sample.component.jdbc;
+
+import com.hashmap27.sample.component.exception.SampleRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.CopyOut;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * PostgreSQL COPY 기반 대량 적재 / 추출 (ReadWrite Pool)
+ *  - readWriteDataSource 커넥션을 pgjdbc CopyManager 로 unwrap 하여 COPY ... FROM STDIN / TO STDOUT 을 실행한다.
+ *  - 고정 크기 버퍼로 스트리밍하므로 건수와 무관하게 메모리 사용량이 일정하며, 소켓 쓰기/읽기가 막히면 생산/소비도 같이 멈춘다.
+ *  - 트랜잭션 중이면 해당 트랜잭션 커넥션을 사용한다. (없으면 COPY 단위 autocommit)
+ *  - COPY 는 바인딩 파라미터를 지원하지 않으므로 query 에 사용자 입력을 넣지 않는다.
+ *
+ * <pre>
+ *  long rows = pgCopyService.copyIn("foo", mapping, fooStream);
+ *  pgCopyService.copyOut("SELECT id, name FROM foo", row -&gt; new FooVO(row.getLong(0), row.getString(1)), fooConsumer);
+ * </pre>
+ */
+@Slf4j
+@Component
+public class PgCopyService {
+
+    /** COPY 송수신 버퍼 크기 */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+
+    public PgCopyService(@Qualifier("readWriteDataSource") final DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /** 도메인 객체 CSV 적재 (Stream 은 호출자가 닫는다) */
+    public <T> long copyIn(String table, CopyMapping<T> mapping, Stream<T> rows) {
+        return copyIn(table, mapping, rows.iterator());
+    }
+
+    /** 도메인 객체 CSV 적재 */
+    public <T> long copyIn(String table, CopyMapping<T> mapping, Iterable<T> rows) {
+        return copyIn(table, mapping, rows.iterator());
+    }
+
+    /**
+     * 도메인 객체 CSV 적재
+     * @param table 대상 테이블 (schema.table 가능)
+     * @param mapping 컬럼 매핑
+     * @param rows 적재할 객체 (한 건씩 소비)
+     * @return 적재 건수
+     */
+    public <T> long copyIn(String table, CopyMapping<T> mapping, Iterator<T> rows) {
+        String sql = "COPY " + checkTable(table) + " (" + String.join(", ", mapping.getColumns()) + ") FROM STDIN (FORMAT csv)";
+        return execute(sql, pgConnection -> {
+            PGCopyOutputStream copyStream = new PGCopyOutputStream(pgConnection, sql, BUFFER_SIZE);
+            try {
+                Writer writer = new OutputStreamWriter(copyStream, StandardCharsets.UTF_8);
+                StringBuilder line = new StringBuilder(256);
+                while (rows.hasNext()) {
+                    line.setLength(0);
+                    mapping.appendCsvRow(line, rows.next());
+                    writer.append(line);
+                }
+                writer.flush();
+                return copyStream.endCopy();
+            } catch (IOException | SQLException | RuntimeException e) {
+                cancelQuietly(copyStream);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * COPY binary 형식 적재 (pass-through)
+     * @param table 대상 테이블
+     * @param columns 컬럼 목록
+     * @param in PostgreSQL binary COPY 형식 데이터
+     * @return 적재 건수
+     */
+    public long copyInBinary(String table, List<String> columns, InputStream in) {
+        columns.forEach(CopyMapping::checkIdentifier);
+        String sql = "COPY " + checkTable(table) + " (" + String.join(", ", columns) + ") FROM STDIN (FORMAT binary)";
+        return execute(sql, pgConnection -> pgConnection.getCopyAPI().copyIn(sql, in, BUFFER_SIZE));
+    }
+
+    /**
+     * 조회 결과를 CSV(헤더 포함)로 출력
+     * @param query SELECT 문 (사용자 입력 포함 금지)
+     * @param out 출력 대상 (닫지 않음)
+     * @return 출력 건수
+     */
+    public long copyOut(String query, OutputStream out) {
+        String sql = "COPY (" + query + ") TO STDOUT (FORMAT csv, HEADER true)";
+        return execute(sql, pgConnection -> pgConnection.getCopyAPI().copyOut(sql, out));
+    }
+
+    /**
+     * 조회 결과를 binary COPY 형식으로 출력 (pass-through)
+     * @param query SELECT 문 (사용자 입력 포함 금지)
+     * @param out 출력 대상 (닫지 않음)
+     * @return 출력 건수
+     */
+    public long copyOutBinary(String query, OutputStream out) {
+        String sql = "COPY (" + query + ") TO STDOUT (FORMAT binary)";
+        return execute(sql, pgConnection -> pgConnection.getCopyAPI().copyOut(sql, out));
+    }
+
+    /**
+     * 조회 결과를 한 행씩 도메인 객체로 변환하여 전달
+     *  - consumer 가 처리하는 동안 다음 행을 읽지 않으므로 전체 결과를 메모리에 올리지 않는다.
+     * @param query SELECT 문 (사용자 입력 포함 금지)
+     * @param rowMapper 행 → 객체 변환
+     * @param consumer 객체 처리
+     * @return 처리 건수
+     */
+    public <T> long copyOut(String query, Function<CopyRow, T> rowMapper, Consumer<? super T> consumer) {
+        String sql = "COPY (" + query + ") TO STDOUT (FORMAT csv)";
+        return execute(sql, pgConnection -> {
+            CopyManager copyManager = pgConnection.getCopyAPI();
+            CopyOut copyOut = copyManager.copyOut(sql);
+            try {
+                byte[] row;
+                // COPY OUT 은 행 단위 메시지로 전달된다.
+                while ((row = copyOut.readFromCopy()) != null) {
+                    consumer.accept(rowMapper.apply(new CopyRow(CsvCodec.parseRow(new String(row, StandardCharsets.UTF_8)))));
+                }
+                return copyOut.getHandledRowCount();
+            } catch (SQLException | RuntimeException e) {
+                if (copyOut.isActive()) {
+                    copyOut.cancelCopy();
+                }
+                throw e;
+            }
+        });
+    }
+
+    /** 커넥션 획득 → COPY 실행 → 반환 */
+    private long execute(String sql, CopyCallback callback) {
+        long start = System.currentTimeMillis();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            long rows = callback.doInCopy(connection.unwrap(PGConnection.class));
+            log.debug("COPY completed. rows: {}, elapsed: {}ms, sql: {}", rows, System.currentTimeMillis() - start, sql);
+            return rows;
+        } catch (SQLException | IOException e) {
+            log.warn("COPY FAILED. {} - {} - sql: {}", e.getClass().getName(), e.getMessage(), sql);
+            throw new SampleRuntimeException("COPY FAILED. " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static String checkTable(String table) {
+        int dot = table.indexOf('.');
+        if (dot < 0) {
+            return CopyMapping.checkIdentifier(table);
+        }
+        return CopyMapping.checkIdentifier(table.substring(0, dot)) + "." + CopyMapping.checkIdentifier(table.substring(dot + 1));
+    }
+
+    private static void cancelQuietly(PGCopyOutputStream copyStream) {
+        try {
+            if (copyStream.isActive()) {
+                copyStream.cancelCopy();
+            }
+        } catch (SQLException e) {
+            log.warn("COPY cancel FAILED. {} - {}", e.getClass().getName(), e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface CopyCallback {
+        long doInCopy(PGConnection pgConnection) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,99 @@
+package com.hashmap27.sample.component.mybatis;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * MyBatis BoundSql 관련 유틸
+ */
+public class BoundSqlUtil {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    /** 조회 대상 테이블 (FROM / JOIN 다음 식별자) */
+    private static final Pattern READ_TABLE = Pattern.compile("(?i)\\b(?:FROM|JOIN)\\s+(?:ONLY\\s+)?([\\w.\"]+)");
+    /** 변경 대상 테이블 (ON CONFLICT DO UPDATE SET 제외) */
+    private static final Pattern WRITE_TABLE = Pattern.compile("(?i)\\b(?:INSERT\\s+INTO|UPDATE|DELETE\\s+FROM|MERGE\\s+INTO|TRUNCATE(?:\\s+TABLE)?)\\s+(?:ONLY\\s+)?(?!SET\\b)([\\w.\"]+)");
+
+    private BoundSqlUtil() { /* DO NOTHING */ }
+
+    /** 공백/개행을 하나의 공백으로 정규화한 SQL */
+    public static String normalizeSql(String sql) {
+        return sql == null ? "" : WHITESPACE.matcher(sql).replaceAll(" ").trim();
+    }
+
+    /**
+     * BoundSql 의 바인딩 파라미터 값을 순서대로 획득 (DefaultParameterHandler 와 동일한 규칙)
+     * @param configuration MyBatis Configuration
+     * @param boundSql 바인딩 대상 SQL
+     * @param parameterObject Mapper 파라미터
+     * @return 바인딩 값 목록
+     */
+    public static List<Object> getParameterValues(Configuration configuration, BoundSql boundSql, Object parameterObject) {
+        List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+        List<Object> values = new ArrayList<>(parameterMappings.size());
+        TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+        MetaObject metaObject = null;
+        for (ParameterMapping parameterMapping : parameterMappings) {
+            if (parameterMapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = parameterMapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (typeHandlerRegistry.hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                value = metaObject.getValue(property);
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    /** SQL 에서 조회 대상 테이블명 추출 (schema 제외, 소문자) */
+    public static Set<String> extractReadTables(String sql) {
+        return extractTables(READ_TABLE, sql);
+    }
+
+    /** SQL 에서 변경(INSERT / UPDATE / DELETE / MERGE / TRUNCATE) 대상 테이블명 추출 (schema 제외, 소문자) */
+    public static Set<String> extractWriteTables(String sql) {
+        return extractTables(WRITE_TABLE, sql);
+    }
+
+    private static Set<String> extractTables(Pattern pattern, String sql) {
+        Set<String> tables = new LinkedHashSet<>();
+        if (sql == null) {
+            return tables;
+        }
+        Matcher matcher = pattern.matcher(sql);
+        while (matcher.find()) {
+            tables.add(normalizeTableName(matcher.group(1)));
+        }
+        return tables;
+    }
+
+    /** 테이블명 정규화 (따옴표, schema 제거 및 소문자) */
+    public static String normalizeTableName(String tableName) {
+        String name = tableName.replace("\"", "");
+        int dot = name.lastIndexOf('.');
+        return (dot >= 0 ? name.substring(dot + 1) : name).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,15 @@
+package com.hashmap27.sample.component.mybatis.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Batch 쓰기 설정 (sample.mybatis.batch)
+ */
+@Getter
+@Setter
+public class BatchWriteProperties {
+
+    /** 이 건수마다 JDBC Batch 를 전송 */
+    private int flushSize = 1_000;
+}
@@ -0,0 +1,79 @@
+package com.hashmap27.sample.component.mybatis.batch;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.ibatis.executor.BatchResult;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Batch 쓰기 결과
+ *  - reWriteBatchedInserts 사용 시 PostgreSQL 은 건별 변경 건수 대신 SUCCESS_NO_INFO(-2) 를 반환하므로 unknownCountStatements 로 집계한다.
+ */
+@Getter
+@ToString
+public class BatchWriteResult {
+
+    /** flush 단위 결과 */
+    private final List<Chunk> chunks = new ArrayList<>();
+
+    /** 실행한 Statement 수 */
+    private long statementCount;
+
+    /** 변경된 행 수 (건수를 알 수 있는 Statement 기준) */
+    private long updatedRows;
+
+    /** 변경 건수를 알 수 없는 Statement 수 */
+    private long unknownCountStatements;
+
+    /** flush 결과 추가 */
+    Chunk add(List<BatchResult> batchResults) {
+        int statements = 0;
+        long updated = 0L;
+        int unknown = 0;
+        for (BatchResult batchResult : batchResults) {
+            for (int updateCount : batchResult.getUpdateCounts()) {
+                statements++;
+                if (updateCount >= 0) {
+                    updated += updateCount;
+                } else if (updateCount == Statement.SUCCESS_NO_INFO) {
+                    unknown++;
+                }
+            }
+        }
+        Chunk chunk = new Chunk(chunks.size() + 1, statements, updated, unknown);
+        chunks.add(chunk);
+        statementCount += statements;
+        updatedRows += updated;
+        unknownCountStatements += unknown;
+        return chunk;
+    }
+
+    public List<Chunk> getChunks() {
+        return Collections.unmodifiableList(chunks);
+    }
+
+    /** flush 단위 결과 */
+    @Getter
+    @ToString
+    public static class Chunk {
+        /** flush 순번 (1부터) */
+        private final int sequence;
+        /** 실행한 Statement 수 */
+        private final int statementCount;
+        /** 변경된 행 수 */
+        private final long updatedRows;
+        /** 변경 건수를 알 수 없는 Statement 수 */
+        private final int unknownCountStatements;
+
+        private Chunk(int sequence, int statementCount, long updatedRows, int unknownCountStatements) {
+            this.sequence = sequence;
+            this.statementCount = statementCount;
+            this.updatedRows = updatedRows;
+            this.unknownCountStatements = unknownCountStatements;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.hashmap27.sample.component.mybatis.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * ReadWrite Mapper Batch 쓰기
+ *  - ExecutorType.BATCH SqlSessionTemplate 으로 Statement 를 모아 flushSize 마다 JDBC Batch 로 전송한다.
+ *  - reWriteBatchedInserts=true 이면 pgjdbc 가 INSERT Batch 를 multi-row INSERT 로 변환한다.
+ *  - BATCH 세션은 기존 SIMPLE 세션과 같은 트랜잭션에 섞을 수 없으므로 항상 새 트랜잭션(REQUIRES_NEW)으로 실행한다.
+ *
+ * <pre>
+ *  BatchWriteResult result = batchWriter.write(RwFooMapper.class, "insertFoo", fooList);
+ * </pre>
+ */
+@Slf4j
+public class BatchWriter {
+
+    private final SqlSessionTemplate batchSessionTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int defaultFlushSize;
+
+    /**
+     * 생성자
+     * @param batchSessionTemplate ExecutorType.BATCH SqlSessionTemplate
+     * @param transactionManager batchSessionTemplate 의 DataSource 트랜잭션 매니저
+     * @param properties Batch 쓰기 설정
+     */
+    public BatchWriter(SqlSessionTemplate batchSessionTemplate, PlatformTransactionManager transactionManager, BatchWriteProperties properties) {
+        this.batchSessionTemplate = batchSessionTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.defaultFlushSize = properties.getFlushSize();
+    }
+
+    /** Mapper 메소드 기준 Batch 쓰기 */
+    public <T> BatchWriteResult write(Class<?> mapperType, String methodName, Iterable<T> items) {
+        return write(mapperType.getName() + "." + methodName, items.iterator(), defaultFlushSize, null);
+    }
+
+    /** Mapper 메소드 기준 Batch 쓰기 (Stream 은 호출자가 닫는다) */
+    public <T> BatchWriteResult write(Class<?> mapperType, String methodName, Stream<T> items) {
+        return write(mapperType.getName() + "." + methodName, items.iterator(), defaultFlushSize, null);
+    }
+
+    /** Batch 쓰기 */
+    public <T> BatchWriteResult write(String statementId, Iterable<T> items) {
+        return write(statementId, items.iterator(), defaultFlushSize, null);
+    }
+
+    /** Batch 쓰기 */
+    public <T> BatchWriteResult write(String statementId, Stream<T> items) {
+        return write(statementId, items.iterator(), defaultFlushSize, null);
+    }
+
+    /**
+     * Batch 쓰기
+     * @param statementId INSERT / UPDATE / DELETE Statement ID
+     * @param items 파라미터 객체 (한 건씩 소비하므로 전체를 메모리에 올리지 않아도 된다)
+     * @param flushSize 이 건수마다 JDBC Batch 전송
+     * @param chunkListener flush 마다 호출 (진행 상황 보고용, 없으면 null)
+     * @return Batch 쓰기 결과
+     */
+    public <T> BatchWriteResult write(String statementId, Iterator<T> items, int flushSize, Consumer<BatchWriteResult.Chunk> chunkListener) {
+        if (flushSize < 1) {
+            throw new IllegalArgumentException("flushSize must be greater than 0. flushSize: " + flushSize);
+        }
+        long start = System.currentTimeMillis();
+        BatchWriteResult result = transactionTemplate.execute(status -> {
+            BatchWriteResult batchWriteResult = new BatchWriteResult();
+            int pending = 0;
+            while (items.hasNext()) {
+                batchSessionTemplate.update(statementId, items.next());
+                if (++pending >= flushSize) {
+                    flush(batchWriteResult, chunkListener);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                flush(batchWriteResult, chunkListener);
+            }
+            return batchWriteResult;
+        });
+        log.debug("batch write completed. statementId: {}, statements: {}, updatedRows: {}, chunks: {}, elapsed: {}ms",
+                statementId, result.getStatementCount(), result.getUpdatedRows(), result.getChunks().size(), System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private void flush(BatchWriteResult result, Consumer<BatchWriteResult.Chunk> chunkListener) {
+        BatchWriteResult.Chunk chunk = result.add(batchSessionTemplate.flushStatements());
+        if (chunkListener != null) {
+            chunkListener.accept(chunk);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.hashmap27.sample.component.mybatis.cache;
+
+import com.hashmap27.sample.component.mybatis.BoundSqlUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.io.Resources;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 건수 / 용량 제한과 TTL 을 가진 MyBatis 2차 캐시 (ReadOnly Mapper 용)
+ *  - LRU 순으로 maxEntries, maxBytes 를 넘지 않도록 제거한다. 용량은 직렬화된 크기로 계산한다.
+ *  - 값은 직렬화하여 보관하므로 조회 시 항상 복사본이 반환된다. (직렬화할 수 없는 결과는 캐시하지 않음)
+ *  - Statement 별 TTL 은 statementTtls 설정 또는 Mapper 메소드의 @QueryCacheTtl 로 지정한다.
+ *  - 조회한 테이블에 대한 쓰기가 ReadWrite Mapper 로 실행되면 TableInvalidationInterceptor 에 의해 비워진다.
+ *  - 조회는 Replica 에서 하므로 비운 뒤 복제 지연(replicaLag) 동안은 다시 캐시하지 않는다. (복제 전 값이 다시 캐시되는 것 방지)
+ *
+ * <pre>
+ *  &lt;cache type="com.hashmap27.sample.component.mybatis.cache.BoundedQueryCache"&gt;
+ *      &lt;property name="maxEntries" value="1000"/&gt;
+ *      &lt;property name="maxBytes" value="16777216"/&gt;
+ *      &lt;property name="ttl" value="10m"/&gt;
+ *      &lt;property name="statementTtls" value="selectCodeList=1h, selectNoticeList=30s"/&gt;
+ *      &lt;property name="tables" value="code, code_group"/&gt;
+ *  &lt;/cache&gt;
+ * </pre>
+ */
+@Slf4j
+public class BoundedQueryCache implements Cache {
+
+    private final String id;
+
+    /** 최대 건수 */
+    private int maxEntries = 1_000;
+    /** 최대 용량(byte) */
+    private long maxBytes = 16L * 1024 * 1024;
+    /** 기본 유지 시간(ms) */
+    private long ttlMillis = 10L * 60 * 1000;
+    /** 설정된 Statement 별 유지 시간(ms), key: statement id 의 마지막 부분(메소드명) */
+    private final Map<String, Long> statementTtls = new ConcurrentHashMap<>();
+    /** 결정된 Statement 별 유지 시간(ms) */
+    private final Map<String, Long> resolvedTtls = new ConcurrentHashMap<>();
+    /** 의존 테이블 (설정 + 캐시한 SQL 에서 추출) */
+    private final Set<String> tables = ConcurrentHashMap.newKeySet();
+    /** 무효화 후 다시 캐시하지 않는 시간(ms), null 이면 QueryCacheRegistry 의 Replica 복제 지연 */
+    private Long replicaLagMillis = null;
+    /** 이 시각 이전에는 캐시하지 않는다 (마지막 무효화 + 복제 지연) */
+    private volatile long suppressPutsUntil = 0L;
+    /** 테이블 추출이 끝난 Statement */
+    private final Set<String> analyzedStatements = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight = 0L;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder suppressions = new LongAdder();
+
+    public BoundedQueryCache(String id) {
+        this.id = id;
+        QueryCacheRegistry.register(this);
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+        if (System.currentTimeMillis() < suppressPutsUntil) {
+            // 무효화 직후에 Replica 에서 조회한 값은 변경 전 값일 수 있다.
+            suppressions.increment();
+            return;
+        }
+        if (!(value instanceof Serializable)) {
+            rejections.increment();
+            log.debug("query cache put rejected (not serializable). cache: {}, type: {}", id, value == null ? null : value.getClass().getName());
+            return;
+        }
+        byte[] bytes;
+        try {
+            bytes = serialize((Serializable) value);
+        } catch (IOException e) {
+            // ArrayList 등은 Serializable 이지만 요소(VO)가 Serializable 이 아니면 직렬화에 실패한다.
+            rejections.increment();
+            log.debug("query cache put rejected (serialize failed). cache: {} - {} - {}", id, e.getClass().getName(), e.getMessage());
+            return;
+        }
+        if (bytes.length > maxBytes) {
+            rejections.increment();
+            return;
+        }
+
+        String keyText = key.toString();
+        String statementId = extractStatementId(keyText);
+        if (statementId != null && analyzedStatements.add(statementId)) {
+            tables.addAll(BoundSqlUtil.extractReadTables(keyText));
+        }
+        long expiresAt = System.currentTimeMillis() + resolveTtl(statementId);
+
+        lock.lock();
+        try {
+            Entry previous = entries.put(key, new Entry(bytes, expiresAt));
+            if (previous != null) {
+                weight -= previous.value.length;
+            }
+            weight += bytes.length;
+            evictIfNecessary();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object getObject(Object key) {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                weight -= entry.value.length;
+                expirations.increment();
+                entry = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return deserialize(entry.value);
+    }
+
+    @Override
+    public Object removeObject(Object key) {
+        lock.lock();
+        try {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                weight -= entry.value.length;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        long lagMillis = (replicaLagMillis != null) ? replicaLagMillis : QueryCacheRegistry.getReplicaLagMillis();
+        suppressPutsUntil = Math.max(suppressPutsUntil, System.currentTimeMillis() + lagMillis);
+        lock.lock();
+        try {
+            entries.clear();
+            weight = 0L;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getSize() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** LRU 순으로 건수 / 용량 제한 초과분 제거 (lock 보유 상태에서 호출) */
+    private void evictIfNecessary() {
+        Iterator<Map.Entry<Object, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxBytes) && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            weight -= eldest.value.length;
+            sizeEvictions.increment();
+        }
+    }
+
+    /** 주어진 테이블 중 하나라도 조회하는 Cache 인가? */
+    public boolean dependsOnAny(Collection<String> changedTables) {
+        return !Collections.disjoint(tables, changedTables);
+    }
+
+    /**
+     * CacheKey 문자열에서 Statement ID 추출
+     *  - CacheKey.toString(): hashcode:checksum:statementId:offset:limit:sql:parameters...
+     */
+    private String extractStatementId(String keyText) {
+        String[] parts = StringUtils.split(keyText, ":", 4);
+        return parts.length >= 3 ? parts[2] : null;
+    }
+
+    /** Statement 유지 시간: @QueryCacheTtl → statementTtls → ttl */
+    private long resolveTtl(String statementId) {
+        if (statementId == null) {
+            return ttlMillis;
+        }
+        String methodName = statementId.substring(statementId.lastIndexOf('.') + 1);
+        return resolvedTtls.computeIfAbsent(methodName, name -> {
+            Long annotated = findAnnotatedTtl(statementId, name);
+            return annotated != null ? annotated : statementTtls.getOrDefault(name, ttlMillis);
+        });
+    }
+
+    private Long findAnnotatedTtl(String statementId, String methodName) {
+        int lastDot = statementId.lastIndexOf('.');
+        if (lastDot < 0) {
+            return null;
+        }
+        try {
+            Class<?> mapperType = Resources.classForName(statementId.substring(0, lastDot));
+            for (Method method : mapperType.getMethods()) {
+                QueryCacheTtl annotation = method.getAnnotation(QueryCacheTtl.class);
+                if (annotation != null && method.getName().equals(methodName)) {
+                    return parseMillis(annotation.value());
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            // XML 전용 namespace
+        }
+        return null;
+    }
+
+    private static long parseMillis(String value) {
+        String text = value.trim();
+        return StringUtils.isNumeric(text) ? Long.parseLong(text) : DurationStyle.detectAndParse(text).toMillis();
+    }
+
+    private static byte[] serialize(Serializable value) throws IOException {
+        try (ByteArrayOutputStream bos = new ByteArrayOutputStream(512);
+             ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(value);
+            oos.flush();
+            return bos.toByteArray();
+        }
+    }
+
+    private static Object deserialize(byte[] value) {
+        try (ObjectInputStream ois = new ClassLoaderAwareObjectInputStream(new ByteArrayInputStream(value))) {
+            return ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new CacheException("Error deserializing object. Cause: " + e, e);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // MyBatis <cache> property setter
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** 기본 유지 시간 (10s, 5m, 1h, PT10M 또는 ms 단위 숫자) */
+    public void setTtl(String ttl) {
+        this.ttlMillis = parseMillis(ttl);
+    }
+
+    /** 무효화 후 다시 캐시하지 않는 시간 (기본: Replica 복제 지연 허용치, 0 이면 바로 캐시) */
+    public void setReplicaLag(String replicaLag) {
+        this.replicaLagMillis = parseMillis(replicaLag);
+    }
+
+    /** Statement 별 유지 시간 (예: selectCodeList=1h, selectNoticeList=30s) */
+    public void setStatementTtls(String statementTtls) {
+        for (String item : StringUtils.split(statementTtls, ',')) {
+            String[] pair = StringUtils.split(item, '=');
+            if (pair.length == 2) {
+                this.statementTtls.put(pair[0].trim(), parseMillis(pair[1]));
+            }
+        }
+    }
+
+    /** 의존 테이블 (SQL 에서 추출되지 않는 view, function 내부 테이블 등) */
+    public void setTables(String tables) {
+        for (String table : StringUtils.split(tables, ',')) {
+            this.tables.add(BoundSqlUtil.normalizeTableName(table.trim()));
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // 통계
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getSizeEvictionCount() {
+        return sizeEvictions.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    public long getRejectionCount() {
+        return rejections.sum();
+    }
+
+    /** 무효화 후 복제 지연 동안 캐시하지 않은 건수 */
+    public long getSuppressionCount() {
+        return suppressions.sum();
+    }
+
+    /** 현재 용량(byte) */
+    public long getWeight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 캐시 항목 */
+    private static class Entry {
+        private final byte[] value;
+        private final long expiresAt;
+
+        private Entry(byte[] value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /** MyBatis 와 동일하게 ClassLoader 를 찾아서 역직렬화 */
+    private static class ClassLoaderAwareObjectInputStream extends ObjectInputStream {
+
+        private ClassLoaderAwareObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws ClassNotFoundException {
+            return Resources.classForName(desc.getName());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.hashmap27.sample.component.mybatis.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * 노드간 캐시 무효화 설정 (sample.mybatis.cache.invalidation)
+ */
+@Getter
+@Setter
+public class CacheInvalidationProperties {
+
+    /** 사용 여부 */
+    private boolean enabled = false;
+
+    /** LISTEN / NOTIFY 채널명 */
+    private String channel = "query_cache_invalidation";
+
+    /** 알림 대기 주기 */
+    private Duration pollTimeout = Duration.ofMillis(500);
+
+    /** 재접속 최대 대기 시간 */
+    private Duration maxReconnectDelay = Duration.ofSeconds(30);
+}
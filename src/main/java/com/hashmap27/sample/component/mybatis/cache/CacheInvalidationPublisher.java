@@ -0,0 +1,17 @@
+package com.hashmap27.sample.component.mybatis.cache;
+
+import java.sql.Connection;
+import java.util.Set;
+
+/**
+ * 다른 노드로 캐시 무효화 대상 테이블을 전파
+ */
+public interface CacheInvalidationPublisher {
+
+    /**
+     * 무효화 전파
+     * @param connection 쓰기를 실행한 커넥션 (트랜잭션 중이면 커밋 시점에 전달됨)
+     * @param tables 변경된 테이블명
+     */
+    void publish(Connection connection, Set<String> tables);
+}
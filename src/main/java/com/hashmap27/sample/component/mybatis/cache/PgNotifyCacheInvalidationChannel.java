@@ -0,0 +1,164 @@
+package com.hashmap27.sample.component.mybatis.cache;
+
+import com.zaxxer.hikari.HikariConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * PostgreSQL LISTEN / NOTIFY 기반 노드간 캐시 무효화 채널
+ *  - 쓰기 커넥션에서 pg_notify 를 실행하므로 트랜잭션이 커밋될 때만 다른 노드로 전달된다.
+ *  - 수신은 ReadWrite Pool 설정으로 만든 전용 커넥션(Pool 외부) 하나가 LISTEN 한다.
+ *  - 재접속 시에는 끊긴 동안의 알림을 받을 수 없으므로 로컬 캐시를 모두 비운다.
+ *  - sample.mybatis.cache.invalidation.enabled=true 일 때만 Bean 으로 등록한다. (MybatisReadWrite)
+ *
+ * payload: {nodeId}|{table1},{table2}... (8000 byte 초과 시 전체 무효화 '*')
+ */
+@Slf4j
+public class PgNotifyCacheInvalidationChannel implements CacheInvalidationPublisher, InitializingBean, DisposableBean {
+
+    private static final String ALL_TABLES = "*";
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final HikariConfig hikariConfig;
+    private final CacheInvalidationProperties properties;
+    private final String nodeId;
+
+    private volatile boolean running = false;
+    private Thread listenerThread;
+
+    /**
+     * 생성자
+     * @param hikariConfig 전용 LISTEN 커넥션을 만들 ReadWrite Pool 설정
+     * @param properties 무효화 채널 설정
+     */
+    public PgNotifyCacheInvalidationChannel(HikariConfig hikariConfig, CacheInvalidationProperties properties) {
+        this.hikariConfig = hikariConfig;
+        this.properties = properties;
+        this.nodeId = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Override
+    public void publish(Connection connection, Set<String> tables) {
+        if (!properties.isEnabled() || tables.isEmpty()) {
+            return;
+        }
+        String payload = nodeId + "|" + String.join(",", tables);
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            payload = nodeId + "|" + ALL_TABLES;
+        }
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            ps.setString(1, properties.getChannel());
+            ps.setString(2, payload);
+            ps.execute();
+        } catch (SQLException e) {
+            log.warn("cache invalidation publish FAILED. tables: {} - {} - {}", tables, e.getClass().getName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        log.info("## {} started. channel: {}, nodeId: {}", getClass().getSimpleName(), properties.getChannel(), nodeId);
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    /** 전용 커넥션으로 LISTEN 하며 알림 수신. 오류 시 지수 backoff 로 재접속 */
+    private void listenLoop() {
+        long reconnectDelay = 500L;
+        boolean disconnected = false;
+        while (running) {
+            try (Connection connection = openConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN \"" + properties.getChannel().replace("\"", "") + "\"");
+                }
+                if (disconnected) {
+                    // 끊긴 동안의 알림 유실 대비
+                    QueryCacheRegistry.invalidateAll();
+                    disconnected = false;
+                }
+                reconnectDelay = 500L;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                int timeout = (int) properties.getPollTimeout().toMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(timeout);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            onNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                disconnected = true;
+                log.warn("cache invalidation listener FAILED. retry after {}ms - {} - {}", reconnectDelay, e.getClass().getName(), e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                reconnectDelay = Math.min(reconnectDelay * 2, properties.getMaxReconnectDelay().toMillis());
+            }
+        }
+    }
+
+    /** 다른 노드의 무효화 알림 처리 (자기 자신이 보낸 알림은 이미 로컬에서 처리됨) */
+    void onNotification(String payload) {
+        int separator = payload == null ? -1 : payload.indexOf('|');
+        if (separator < 0 || nodeId.equals(payload.substring(0, separator))) {
+            return;
+        }
+        String tables = payload.substring(separator + 1);
+        if (ALL_TABLES.equals(tables)) {
+            QueryCacheRegistry.invalidateAll();
+        } else {
+            QueryCacheRegistry.invalidateTables(new HashSet<>(Arrays.asList(tables.split(","))));
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        Properties connectionProperties = new Properties();
+        connectionProperties.putAll(hikariConfig.getDataSourceProperties());
+        if (hikariConfig.getUsername() != null) {
+            connectionProperties.setProperty("user", hikariConfig.getUsername());
+        }
+        if (hikariConfig.getPassword() != null) {
+            connectionProperties.setProperty("password", hikariConfig.getPassword());
+        }
+        Connection connection = DriverManager.getConnection(hikariConfig.getJdbcUrl(), connectionProperties);
+        connection.setAutoCommit(true);
+        return connection;
+    }
+}
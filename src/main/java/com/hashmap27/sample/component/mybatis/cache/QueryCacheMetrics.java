@@ -0,0 +1,50 @@
+package com.hashmap27.sample.component.mybatis.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * BoundedQueryCache 통계를 Micrometer 로 노출 (/actuator/metrics/mybatis.cache.*)
+ *  - Cache 는 SqlSessionFactory 생성 시 만들어지므로 모든 Singleton 생성 후 등록한다.
+ *  - 컨텍스트 종료 시 QueryCacheRegistry 에서 등록을 해제한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class QueryCacheMetrics implements SmartInitializingSingleton, DisposableBean {
+
+    private final MeterRegistry meterRegistry;
+    /** 등록한 Cache (종료 시 등록 해제) */
+    private List<BoundedQueryCache> caches = List.of();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        caches = QueryCacheRegistry.getCaches();
+        for (BoundedQueryCache cache : caches) {
+            Tags tags = Tags.of("cache", cache.getId());
+            FunctionCounter.builder("mybatis.cache.requests", cache, BoundedQueryCache::getHitCount).tags(tags).tag("result", "hit").register(meterRegistry);
+            FunctionCounter.builder("mybatis.cache.requests", cache, BoundedQueryCache::getMissCount).tags(tags).tag("result", "miss").register(meterRegistry);
+            FunctionCounter.builder("mybatis.cache.evictions", cache, BoundedQueryCache::getSizeEvictionCount).tags(tags).tag("cause", "size").register(meterRegistry);
+            FunctionCounter.builder("mybatis.cache.evictions", cache, BoundedQueryCache::getExpirationCount).tags(tags).tag("cause", "expired").register(meterRegistry);
+            FunctionCounter.builder("mybatis.cache.rejections", cache, BoundedQueryCache::getRejectionCount).tags(tags).register(meterRegistry);
+            FunctionCounter.builder("mybatis.cache.suppressions", cache, BoundedQueryCache::getSuppressionCount).tags(tags).register(meterRegistry);
+            Gauge.builder("mybatis.cache.size", cache, BoundedQueryCache::getSize).tags(tags).register(meterRegistry);
+            Gauge.builder("mybatis.cache.weight", cache, BoundedQueryCache::getWeight).tags(tags).baseUnit("bytes").register(meterRegistry);
+        }
+        log.info("## {} registered. caches: {}", getClass().getSimpleName(), caches.size());
+    }
+
+    @Override
+    public void destroy() {
+        QueryCacheRegistry.unregister(caches);
+    }
+}
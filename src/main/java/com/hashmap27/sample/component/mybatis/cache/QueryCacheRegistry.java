@@ -0,0 +1,99 @@
+package com.hashmap27.sample.component.mybatis.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * BoundedQueryCache 등록소
+ *  - MyBatis 가 직접 생성하는 Cache 인스턴스를 테이블 기준 무효화와 Metric 에서 참조하기 위해 보관한다.
+ *  - 컨텍스트 종료 시 QueryCacheMetrics 가 등록을 해제한다. (static 이므로 재시작 / 테스트 컨텍스트에 이전 Cache 가 남지 않도록)
+ */
+@Slf4j
+public class QueryCacheRegistry {
+
+    private static final List<BoundedQueryCache> CACHES = new CopyOnWriteArrayList<>();
+    private static final List<TableInvalidationListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /** Replica 복제 지연 허용치(ms). 무효화 후 이 시간 동안은 다시 캐시하지 않는다. */
+    private static volatile long replicaLagMillis = 5_000L;
+
+    private QueryCacheRegistry() { /* DO NOTHING */ }
+
+    /** Cache 등록 (BoundedQueryCache 생성 시 호출) */
+    static void register(BoundedQueryCache cache) {
+        CACHES.add(cache);
+    }
+
+    /** Cache 등록 해제 */
+    public static void unregister(Collection<BoundedQueryCache> caches) {
+        CACHES.removeAll(caches);
+    }
+
+    /** 테이블 변경 알림 대상 등록 (CachedCountStrategy 등) */
+    public static void addListener(TableInvalidationListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /** 테이블 변경 알림 대상 등록 해제 */
+    public static void removeListener(TableInvalidationListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * Replica 복제 지연 허용치 지정 (Replica 라우팅 설정 시 maxLag + checkInterval)
+     *  - BoundedQueryCache 에 replicaLag 를 지정하지 않으면 이 값을 사용한다.
+     */
+    public static void setReplicaLag(Duration replicaLag) {
+        replicaLagMillis = replicaLag.toMillis();
+    }
+
+    static long getReplicaLagMillis() {
+        return replicaLagMillis;
+    }
+
+    /** 등록된 Cache 목록 */
+    public static List<BoundedQueryCache> getCaches() {
+        return new ArrayList<>(CACHES);
+    }
+
+    /**
+     * 주어진 테이블을 조회하는 Cache 를 모두 비운다. (등록된 TableInvalidationListener 에도 전달)
+     * @param tables 변경된 테이블명 (schema 제외, 소문자)
+     * @return 비운 Cache 수
+     */
+    public static int invalidateTables(Collection<String> tables) {
+        if (tables == null || tables.isEmpty()) {
+            return 0;
+        }
+        int invalidated = 0;
+        for (BoundedQueryCache cache : CACHES) {
+            if (cache.dependsOnAny(tables)) {
+                cache.clear();
+                invalidated++;
+            }
+        }
+        for (TableInvalidationListener listener : LISTENERS) {
+            listener.invalidateTables(tables);
+        }
+        if (invalidated > 0) {
+            log.debug("query cache invalidated. tables: {}, caches: {}", tables, invalidated);
+        }
+        return invalidated;
+    }
+
+    /** 모든 Cache 를 비운다. (무효화 알림 유실 가능성이 있을 때) */
+    public static void invalidateAll() {
+        for (BoundedQueryCache cache : CACHES) {
+            cache.clear();
+        }
+        for (TableInvalidationListener listener : LISTENERS) {
+            listener.invalidateAll();
+        }
+        log.debug("query cache invalidated. all caches: {}", CACHES.size());
+    }
+}
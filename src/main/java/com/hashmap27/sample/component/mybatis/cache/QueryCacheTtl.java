@@ -0,0 +1,18 @@
+package com.hashmap27.sample.component.mybatis.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mapper 메소드(Statement) 별 BoundedQueryCache 유지 시간
+ *  - XML 의 statementTtls 설정보다 우선한다.
+ *  - 값 형식: 10s, 5m, 1h, PT10M 또는 ms 단위 숫자
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface QueryCacheTtl {
+
+    String value();
+}
@@ -0,0 +1,149 @@
+package com.hashmap27.sample.component.mybatis.cache;
+
+import com.hashmap27.sample.component.mybatis.BoundSqlUtil;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.scripting.defaults.RawSqlSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 쓰기 Mapper 실행 시 변경된 테이블을 조회하는 BoundedQueryCache 를 무효화
+ *  - ReadWrite / Routing SqlSessionFactory 에 등록한다.
+ *  - 실행 직후 한번, 트랜잭션 중이면 커밋 후 한번 더 무효화하여 커밋 전 값이 다시 캐시되는 것을 막는다.
+ *  - publisher 가 있으면 다른 노드로 전파한다. 트랜잭션 중에는 테이블을 모아서 커밋 직전에 한번만 전파한다.
+ *  - 트랜잭션이 없으면 SqlSession commit 시점에 전파한다. (BATCH Executor 는 flushStatements 전까지 쓰기가 실행되지 않으므로 flush 후 전파)
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "commit", args = {boolean.class}),
+        @Signature(type = Executor.class, method = "rollback", args = {boolean.class}),
+        @Signature(type = Executor.class, method = "close", args = {boolean.class})
+})
+public class TableInvalidationInterceptor implements Interceptor {
+
+    private final CacheInvalidationPublisher publisher;
+    /** 정적 SQL Statement 의 변경 테이블 (Batch 쓰기처럼 같은 Statement 가 반복될 때 SQL 파싱 생략) */
+    private final Map<String, Set<String>> staticStatementTables = new ConcurrentHashMap<>();
+    /** 트랜잭션 없이 실행한 쓰기의 변경 테이블 (Executor 별, commit 시 전파) */
+    private final Map<Executor, Set<String>> uncommittedTables = new ConcurrentHashMap<>();
+
+    public TableInvalidationInterceptor() {
+        this(null);
+    }
+
+    /**
+     * 생성자
+     * @param publisher 노드간 무효화 전파 (없으면 null)
+     */
+    public TableInvalidationInterceptor(CacheInvalidationPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        String method = invocation.getMethod().getName();
+        if ("commit".equals(method)) {
+            return commit(invocation);
+        }
+        if (!"update".equals(method)) {
+            // rollback, close: 커밋되지 않은 쓰기는 전파하지 않는다.
+            uncommittedTables.remove((Executor) invocation.getTarget());
+            return invocation.proceed();
+        }
+        Object result = invocation.proceed();
+
+        MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+        Set<String> tables = extractWriteTables(mappedStatement, invocation.getArgs()[1]);
+        if (tables.isEmpty()) {
+            return result;
+        }
+
+        QueryCacheRegistry.invalidateTables(tables);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Connection connection = (publisher == null) ? null : ((Executor) invocation.getTarget()).getTransaction().getConnection();
+            // 트랜잭션(커넥션) 단위로 테이블을 모아서 커밋 시점에 처리
+            List<Object> resourceKey = Arrays.asList(this, connection);
+            PendingInvalidation pending = (PendingInvalidation) TransactionSynchronizationManager.getResource(resourceKey);
+            if (pending == null) {
+                pending = new PendingInvalidation(resourceKey, connection);
+                TransactionSynchronizationManager.bindResource(resourceKey, pending);
+                TransactionSynchronizationManager.registerSynchronization(pending);
+            }
+            pending.tables.addAll(tables);
+        } else {
+            uncommittedTables.computeIfAbsent((Executor) invocation.getTarget(), executor -> new LinkedHashSet<>()).addAll(tables);
+        }
+        return result;
+    }
+
+    /** 트랜잭션 없는 SqlSession commit: 쓰기를 flush 한 뒤 전파하고, 커밋 후 로컬 캐시를 한번 더 비운다. */
+    private Object commit(Invocation invocation) throws Throwable {
+        Executor executor = (Executor) invocation.getTarget();
+        Set<String> tables = uncommittedTables.remove(executor);
+        if (tables == null) {
+            return invocation.proceed();
+        }
+        if (publisher != null) {
+            // NOTIFY 가 쓰기보다 먼저 실행되지 않도록 (BATCH)
+            executor.flushStatements();
+            publisher.publish(executor.getTransaction().getConnection(), tables);
+        }
+        Object result = invocation.proceed();
+        QueryCacheRegistry.invalidateTables(tables);
+        return result;
+    }
+
+    /** 변경 대상 테이블 (동적 SQL 이 아니면 Statement 별로 한번만 추출) */
+    private Set<String> extractWriteTables(MappedStatement mappedStatement, Object parameter) {
+        if (!(mappedStatement.getSqlSource() instanceof RawSqlSource || mappedStatement.getSqlSource() instanceof StaticSqlSource)) {
+            return BoundSqlUtil.extractWriteTables(mappedStatement.getBoundSql(parameter).getSql());
+        }
+        return staticStatementTables.computeIfAbsent(mappedStatement.getId(),
+                id -> Collections.unmodifiableSet(BoundSqlUtil.extractWriteTables(mappedStatement.getBoundSql(parameter).getSql())));
+    }
+
+    /** 트랜잭션 중 변경된 테이블 */
+    private class PendingInvalidation implements TransactionSynchronization {
+        private final Object resourceKey;
+        private final Connection connection;
+        private final Set<String> tables = new LinkedHashSet<>();
+
+        private PendingInvalidation(Object resourceKey, Connection connection) {
+            this.resourceKey = resourceKey;
+            this.connection = connection;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // NOTIFY 는 트랜잭션에 포함되어 커밋될 때 전달된다.
+            if (publisher != null) {
+                publisher.publish(connection, tables);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            QueryCacheRegistry.invalidateTables(tables);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.hashmap27.sample.component.mybatis.cache;
+
+import java.util.Collection;
+
+/**
+ * 테이블 변경 알림을 받는 캐시 (BoundedQueryCache 외)
+ *  - QueryCacheRegistry.addListener 로 등록하면 로컬 쓰기와 다른 노드의 무효화 알림을 BoundedQueryCache 와 함께 받는다.
+ */
+public interface TableInvalidationListener {
+
+    /**
+     * 변경된 테이블을 조회한 항목 제거
+     * @param tables 변경된 테이블명 (schema 제외, 소문자)
+     */
+    void invalidateTables(Collection<String> tables);
+
+    /** 모든 항목 제거 (무효화 알림 유실 가능성이 있을 때) */
+    void invalidateAll();
+}
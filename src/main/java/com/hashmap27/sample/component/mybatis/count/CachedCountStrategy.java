@@ -0,0 +1,135 @@
+package com.hashmap27.sample.component.mybatis.count;
+
+import com.hashmap27.sample.component.mybatis.BoundSqlUtil;
+import com.hashmap27.sample.component.mybatis.cache.TableInvalidationListener;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * count 결과를 정규화된 SQL + 바인딩 파라미터 기준으로 TTL 동안 캐시하는 전략
+ *  - 목록 화면의 페이지 이동 시 동일한 count 쿼리가 반복 실행되는 것을 막는다.
+ *  - TTL 동안은 실제 건수와 차이가 날 수 있으므로 정확성이 필요한 곳에서는 EXACT 를 사용한다.
+ *  - 최대 건수를 넘으면 가장 오래 사용하지 않은 항목부터 제거한다. (LRU)
+ *  - count 쿼리가 조회하는 테이블에 쓰기가 있으면 해당 항목을 제거한다. (CountService 가 QueryCacheRegistry 에 등록)
+ */
+public class CachedCountStrategy implements CountStrategy, TableInvalidationListener {
+
+    private final CountStrategy delegate;
+    private final Configuration configuration;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CachedCount> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 생성자
+     * @param delegate 캐시 미스 시 실제 건수를 조회할 전략
+     * @param configuration count 쿼리가 등록된 MyBatis Configuration
+     * @param ttl 캐시 유지 시간
+     * @param maxEntries 최대 캐시 건수
+     */
+    public CachedCountStrategy(CountStrategy delegate, Configuration configuration, Duration ttl, int maxEntries) {
+        this.delegate = delegate;
+        this.configuration = configuration;
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public long count(String statementId, Object parameter) {
+        MappedStatement mappedStatement = configuration.getMappedStatement(statementId);
+        BoundSql boundSql = mappedStatement.getBoundSql(parameter);
+        String cacheKey = BoundSqlUtil.normalizeSql(boundSql.getSql()) + "|" + BoundSqlUtil.getParameterValues(configuration, boundSql, parameter);
+        CachedCount cached = get(cacheKey);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            return cached.count;
+        }
+
+        // 조회는 잠금 밖에서 실행 (같은 key 가 동시에 미스되면 각각 조회)
+        long count = delegate.count(statementId, parameter);
+        put(cacheKey, new CachedCount(count, System.currentTimeMillis() + ttlMillis, BoundSqlUtil.extractReadTables(boundSql.getSql())));
+        return count;
+    }
+
+    @Override
+    public void invalidateTables(Collection<String> tables) {
+        lock.lock();
+        try {
+            cache.values().removeIf(cached -> !Collections.disjoint(cached.tables, tables));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        evictAll();
+    }
+
+    /** 캐시 전체 삭제 */
+    public void evictAll() {
+        lock.lock();
+        try {
+            cache.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 캐시 건수 */
+    public int size() {
+        lock.lock();
+        try {
+            return cache.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CachedCount get(String cacheKey) {
+        lock.lock();
+        try {
+            return cache.get(cacheKey);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(String cacheKey, CachedCount cachedCount) {
+        lock.lock();
+        try {
+            cache.put(cacheKey, cachedCount);
+            // 가장 오래 사용하지 않은 항목부터 제거
+            Iterator<CachedCount> iterator = cache.values().iterator();
+            while (cache.size() > maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class CachedCount {
+        private final long count;
+        private final long expiresAt;
+        /** count 쿼리가 조회하는 테이블 */
+        private final Set<String> tables;
+
+        private CachedCount(long count, long expiresAt, Set<String> tables) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+            this.tables = tables;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.hashmap27.sample.component.mybatis.count;
+
+/**
+ * 전체 건수(Total Count) 조회 방식
+ */
+public enum CountMode {
+
+    EXACT,          /* count 쿼리를 매번 실행 */
+    CACHED,         /* 정규화된 SQL + 파라미터 기준으로 TTL 동안 캐시 */
+    ESTIMATED       /* PostgreSQL 실행계획의 예상 행 수 사용 (임계치 미만이면 EXACT) */
+}
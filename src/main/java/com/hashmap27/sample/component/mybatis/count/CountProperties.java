@@ -0,0 +1,34 @@
+package com.hashmap27.sample.component.mybatis.count;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * 전체 건수 조회 설정 (sample.mybatis.count)
+ */
+@Getter
+@Setter
+@ToString
+public class CountProperties {
+
+    /** 기본 조회 방식 */
+    private CountMode defaultMode = CountMode.EXACT;
+
+    /** CACHED: 캐시 유지 시간 */
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    /** CACHED: 최대 캐시 건수 */
+    private int cacheMaxEntries = 10_000;
+
+    /** ESTIMATED: 예상 건수가 이 값 미만이면 정확한 건수를 조회 */
+    private long estimateExactThreshold = 100_000L;
+
+    /** 비동기 count 실행 스레드 수 (각 스레드가 별도 커넥션을 사용) */
+    private int asyncPoolSize = 4;
+
+    /** 비동기 count 대기열 크기 (초과 시 호출 스레드에서 실행) */
+    private int asyncQueueCapacity = 100;
+}
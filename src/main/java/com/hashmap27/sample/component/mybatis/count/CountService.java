@@ -0,0 +1,149 @@
+package com.hashmap27.sample.component.mybatis.count;
+
+import com.hashmap27.sample.component.mybatis.cache.QueryCacheRegistry;
+import com.hashmap27.sample.component.mybatis.cache.TableInvalidationListener;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 목록 조회용 전체 건수 서비스
+ *  - CountMode 별 CountStrategy 를 선택하여 실행한다.
+ *  - countAsync 는 별도 스레드(= 별도 커넥션)에서 실행되므로 페이지 쿼리와 병렬로 수행할 수 있다.
+ *    (호출자의 트랜잭션에는 참여하지 않는다. 로그 추적을 위해 호출 스레드의 MDC 는 이어받는다.)
+ *  - 캐시하는 전략(CACHED)은 QueryCacheRegistry 에 등록하여 테이블 쓰기 시 무효화한다.
+ *
+ * <pre>
+ *  CompletableFuture&lt;Long&gt; totalRows = countService.countAsync(FooMapper.class, "selectFooCount", search);
+ *  List&lt;FooVO&gt; rows = fooMapper.selectFooList(search);
+ *  long total = totalRows.join();
+ * </pre>
+ */
+@Slf4j
+public class CountService implements InitializingBean, DisposableBean {
+
+    private final Map<CountMode, CountStrategy> strategies;
+    private final CountMode defaultMode;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 생성자
+     * @param strategies CountMode 별 전략
+     * @param properties 건수 조회 설정
+     */
+    public CountService(Map<CountMode, CountStrategy> strategies, CountProperties properties) {
+        this.strategies = new EnumMap<>(strategies);
+        this.defaultMode = properties.getDefaultMode();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getAsyncPoolSize(), properties.getAsyncPoolSize(), 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getAsyncQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mybatis-count-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /** 기본 방식으로 전체 건수 조회 */
+    public long count(String statementId, Object parameter) {
+        return count(statementId, parameter, defaultMode);
+    }
+
+    /** Mapper 메소드 기준으로 전체 건수 조회 */
+    public long count(Class<?> mapperType, String methodName, Object parameter, CountMode mode) {
+        return count(mapperType.getName() + "." + methodName, parameter, mode);
+    }
+
+    /**
+     * 전체 건수 조회
+     * @param statementId count 쿼리 Statement ID
+     * @param parameter count 쿼리 파라미터
+     * @param mode 조회 방식
+     * @return 전체 건수
+     */
+    public long count(String statementId, Object parameter, CountMode mode) {
+        CountStrategy strategy = strategies.get(mode == null ? defaultMode : mode);
+        if (strategy == null) {
+            throw new IllegalArgumentException("CountStrategy not registered. mode: " + mode);
+        }
+        return strategy.count(statementId, parameter);
+    }
+
+    /** 기본 방식으로 전체 건수를 별도 커넥션에서 비동기 조회 */
+    public CompletableFuture<Long> countAsync(Class<?> mapperType, String methodName, Object parameter) {
+        return countAsync(mapperType.getName() + "." + methodName, parameter, defaultMode);
+    }
+
+    /**
+     * 전체 건수를 별도 커넥션에서 비동기 조회
+     * @param statementId count 쿼리 Statement ID
+     * @param parameter count 쿼리 파라미터
+     * @param mode 조회 방식
+     * @return 전체 건수 Future
+     */
+    public CompletableFuture<Long> countAsync(String statementId, Object parameter, CountMode mode) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return CompletableFuture.supplyAsync(() -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            setMdc(mdc);
+            try {
+                return count(statementId, parameter, mode);
+            } finally {
+                setMdc(previousMdc);
+            }
+        }, executor);
+    }
+
+    /**
+     * 테이블 전체 예상 행 수 (pg_class.reltuples)
+     * @param tableName 테이블명
+     * @return 예상 행 수, 통계가 없으면 -1
+     */
+    public long estimateTableRows(String tableName) {
+        CountStrategy strategy = strategies.get(CountMode.ESTIMATED);
+        if (strategy instanceof EstimatedCountStrategy) {
+            return ((EstimatedCountStrategy) strategy).estimateTableRows(tableName);
+        }
+        return -1L;
+    }
+
+    private static void setMdc(Map<String, String> contextMap) {
+        if (contextMap == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(contextMap);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        for (CountStrategy strategy : strategies.values()) {
+            if (strategy instanceof TableInvalidationListener) {
+                QueryCacheRegistry.addListener((TableInvalidationListener) strategy);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (CountStrategy strategy : strategies.values()) {
+            if (strategy instanceof TableInvalidationListener) {
+                QueryCacheRegistry.removeListener((TableInvalidationListener) strategy);
+            }
+        }
+        executor.shutdownNow();
+    }
+}
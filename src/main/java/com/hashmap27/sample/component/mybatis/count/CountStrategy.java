@@ -0,0 +1,16 @@
+package com.hashmap27.sample.component.mybatis.count;
+
+/**
+ * 전체 건수 조회 전략
+ *  - statementId 는 CommonSql.xml 의 commonCountHeader / commonCountFooter 로 감싼 count 쿼리의 Mapped Statement ID
+ */
+public interface CountStrategy {
+
+    /**
+     * 전체 건수 조회
+     * @param statementId count 쿼리 Statement ID (namespace.id)
+     * @param parameter count 쿼리 파라미터
+     * @return 전체 건수
+     */
+    long count(String statementId, Object parameter);
+}
@@ -0,0 +1,108 @@
+package com.hashmap27.sample.component.mybatis.count;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * PostgreSQL 실행계획(EXPLAIN)의 예상 행 수를 전체 건수로 사용하는 전략
+ *  - 대용량 테이블에서 count 쿼리 대신 planner 통계로 즉시 응답한다. (ANALYZE 주기에 따라 오차가 있음)
+ *  - 예상 행 수가 exactThreshold 미만이면 정확한 건수가 싸므로 delegate 로 실제 건수를 조회한다.
+ */
+@Slf4j
+public class EstimatedCountStrategy implements CountStrategy {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final CountStrategy delegate;
+    private final Configuration configuration;
+    private final DataSource dataSource;
+    private final long exactThreshold;
+
+    /**
+     * 생성자
+     * @param delegate 예상 건수가 임계치 미만일 때 사용할 전략
+     * @param configuration count 쿼리가 등록된 MyBatis Configuration
+     * @param dataSource EXPLAIN 을 실행할 DataSource
+     * @param exactThreshold 이 건수 미만이면 정확한 건수를 조회
+     */
+    public EstimatedCountStrategy(CountStrategy delegate, Configuration configuration, DataSource dataSource, long exactThreshold) {
+        this.delegate = delegate;
+        this.configuration = configuration;
+        this.dataSource = dataSource;
+        this.exactThreshold = exactThreshold;
+    }
+
+    @Override
+    public long count(String statementId, Object parameter) {
+        long estimated = estimate(statementId, parameter);
+        if (estimated < 0 || estimated < exactThreshold) {
+            return delegate.count(statementId, parameter);
+        }
+        return estimated;
+    }
+
+    /**
+     * count 쿼리의 예상 행 수 조회
+     * @return 예상 행 수, 실패 시 -1
+     */
+    public long estimate(String statementId, Object parameter) {
+        MappedStatement mappedStatement = configuration.getMappedStatement(statementId);
+        BoundSql boundSql = mappedStatement.getBoundSql(parameter);
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + boundSql.getSql())) {
+            new DefaultParameterHandler(mappedStatement, parameter, boundSql).setParameters(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? planRows(OBJECT_MAPPER.readTree(rs.getString(1))) : -1L;
+            }
+        } catch (Exception e) {
+            log.warn("estimate count FAILED. statementId: {} - {} - {}", statementId, e.getClass().getName(), e.getMessage());
+            return -1L;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * 테이블 전체 예상 행 수 (pg_class.reltuples)
+     * @param tableName 테이블명 (schema.table 가능)
+     * @return 예상 행 수, 통계가 없으면 -1
+     */
+    public long estimateTableRows(String tableName) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement ps = connection.prepareStatement("SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)")) {
+            ps.setString(1, tableName);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : -1L;
+            }
+        } catch (SQLException e) {
+            log.warn("estimate table rows FAILED. tableName: {} - {} - {}", tableName, e.getClass().getName(), e.getMessage());
+            return -1L;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * 실행계획에서 예상 행 수 추출
+     *  - count 쿼리는 최상위가 Aggregate(1 row) 이므로 그 하위 노드의 Plan Rows 를 사용한다.
+     */
+    private long planRows(JsonNode explain) {
+        JsonNode plan = explain.path(0).path("Plan");
+        if ("Aggregate".equals(plan.path("Node Type").asText()) && plan.path("Plans").size() > 0) {
+            plan = plan.path("Plans").path(0);
+        }
+        return plan.path("Plan Rows").asLong(-1L);
+    }
+}
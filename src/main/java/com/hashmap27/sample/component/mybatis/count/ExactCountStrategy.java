@@ -0,0 +1,19 @@
+package com.hashmap27.sample.component.mybatis.count;
+
+import lombok.RequiredArgsConstructor;
+import org.mybatis.spring.SqlSessionTemplate;
+
+/**
+ * count 쿼리를 그대로 실행하는 전략
+ */
+@RequiredArgsConstructor
+public class ExactCountStrategy implements CountStrategy {
+
+    private final SqlSessionTemplate sqlSessionTemplate;
+
+    @Override
+    public long count(String statementId, Object parameter) {
+        Number count = sqlSessionTemplate.selectOne(statementId, parameter);
+        return count == null ? 0L : count.longValue();
+    }
+}
@@ -0,0 +1,238 @@
+package com.hashmap27.sample.component.mybatis.loader;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 요청 단위 일괄 조회 (DataLoader 방식)
+ *  - load(key) 는 key 만 모아두고, 반환값의 get() 이 처음 호출될 때 모인 key 를 한 번에 조회한다.
+ *  - 조회 결과(없는 key 포함)는 요청이 끝날 때까지 재사용한다. (Request Attribute)
+ *  - HTTP 요청 밖에서는 재사용 없이 호출마다 조회한다.
+ *  - 지표: mybatis.loader.keys (loader, result=hit / loaded), mybatis.loader.batch.size (loader)
+ *
+ * <pre>
+ *  List&lt;Supplier&lt;SampleRowVO&gt;&gt; rows = new ArrayList&lt;&gt;();
+ *  for (Long id : ids) {
+ *      rows.add(sampleRowLoader.load(id));          // 조회하지 않음
+ *  }
+ *  rows.get(0).get();                                // 모인 key 를 한 번에 조회
+ * </pre>
+ */
+@Slf4j
+public class BatchLoader<K, V> {
+
+    private static final String STATE_ATTRIBUTE_PREFIX = BatchLoader.class.getName() + ".";
+    private static final ReentrantLock STATE_CREATION_LOCK = new ReentrantLock();
+
+    private final String name;
+    private final Function<List<K>, ? extends Collection<V>> loadFunction;
+    private final Function<V, K> keyFunction;
+    private final int maxBatchSize;
+
+    private final Counter hitCounter;
+    private final Counter loadedCounter;
+    private final DistributionSummary batchSize;
+
+    BatchLoader(String name, Function<List<K>, ? extends Collection<V>> loadFunction, Function<V, K> keyFunction, int maxBatchSize, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.loadFunction = loadFunction;
+        this.keyFunction = keyFunction;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.hitCounter = Counter.builder("mybatis.loader.keys").tag("loader", name).tag("result", "hit").register(meterRegistry);
+        this.loadedCounter = Counter.builder("mybatis.loader.keys").tag("loader", name).tag("result", "loaded").register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("mybatis.loader.batch.size").tag("loader", name).register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 조회 예약
+     * @param key 조회 key
+     * @return get() 시 결과 (없으면 null)
+     */
+    public Supplier<V> load(K key) {
+        State<K, V> state = state();
+        state.lock.lock();
+        try {
+            reserve(state, key);
+        } finally {
+            state.lock.unlock();
+        }
+        return () -> state.get(key, this);
+    }
+
+    /**
+     * 여러 key 즉시 조회 (예약된 key 도 함께 조회)
+     * @return key 별 결과 (없는 key 는 포함하지 않음)
+     */
+    public Map<K, V> loadMany(Collection<K> keys) {
+        State<K, V> state = state();
+        Map<K, V> result = new LinkedHashMap<>();
+        state.lock.lock();
+        try {
+            for (K key : keys) {
+                reserve(state, key);
+            }
+            dispatch(state);
+            for (K key : keys) {
+                V value = state.values.get(key);
+                if (value != null) {
+                    result.put(key, value);
+                }
+            }
+        } finally {
+            state.lock.unlock();
+        }
+        return result;
+    }
+
+    /** 이미 조회한 값을 등록 (다른 조회 결과에 포함된 경우) */
+    public void prime(K key, V value) {
+        State<K, V> state = state();
+        state.lock.lock();
+        try {
+            state.values.putIfAbsent(key, value);
+            state.pending.remove(key);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /** 현재 요청의 통계 (HTTP 요청 밖이면 빈 통계) */
+    public Statistics getRequestStatistics() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        Object state = (requestAttributes == null) ? null : requestAttributes.getAttribute(STATE_ATTRIBUTE_PREFIX + name, RequestAttributes.SCOPE_REQUEST);
+        return (state == null) ? new Statistics() : ((State<?, ?>) state).statistics.copy();
+    }
+
+    /** 조회 예약. 이미 조회했거나 예약된 key 는 재사용 (lock 보유 상태에서 호출) */
+    private void reserve(State<K, V> state, K key) {
+        state.statistics.requested++;
+        if (state.values.containsKey(key) || !state.pending.add(key)) {
+            state.statistics.hits++;
+            hitCounter.increment();
+        }
+    }
+
+    /** 예약된 key 일괄 조회 (lock 보유 상태에서 호출) */
+    private void dispatch(State<K, V> state) {
+        if (state.pending.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(state.pending);
+        state.pending.clear();
+        for (int from = 0; from < keys.size(); from += maxBatchSize) {
+            List<K> chunk = keys.subList(from, Math.min(from + maxBatchSize, keys.size()));
+            Collection<V> rows = loadFunction.apply(Collections.unmodifiableList(chunk));
+            Map<K, V> loaded = new HashMap<>();
+            if (rows != null) {
+                for (V row : rows) {
+                    loaded.put(keyFunction.apply(row), row);
+                }
+            }
+            for (K key : chunk) {
+                // 없는 key 도 null 로 기록하여 다시 조회하지 않음
+                state.values.put(key, loaded.get(key));
+            }
+            state.statistics.queries++;
+            state.statistics.loaded += chunk.size();
+            loadedCounter.increment(chunk.size());
+            batchSize.record(chunk.size());
+        }
+    }
+
+    /** 요청 단위 상태 (Request Attribute, 요청 밖이면 매번 새로 생성) */
+    @SuppressWarnings("unchecked")
+    private State<K, V> state() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return new State<>();
+        }
+        String attributeName = STATE_ATTRIBUTE_PREFIX + name;
+        State<K, V> state = (State<K, V>) requestAttributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+        if (state != null) {
+            return state;
+        }
+        // Fan-out 작업 스레드에서 동시에 처음 사용하는 경우
+        STATE_CREATION_LOCK.lock();
+        try {
+            state = (State<K, V>) requestAttributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+            if (state == null) {
+                State<K, V> created = new State<>();
+                state = created;
+                requestAttributes.setAttribute(attributeName, created, RequestAttributes.SCOPE_REQUEST);
+                requestAttributes.registerDestructionCallback(attributeName,
+                        () -> log.debug("batch loader {} request statistics: {}", name, created.statistics), RequestAttributes.SCOPE_REQUEST);
+            }
+            return state;
+        } finally {
+            STATE_CREATION_LOCK.unlock();
+        }
+    }
+
+    /** 요청 단위 상태 */
+    private static class State<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Set<K> pending = new LinkedHashSet<>();
+        private final Map<K, V> values = new HashMap<>();
+        private final Statistics statistics = new Statistics();
+
+        private V get(K key, BatchLoader<K, V> loader) {
+            lock.lock();
+            try {
+                if (!values.containsKey(key)) {
+                    // 처음 get: 예약된 key 모두 조회 (이전 조회가 실패했으면 다시 예약)
+                    pending.add(key);
+                    loader.dispatch(this);
+                }
+                return values.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** 요청 단위 통계 */
+    @Getter
+    @ToString
+    public static class Statistics {
+        /** load / loadMany 로 요청한 key 수 */
+        private long requested;
+        /** 조회 없이 재사용한 key 수 (이미 조회했거나 같은 요청에서 중복 예약) */
+        private long hits;
+        /** 조회한 key 수 */
+        private long loaded;
+        /** 실행한 조회 수 */
+        private long queries;
+
+        private Statistics copy() {
+            Statistics copy = new Statistics();
+            copy.requested = requested;
+            copy.hits = hits;
+            copy.loaded = loaded;
+            copy.queries = queries;
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.hashmap27.sample.component.mybatis.loader;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 요청 단위 일괄 조회 설정 (sample.mybatis.loader)
+ */
+@Getter
+@Setter
+@ToString
+public class BatchLoaderProperties {
+
+    /** 한 번의 조회(ANY(?))에 넣을 최대 key 수 (초과 시 나누어 조회) */
+    private int maxBatchSize = 1_000;
+}
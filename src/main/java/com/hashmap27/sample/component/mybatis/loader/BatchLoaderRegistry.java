@@ -0,0 +1,57 @@
+package com.hashmap27.sample.component.mybatis.loader;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 요청 단위 일괄 조회(BatchLoader) 등록
+ *  - Mapper 메소드마다 이름을 붙여 한 번만 등록하고, 반환된 BatchLoader 를 서비스에서 사용한다.
+ *  - Mapper 메소드는 key 목록을 받아 한 번에 조회해야 한다. (WHERE id = ANY(#{ids, typeHandler=...ArrayTypeHandler}))
+ *
+ * <pre>
+ *  sampleRowLoader = batchLoaderRegistry.register("sampleRow",
+ *          ids -&gt; commonMapper.selectSampleRowsByIds(ids.toArray(new Long[0])), SampleRowVO::getId);
+ * </pre>
+ */
+public class BatchLoaderRegistry {
+
+    private final BatchLoaderProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, BatchLoader<?, ?>> loaders = new ConcurrentHashMap<>();
+
+    /**
+     * 생성자
+     * @param properties 일괄 조회 설정
+     * @param meterRegistry 지표 등록
+     */
+    public BatchLoaderRegistry(BatchLoaderProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * BatchLoader 등록
+     * @param name 이름 (지표 태그, 요청 내 저장 key. 중복 불가)
+     * @param loadFunction key 목록 일괄 조회 (결과 순서 무관, 없는 key 는 빠져도 됨)
+     * @param keyFunction 조회 결과에서 key 추출
+     * @return 등록된 BatchLoader
+     */
+    public <K, V> BatchLoader<K, V> register(String name, Function<List<K>, ? extends Collection<V>> loadFunction, Function<V, K> keyFunction) {
+        BatchLoader<K, V> loader = new BatchLoader<>(name, loadFunction, keyFunction, properties.getMaxBatchSize(), meterRegistry);
+        if (loaders.putIfAbsent(name, loader) != null) {
+            throw new IllegalStateException("BatchLoader already registered: " + name);
+        }
+        return loader;
+    }
+
+    /** 등록된 BatchLoader (없으면 null) */
+    @SuppressWarnings("unchecked")
+    public <K, V> BatchLoader<K, V> get(String name) {
+        return (BatchLoader<K, V>) loaders.get(name);
+    }
+}
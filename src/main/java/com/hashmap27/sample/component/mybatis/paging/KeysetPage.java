@@ -0,0 +1,56 @@
+package com.hashmap27.sample.component.mybatis.paging;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset 페이징 조회 결과
+ *  - ResponseEntityCommonAdvice 에서 content 는 data 로, nextPageToken 은 ApiCommonResponse.nextPageToken 으로 풀어서 응답한다.
+ */
+@Getter
+@ToString
+public class KeysetPage<T> {
+
+    /** 페이지 데이터 */
+    private final List<T> content;
+
+    /** 다음 페이지 연속 토큰 (마지막 페이지는 null) */
+    private final String nextPageToken;
+
+    private KeysetPage(List<T> content, String nextPageToken) {
+        this.content = content;
+        this.nextPageToken = nextPageToken;
+    }
+
+    /**
+     * Mapper 조회 결과로 페이지 생성
+     * @param request 페이지 요청 객체
+     * @param rows keysetPageFooter 로 조회한 결과 (최대 size + 1 건)
+     * @param keyExtractor 행에서 정렬키 값을 sortColumns 순서대로 추출하는 함수
+     * @return 페이지 객체
+     */
+    public static <T> KeysetPage<T> of(KeysetPageRequest request, List<T> rows, Function<T, Object[]> keyExtractor) {
+        if (rows == null || rows.isEmpty()) {
+            return new KeysetPage<>(Collections.emptyList(), null);
+        }
+        if (rows.size() <= request.getSize()) {
+            return new KeysetPage<>(rows, null);
+        }
+
+        List<T> content = rows.subList(0, request.getSize());
+        Object[] lastKeyValues = keyExtractor.apply(content.get(content.size() - 1));
+        if (lastKeyValues == null || lastKeyValues.length != request.getSortColumns().size()) {
+            throw new IllegalArgumentException("keyExtractor must return " + request.getSortColumns().size() + " values.");
+        }
+        return new KeysetPage<>(content, KeysetPageToken.encode(request.getSignature(), lastKeyValues));
+    }
+
+    /** 다음 페이지 존재 여부 */
+    public boolean isHasNext() {
+        return nextPageToken != null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.hashmap27.sample.component.mybatis.paging;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Keyset 페이징 연속 토큰 설정 (sample.mybatis.paging)
+ */
+@Getter
+@Setter
+@ToString(exclude = "tokenSecret")
+public class KeysetPageProperties {
+
+    /** 토큰 HMAC 서명 키 (없으면 기동 시 임의 생성, 다중 노드는 같은 값 필수) */
+    private String tokenSecret;
+
+    /** 토큰 유효 시간 */
+    private Duration tokenTtl = Duration.ofHours(1);
+}
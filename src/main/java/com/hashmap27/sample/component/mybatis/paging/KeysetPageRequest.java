@@ -0,0 +1,127 @@
+package com.hashmap27.sample.component.mybatis.paging;
+
+import com.hashmap27.sample.component.exception.SampleBadRequestException;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Keyset(Seek) 페이징 요청 객체
+ *  - ROW_NUMBER() 방식과 달리 마지막 정렬키 이후의 n 건만 조회하므로 페이지 깊이와 관계없이 비용이 동일하다.
+ *  - Mapper 파라미터로 @Param("page") 를 사용하고 mapper/common/CommonSql.xml 의 keysetPageHeader / keysetPageFooter 로 감싼다.
+ *
+ * <pre>
+ *  List&lt;FooVO&gt; selectFooList(@Param("search") FooSearch search, @Param("page") KeysetPageRequest page);
+ *
+ *  &lt;select id="selectFooList" resultType="FooVO"&gt;
+ *      &lt;include refid="com.hashmap27.sample.repository.CommonSql.keysetPageHeader"/&gt;
+ *          SELECT id, name, created_at FROM foo WHERE ...
+ *      &lt;include refid="com.hashmap27.sample.repository.CommonSql.keysetPageFooter"/&gt;
+ *  &lt;/select&gt;
+ * </pre>
+ */
+@Getter
+@ToString
+public class KeysetPageRequest {
+
+    /** 정렬 컬럼명 허용 패턴 (${} 로 치환되므로 식별자만 허용) */
+    private static final Pattern COLUMN_PATTERN = Pattern.compile("^[A-Za-z_][A-Za-z0-9_]*$");
+
+    /** 한 페이지 최대 건수 */
+    public static final int MAX_SIZE = 1000;
+
+    /** 정렬 방향 */
+    public enum Direction {
+        ASC(">"),
+        DESC("<");
+
+        /** 다음 페이지 조회 시 사용할 비교 연산자 */
+        private final String comparator;
+
+        Direction(String comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    /** 정렬 컬럼 목록 (마지막 컬럼은 유일키여야 한다) */
+    private final List<String> sortColumns;
+
+    /** 정렬 방향 */
+    private final Direction direction;
+
+    /** 페이지 건수 */
+    private final int size;
+
+    /** 이전 페이지 마지막 행의 정렬키 값 (첫 페이지는 null) */
+    private final List<Object> lastKeyValues;
+
+    private KeysetPageRequest(List<String> sortColumns, Direction direction, int size, List<Object> lastKeyValues) {
+        this.sortColumns = sortColumns;
+        this.direction = direction;
+        this.size = size;
+        this.lastKeyValues = lastKeyValues;
+    }
+
+    /**
+     * 페이지 요청 생성
+     * @param pageToken 이전 응답의 nextPageToken (첫 페이지는 null 또는 빈 값)
+     * @param size 페이지 건수
+     * @param direction 정렬 방향
+     * @param sortColumns 정렬 컬럼 목록 (조회 결과에 포함되는 컬럼명)
+     * @return 페이지 요청 객체
+     */
+    public static KeysetPageRequest of(String pageToken, int size, Direction direction, String... sortColumns) {
+        if (sortColumns == null || sortColumns.length == 0) {
+            throw new IllegalArgumentException("sortColumns is required.");
+        }
+        for (String column : sortColumns) {
+            if (column == null || !COLUMN_PATTERN.matcher(column).matches()) {
+                throw new IllegalArgumentException("invalid sort column: " + column);
+            }
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw SampleBadRequestException.stackless("page.size.invalid", "페이지 건수가 올바르지 않습니다.", "size: " + size + ", max: " + MAX_SIZE);
+        }
+
+        List<String> columns = Collections.unmodifiableList(Arrays.asList(sortColumns));
+        Direction sortDirection = direction == null ? Direction.ASC : direction;
+        List<Object> lastKeyValues = KeysetPageToken.decode(pageToken, signature(columns, sortDirection), columns.size());
+        return new KeysetPageRequest(columns, sortDirection, size, lastKeyValues);
+    }
+
+    /**
+     * 연속 토큰 서명 키 / 유효 시간 적용
+     * @param properties 토큰 설정
+     */
+    public static void configureToken(KeysetPageProperties properties) {
+        KeysetPageToken.configure(properties.getTokenSecret(), properties.getTokenTtl());
+    }
+
+    /** 첫 페이지 요청인가? */
+    public boolean isFirstPage() {
+        return lastKeyValues == null;
+    }
+
+    /** 다음 페이지 존재 여부 확인을 위해 1건 더 조회한다. */
+    public int getFetchSize() {
+        return size + 1;
+    }
+
+    /** Keyset 조건 비교 연산자 (ASC: &gt;, DESC: &lt;) */
+    public String getComparator() {
+        return direction.comparator;
+    }
+
+    /** 정렬 정의 서명 (다른 정렬로 발급된 토큰의 재사용 방지) */
+    String getSignature() {
+        return signature(sortColumns, direction);
+    }
+
+    private static String signature(List<String> columns, Direction direction) {
+        return Integer.toHexString((String.join(",", columns) + ":" + direction.name()).hashCode());
+    }
+}
@@ -0,0 +1,223 @@
+package com.hashmap27.sample.component.mybatis.paging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hashmap27.sample.component.exception.SampleBadRequestException;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset 페이징 연속 토큰(Opaque Continuation Token) 인코더/디코더
+ *  - 마지막 행의 정렬키 값을 타입 정보와 함께 Base64(URL) 문자열로 직렬화한다.
+ *  - 타입 정보를 유지해야 PostgreSQL 에서 timestamp, numeric 컬럼과 올바르게 비교된다.
+ *  - 발급 시각을 포함하여 HMAC-SHA256 으로 서명하고, 서명이 다르거나 유효 시간이 지난 토큰은 거부한다.
+ */
+final class KeysetPageToken {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final String SIGNATURE = "s";
+    private static final String ISSUED_AT = "t";
+    private static final String KEYS = "k";
+
+    /** 서명 키 (configure 전에는 임의 생성한 키) */
+    private static volatile SecretKeySpec secretKey = randomKey();
+
+    /** 토큰 유효 시간 */
+    private static volatile Duration timeToLive = Duration.ofHours(1);
+
+    private KeysetPageToken() { /* DO NOTHING */ }
+
+    /**
+     * 서명 키 / 유효 시간 설정
+     * @param secret 서명 키 (없으면 임의 생성: 재기동 / 다른 노드에서 발급된 토큰은 거부된다.)
+     * @param ttl 토큰 유효 시간
+     */
+    static void configure(String secret, Duration ttl) {
+        secretKey = StringUtils.isEmpty(secret) ? randomKey() : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        timeToLive = ttl;
+    }
+
+    /**
+     * 정렬키 값을 토큰으로 인코딩
+     * @param signature 정렬 정의 서명
+     * @param keyValues 마지막 행의 정렬키 값
+     * @return 토큰 문자열
+     */
+    static String encode(String signature, Object[] keyValues) {
+        return encode(signature, keyValues, Instant.now());
+    }
+
+    static String encode(String signature, Object[] keyValues, Instant issuedAt) {
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        root.put(SIGNATURE, signature);
+        root.put(ISSUED_AT, issuedAt.getEpochSecond());
+        ArrayNode keys = root.putArray(KEYS);
+        for (Object value : keyValues) {
+            ArrayNode key = keys.addArray();
+            key.add(typeOf(value));
+            key.add(textOf(value));
+        }
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsBytes(root);
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            return encoder.encodeToString(json) + "." + encoder.encodeToString(sign(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("encode page token FAILED.", e);
+        }
+    }
+
+    /**
+     * 토큰을 정렬키 값 목록으로 디코딩
+     * @param token 토큰 문자열 (없으면 첫 페이지)
+     * @param signature 현재 요청의 정렬 정의 서명
+     * @param keyCount 정렬 컬럼 수
+     * @return 정렬키 값 목록, 첫 페이지는 null
+     */
+    static List<Object> decode(String token, String signature, int keyCount) {
+        return decode(token, signature, keyCount, Instant.now());
+    }
+
+    static List<Object> decode(String token, String signature, int keyCount, Instant now) {
+        if (StringUtils.isBlank(token)) {
+            return null;
+        }
+        try {
+            int separator = token.indexOf('.');
+            if (separator < 0) {
+                throw invalidToken("no hmac");
+            }
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] json = decoder.decode(token.substring(0, separator));
+            if (!MessageDigest.isEqual(sign(json), decoder.decode(token.substring(separator + 1)))) {
+                throw invalidToken("hmac mismatch");
+            }
+            JsonNode root = OBJECT_MAPPER.readTree(json);
+            Instant issuedAt = Instant.ofEpochSecond(root.path(ISSUED_AT).asLong());
+            if (issuedAt.plus(timeToLive).isBefore(now)) {
+                throw invalidToken("expired, issuedAt: " + issuedAt);
+            }
+            JsonNode keys = root.path(KEYS);
+            if (!signature.equals(root.path(SIGNATURE).asText()) || !keys.isArray() || keys.size() != keyCount) {
+                throw invalidToken("signature or key count mismatch");
+            }
+            List<Object> values = new ArrayList<>(keyCount);
+            for (JsonNode key : keys) {
+                values.add(valueOf(key.path(0).asText(), key.path(1).isNull() ? null : key.path(1).asText()));
+            }
+            return values;
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof SampleBadRequestException) {
+                throw (SampleBadRequestException) e;
+            }
+            throw invalidToken(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static byte[] sign(byte[] json) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secretKey);
+            return mac.doFinal(json);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("sign page token FAILED.", e);
+        }
+    }
+
+    private static SecretKeySpec randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    private static String typeOf(Object value) {
+        if (value == null) {
+            return "N";
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            return "L";
+        } else if (value instanceof BigDecimal || value instanceof Double || value instanceof Float) {
+            return "D";
+        } else if (value instanceof LocalDateTime) {
+            return "T";
+        } else if (value instanceof java.sql.Timestamp) {
+            return "TS";
+        } else if (value instanceof LocalDate) {
+            return "DT";
+        } else if (value instanceof OffsetDateTime) {
+            return "OT";
+        } else if (value instanceof Date) {
+            return "MS";
+        } else if (value instanceof UUID) {
+            return "U";
+        } else if (value instanceof Boolean) {
+            return "B";
+        }
+        return "S";
+    }
+
+    private static String textOf(Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Date && !(value instanceof java.sql.Timestamp)) {
+            return String.valueOf(((Date) value).getTime());
+        }
+        return value.toString();
+    }
+
+    private static Object valueOf(String type, String text) {
+        if (text == null) {
+            return null;
+        }
+        switch (type) {
+            case "L":
+                return Long.valueOf(text);
+            case "D":
+                return new BigDecimal(text);
+            case "T":
+                return LocalDateTime.parse(text);
+            case "TS":
+                return java.sql.Timestamp.valueOf(text);
+            case "DT":
+                return LocalDate.parse(text);
+            case "OT":
+                return OffsetDateTime.parse(text);
+            case "MS":
+                return new Date(Long.parseLong(text));
+            case "U":
+                return UUID.fromString(text);
+            case "B":
+                return Boolean.valueOf(text);
+            case "S":
+                return text;
+            default:
+                throw invalidToken("unknown key type: " + type);
+        }
+    }
+
+    private static SampleBadRequestException invalidToken(String debugMessage) {
+        return SampleBadRequestException.stackless("page.token.invalid", "잘못된 페이지 토큰입니다.", debugMessage);
+    }
+}
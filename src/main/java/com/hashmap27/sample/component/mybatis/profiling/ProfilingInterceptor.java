@@ -0,0 +1,260 @@
+package com.hashmap27.sample.component.mybatis.profiling;
+
+import com.hashmap27.sample.component.mybatis.BoundSqlUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis Statement 프로파일링 Plugin (ReadOnly / ReadWrite / Routing SqlSessionFactory 공용)
+ *  - Statement ID 별 실행 시간(mybatis.statement), 조회 건수(mybatis.statement.rows),
+ *    커넥션 대기 시간(mybatis.statement.connection.wait) 을 Micrometer 로 기록한다.
+ *  - 커넥션 대기 시간은 Executor 진입부터 첫 Statement 준비까지의 시간으로 근사한다. (트랜잭션 중이면 0 에 가까움)
+ *  - slowThreshold 이상 걸린 Statement 는 WARN 로그를 남기고, explainEnabled 이면 SELECT 에 한해
+ *    별도 스레드에서 EXPLAIN (ANALYZE, BUFFERS) 를 실행한다. (Statement 별 explainMinInterval 1회, 대기열 초과 시 생략)
+ */
+@Slf4j
+@Intercepts({
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class, Object.class, RowBounds.class}),
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class})
+})
+public class ProfilingInterceptor implements Interceptor, DisposableBean {
+
+    private final ProfilingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /** Statement 별 Meter */
+    private final Map<String, StatementMeters> meters = new ConcurrentHashMap<>();
+    /** Statement 별 마지막 EXPLAIN 시각 */
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+    /** 실행중인 Statement (중첩 조회 대비 stack) */
+    private final ThreadLocal<Deque<Execution>> executions = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final ThreadPoolExecutor explainExecutor;
+
+    /**
+     * 생성자
+     * @param properties 프로파일링 설정
+     * @param meterRegistry 지표 등록
+     */
+    public ProfilingInterceptor(ProfilingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(10), runnable -> {
+            Thread thread = new Thread(runnable, "mybatis-slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public ProfilingProperties getProperties() {
+        return properties;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (!properties.isEnabled()) {
+            return invocation.proceed();
+        }
+        if (invocation.getTarget() instanceof StatementHandler) {
+            recordConnectionWait();
+            return invocation.proceed();
+        }
+
+        Object[] args = invocation.getArgs();
+        MappedStatement mappedStatement = (MappedStatement) args[0];
+        StatementMeters statementMeters = metersOf(mappedStatement);
+        Execution execution = new Execution(statementMeters, System.nanoTime());
+        Deque<Execution> stack = executions.get();
+        stack.push(execution);
+
+        Object result = null;
+        Throwable error = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable t) {
+            error = t;
+            throw t;
+        } finally {
+            stack.pop();
+            long elapsed = System.nanoTime() - execution.start;
+            long rows = rowCount(mappedStatement, invocation.getMethod().getName(), result);
+            (error == null ? statementMeters.success : statementMeters.failure).record(elapsed, TimeUnit.NANOSECONDS);
+            if (rows >= 0) {
+                statementMeters.rows.record(rows);
+            }
+            if (error == null && elapsed >= properties.getSlowThreshold().toNanos()) {
+                statementMeters.slow.increment();
+                onSlowStatement(mappedStatement, args, elapsed, rows);
+            }
+        }
+    }
+
+    /** 현재 Statement 의 첫 prepare 시점까지를 커넥션 대기 시간으로 기록 */
+    private void recordConnectionWait() {
+        Execution execution = executions.get().peek();
+        if (execution != null && !execution.connectionMeasured) {
+            execution.connectionMeasured = true;
+            execution.meters.connectionWait.record(System.nanoTime() - execution.start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** 조회 건수 (select: 결과 List 크기, update: 변경 건수, 알 수 없으면 -1) */
+    private long rowCount(MappedStatement mappedStatement, String method, Object result) {
+        if ("queryCursor".equals(method)) {
+            return -1L;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Integer && mappedStatement.getSqlCommandType() != SqlCommandType.SELECT) {
+            return (Integer) result;
+        }
+        return -1L;
+    }
+
+    private void onSlowStatement(MappedStatement mappedStatement, Object[] args, long elapsedNanos, long rows) {
+        BoundSql boundSql = (args.length == 6) ? (BoundSql) args[5] : mappedStatement.getBoundSql(args[1]);
+        String sql = BoundSqlUtil.normalizeSql(boundSql.getSql());
+        log.warn("slow statement. statementId: {}, elapsed: {}ms, rows: {}, sql: {}", mappedStatement.getId(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows, sql);
+
+        if (!properties.isExplainEnabled() || mappedStatement.getSqlCommandType() != SqlCommandType.SELECT || !acquireExplainSlot(mappedStatement.getId())) {
+            return;
+        }
+        // 파라미터 객체가 이후에 변경될 수 있으므로 값은 호출 스레드에서 추출
+        List<Object> parameterValues = BoundSqlUtil.getParameterValues(mappedStatement.getConfiguration(), boundSql, args[1]);
+        DataSource dataSource = mappedStatement.getConfiguration().getEnvironment().getDataSource();
+        explainExecutor.execute(() -> explain(dataSource, mappedStatement.getId(), boundSql.getSql(), parameterValues));
+    }
+
+    /** Statement 별 explainMinInterval 에 한번만 허용 */
+    private boolean acquireExplainSlot(String statementId) {
+        long now = System.currentTimeMillis();
+        long interval = properties.getExplainMinInterval().toMillis();
+        boolean[] acquired = {false};
+        lastExplained.compute(statementId, (id, last) -> {
+            if (last == null || now - last >= interval) {
+                acquired[0] = true;
+                return now;
+            }
+            return last;
+        });
+        return acquired[0];
+    }
+
+    /** EXPLAIN (ANALYZE, BUFFERS) 실행 후 로그 (SELECT 라도 부수효과가 없도록 rollback) */
+    private void explain(DataSource dataSource, String statementId, String sql, List<Object> parameterValues) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                ps.setQueryTimeout(Math.max(1, ProfilingProperties.toQueryTimeoutSeconds(properties.getExplainTimeout())));
+                for (int i = 0; i < parameterValues.size(); i++) {
+                    Object value = parameterValues.get(i);
+                    ps.setObject(i + 1, value instanceof Enum ? ((Enum<?>) value).name() : value);
+                }
+                StringJoiner plan = new StringJoiner("\n");
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        plan.add(rs.getString(1));
+                    }
+                }
+                log.warn("slow statement plan. statementId: {}\n{}", statementId, plan);
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.warn("slow statement explain FAILED. statementId: {} - {} - {}", statementId, e.getClass().getName(), e.getMessage());
+        }
+    }
+
+    private StatementMeters metersOf(MappedStatement mappedStatement) {
+        StatementMeters statementMeters = meters.get(mappedStatement.getId());
+        if (statementMeters == null) {
+            statementMeters = meters.computeIfAbsent(mappedStatement.getId(), id -> new StatementMeters(id, mappedStatement.getSqlCommandType()));
+        }
+        return statementMeters;
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+
+    /** 실행중 Statement */
+    private static class Execution {
+        private final StatementMeters meters;
+        private final long start;
+        private boolean connectionMeasured = false;
+
+        private Execution(StatementMeters meters, long start) {
+            this.meters = meters;
+            this.start = start;
+        }
+    }
+
+    /** Statement 별 Meter */
+    private class StatementMeters {
+        private final Timer success;
+        private final Timer failure;
+        private final DistributionSummary rows;
+        private final Timer connectionWait;
+        private final Counter slow;
+
+        private StatementMeters(String statementId, SqlCommandType commandType) {
+            String command = commandType.name();
+            this.success = timer(statementId, command, "success");
+            this.failure = timer(statementId, command, "error");
+            this.rows = DistributionSummary.builder("mybatis.statement.rows")
+                    .tag("statement", statementId).tag("command", command)
+                    .register(meterRegistry);
+            this.connectionWait = Timer.builder("mybatis.statement.connection.wait")
+                    .tag("statement", statementId)
+                    .register(meterRegistry);
+            this.slow = Counter.builder("mybatis.statement.slow")
+                    .tag("statement", statementId)
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(String statementId, String command, String outcome) {
+            return Timer.builder("mybatis.statement")
+                    .tag("statement", statementId).tag("command", command).tag("outcome", outcome)
+                    .publishPercentileHistogram(properties.isPercentileHistogram())
+                    .register(meterRegistry);
+        }
+    }
+}
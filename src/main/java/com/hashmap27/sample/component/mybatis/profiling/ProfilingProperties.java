@@ -0,0 +1,54 @@
+package com.hashmap27.sample.component.mybatis.profiling;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * MyBatis Statement 프로파일링 / 기본 실행 설정 (sample.mybatis.profiling)
+ */
+@Getter
+@Setter
+@ToString
+public class ProfilingProperties {
+
+    /** Statement 별 지표 수집 / 느린 쿼리 로그 사용 여부 */
+    private boolean enabled = true;
+
+    /** 기본 fetchSize (Statement 의 fetchSize 속성이 우선) */
+    private Integer defaultFetchSize = 100;
+
+    /** 기본 Statement 제한 시간 (Statement 의 timeout 속성이 우선, 초 단위로 올림 적용, 0 이면 제한 없음) */
+    private Duration defaultStatementTimeout = Duration.ofSeconds(30);
+
+    /** 실행 시간 분포(histogram) 버킷 공개 여부 */
+    private boolean percentileHistogram = false;
+
+    /** 이 시간 이상 걸린 Statement 를 느린 쿼리로 기록 */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    /** 느린 SELECT 에 대해 EXPLAIN (ANALYZE, BUFFERS) 실행 여부 (쿼리가 한번 더 실행됨) */
+    private boolean explainEnabled = false;
+
+    /** 같은 Statement 를 다시 EXPLAIN 하기까지의 최소 간격 */
+    private Duration explainMinInterval = Duration.ofMinutes(10);
+
+    /** EXPLAIN 제한 시간 */
+    private Duration explainTimeout = Duration.ofSeconds(30);
+
+    /**
+     * JDBC queryTimeout(초) 로 변환
+     *  - 초 단위로 올림하여 1초 미만 값이 0(제한 없음)이 되지 않게 한다.
+     * @param timeout 제한 시간
+     * @return 제한 시간(초), 0 이하면 0
+     */
+    public static int toQueryTimeoutSeconds(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            return 0;
+        }
+        long seconds = timeout.getSeconds() + (timeout.getNano() > 0 ? 1 : 0);
+        return (int) Math.min(seconds, Integer.MAX_VALUE);
+    }
+}
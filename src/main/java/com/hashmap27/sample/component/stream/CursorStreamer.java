@@ -0,0 +1,121 @@
+package com.hashmap27.sample.component.stream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashmap27.sample.config.datasource.MybatisRouting;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/**
+ * MyBatis Cursor 결과를 HTTP 응답으로 스트리밍
+ *  - 조회 결과를 List 로 만들지 않고 한 행씩 JsonGenerator 로 출력하므로 건수와 무관하게 메모리 사용량이 일정하다.
+ *  - Cursor 는 세션(커넥션)이 열려 있는 동안만 읽을 수 있으므로, 응답 스레드에서 Routing readOnly 트랜잭션(Replica)을 열고 Cursor 를 연다.
+ *    (PostgreSQL 은 autocommit 이 꺼진 상태에서만 fetchSize 단위로 가져온다.)
+ *  - 응답 헤더가 이미 전송된 뒤 오류가 발생하면 상태 코드를 바꿀 수 없으므로 응답을 중단(불완전한 JSON)한다.
+ *
+ * <pre>
+ *  return cursorStreamer.json(() -&gt; fooMapper.selectFooCursor(param));   // @UseRoutingDataSource Mapper
+ * </pre>
+ */
+@Slf4j
+@Component
+public class CursorStreamer {
+
+    /** NDJSON Media Type */
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /** 이 건수마다 응답 flush */
+    private static final int FLUSH_ROWS = 500;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public CursorStreamer(final ObjectMapper objectMapper, @Qualifier(MybatisRouting.TRANSACTION_MANAGER) final PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * ApiCommonResponse 형태로 스트리밍 ({"status":200, "code":"SUCCESS", "message":..., "data":[...]})
+     * @param cursorSupplier Routing Mapper Cursor 조회 (응답 스레드의 트랜잭션 안에서 호출됨)
+     */
+    public <T> ResponseEntity<StreamingResponseBody> json(Supplier<Cursor<T>> cursorSupplier) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> stream(cursorSupplier, out, false));
+    }
+
+    /**
+     * NDJSON 으로 스트리밍 (한 줄에 한 행)
+     * @param cursorSupplier Routing Mapper Cursor 조회 (응답 스레드의 트랜잭션 안에서 호출됨)
+     */
+    public <T> ResponseEntity<StreamingResponseBody> ndjson(Supplier<Cursor<T>> cursorSupplier) {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(out -> stream(cursorSupplier, out, true));
+    }
+
+    private <T> void stream(Supplier<Cursor<T>> cursorSupplier, OutputStream out, boolean ndjson) {
+        long start = System.currentTimeMillis();
+        Long rows = transactionTemplate.execute(status -> {
+            try (Cursor<T> cursor = cursorSupplier.get();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                // 응답 스트림은 컨테이너가 닫는다.
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                if (ndjson) {
+                    generator.setRootValueSeparator(null);
+                } else {
+                    writeEnvelopeStart(generator);
+                }
+
+                long count = 0L;
+                for (T row : cursor) {
+                    generator.writeObject(row);
+                    if (ndjson) {
+                        generator.writeRaw('\n');
+                    }
+                    if (++count % FLUSH_ROWS == 0) {
+                        generator.flush();
+                    }
+                }
+
+                if (!ndjson) {
+                    generator.writeEndArray();
+                    generator.writeEndObject();
+                }
+                generator.flush();
+                return count;
+            } catch (IOException e) {
+                // 클라이언트 연결 종료 등
+                log.warn("cursor streaming FAILED. {} - {}", e.getClass().getName(), e.getMessage());
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.debug("cursor streaming completed. rows: {}, ndjson: {}, elapsed: {}ms", rows, ndjson, System.currentTimeMillis() - start);
+    }
+
+    /** ApiCommonResponse 필드 중 data 배열 시작까지 출력 */
+    private void writeEnvelopeStart(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("status", HttpStatus.OK.value());
+        generator.writeStringField("code", "SUCCESS");
+        generator.writeStringField("message", "정상적으로 처리 되었습니다.");
+        generator.writeFieldName("data");
+        generator.writeStartArray();
+    }
+}
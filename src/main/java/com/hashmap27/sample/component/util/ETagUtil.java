@@ -0,0 +1,89 @@
+package com.hashmap27.sample.component.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ETag 생성 헬퍼 객체
+ *  - 응답 객체를 직렬화하면서 바로 hash 를 계산하므로 직렬화 결과를 메모리에 올리지 않는다. (FNV-1a 64bit)
+ *  - 응답 압축 등으로 byte 가 달라질 수 있으므로 weak ETag(W/"...") 로 만든다.
+ *
+ * <pre>
+ *  // 버전 컬럼으로 변경 여부를 알 수 있으면 조회 전에 304 로 종료
+ *  &#64;GetMapping("/codes")
+ *  public List&lt;CodeVO&gt; codes(WebRequest request) {
+ *      if (request.checkNotModified(ETagUtil.version("code", codeService.getLastUpdatedAt()))) {
+ *          return null;
+ *      }
+ *      return codeService.getCodeList();
+ *  }
+ * </pre>
+ */
+@Slf4j
+public class ETagUtil {
+
+    private ETagUtil() { /* DO NOTHING */ }
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * 응답 객체의 JSON 직렬화 결과로 ETag 생성
+     * @param objectMapper 응답 직렬화에 사용하는 ObjectMapper
+     * @param body 응답 객체
+     * @return ETag (직렬화 실패 시 null)
+     */
+    public static String hash(ObjectMapper objectMapper, Object body) {
+        HashingOutputStream out = new HashingOutputStream();
+        try {
+            objectMapper.writeValue(out, body);
+        } catch (IOException e) {
+            log.warn("ETag hash FAILED. type: {} - {} - {}", body.getClass().getName(), e.getClass().getName(), e.getMessage());
+            return null;
+        }
+        return toETag(out.hash);
+    }
+
+    /**
+     * 버전 정보(테이블명, 최종 수정 일시, 버전 컬럼 등)로 ETag 생성
+     * @param parts 버전 정보
+     */
+    public static String version(Object... parts) {
+        long hash = FNV_OFFSET_BASIS;
+        for (Object part : parts) {
+            for (byte b : String.valueOf(part).getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+            }
+            // 구분자
+            hash = (hash ^ 0x1f) * FNV_PRIME;
+        }
+        return toETag(hash);
+    }
+
+    private static String toETag(long hash) {
+        return "W/\"" + String.format("%016x", hash) + "\"";
+    }
+
+    /** 쓰는 byte 를 버리고 hash 만 계산 */
+    private static class HashingOutputStream extends OutputStream {
+        private long hash = FNV_OFFSET_BASIS;
+
+        @Override
+        public void write(int b) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            long h = hash;
+            for (int i = offset; i < offset + length; i++) {
+                h = (h ^ (bytes[i] & 0xff)) * FNV_PRIME;
+            }
+            hash = h;
+        }
+    }
+}
@@ -9,12 +9,16 @@ import org.springframework.core.env.Environment;
 
 import javax.annotation.Resource;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Spring Active Profiles Bean
  * 환경에 따른 분기 처리 등 사용하기 위한 Util
+ *  - Active Profile 은 기동 후 바뀌지 않으므로 초기화 시 한번만 확인하고, 이후 isXxx() 는 필드 조회만 한다.
  */
 
 @Configuration
@@ -24,9 +28,14 @@ public class ActiveProfiles implements InitializingBean {
     @Resource
     Environment environment;
 
+    /** 초기화 시 확인한 Active Profile 목록 */
+    private List<String> activeProfiles = null;
+    /** 초기화 시 확인한 Active Profile 중 ActiveProfileType 에 해당하는 것 */
+    private Set<ActiveProfileType> activeProfileTypes = null;
+
     /** 환경정보에서 Active Profile 목록을 추출한다. */
     public List<String> getActiveProfiles() {
-        return Arrays.asList(environment.getActiveProfiles());
+        return activeProfiles != null ? activeProfiles : Arrays.asList(environment.getActiveProfiles());
     }
 
     /** 환경정보에서 Default Profile 목록을 추출한다. */
@@ -56,6 +65,9 @@ public class ActiveProfiles implements InitializingBean {
 
     /** 주어진 profile 이 Spring Active Profile 에 포함하는지 여부 */
     public boolean is(ActiveProfileType activeProfileType) {
+        if (activeProfileTypes != null) {
+            return activeProfileTypes.contains(activeProfileType);
+        }
         return getActiveProfiles().contains(activeProfileType.name().toLowerCase());
     }
 
@@ -67,6 +79,16 @@ public class ActiveProfiles implements InitializingBean {
     }
     /** 서버 Spring Profile 초기화 */
     private void initActiveProfile() {
+        List<String> profiles = Collections.unmodifiableList(Arrays.asList(environment.getActiveProfiles()));
+        Set<ActiveProfileType> types = EnumSet.noneOf(ActiveProfileType.class);
+        for (ActiveProfileType type : ActiveProfileType.values()) {
+            if (profiles.contains(type.name().toLowerCase())) {
+                types.add(type);
+            }
+        }
+        activeProfiles = profiles;
+        activeProfileTypes = types;
+
         Optional<ActiveProfileType> optionalActiveProfileType = EnumUtils.getEnumList(ActiveProfileType.class)
                 .stream().filter(item -> is(item)).findFirst();
         activeProfileType = optionalActiveProfileType.isPresent() ? optionalActiveProfileType.get() : null;
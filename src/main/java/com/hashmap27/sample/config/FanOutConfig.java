@@ -0,0 +1,61 @@
+package com.hashmap27.sample.config;
+
+import com.hashmap27.sample.component.concurrent.FanOutExecutor;
+import com.hashmap27.sample.component.concurrent.FanOutProperties;
+import com.hashmap27.sample.component.concurrent.VirtualThreadExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 서비스 계층 Fan-out 실행 설정 (sample.fan-out)
+ */
+@Slf4j
+@Configuration
+public class FanOutConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.fan-out")
+    public FanOutProperties fanOutProperties() {
+        return new FanOutProperties();
+    }
+
+    /**
+     * Fan-out 실행기
+     *  - 고정 크기 Pool + 제한된 Queue 이며, 포화 시 호출한 스레드에서 실행한다. (순차 실행으로 저하)
+     *  - virtualThreads 이고 런타임이 지원하면 poolSize 만큼 동시 실행하는 Virtual Thread 를 사용한다.
+     *  - Executor 를 Bean 으로 노출하면 Spring Boot 기본 TaskExecutor 가 생성되지 않으므로 내부에서 생성한다.
+     */
+    @Bean
+    public FanOutExecutor fanOutExecutor(final FanOutProperties fanOutProperties, final MeterRegistry meterRegistry) {
+        if (fanOutProperties.isVirtualThreads()) {
+            VirtualThreadExecutor virtualThreadExecutor = new VirtualThreadExecutor("vt-fan-out", fanOutProperties.getPoolSize(), meterRegistry);
+            if (virtualThreadExecutor.isAvailable()) {
+                log.info("## fan-out executor: virtual threads. {}", fanOutProperties);
+                return new FanOutExecutor(virtualThreadExecutor, fanOutProperties.getTimeout());
+            }
+            log.warn("## virtual threads are not supported on Java {}. fan-out uses platform thread pool.", Runtime.version());
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(fanOutProperties.getPoolSize(), fanOutProperties.getPoolSize(), 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(fanOutProperties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fan-out-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        threadPool.allowCoreThreadTimeOut(true);
+        return new FanOutExecutor(ExecutorServiceMetrics.monitor(meterRegistry, threadPool, "fan-out", Collections.emptyList()), fanOutProperties.getTimeout());
+    }
+}
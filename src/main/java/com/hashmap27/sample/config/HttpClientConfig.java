@@ -0,0 +1,192 @@
+package com.hashmap27.sample.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashmap27.sample.component.http.client.AdaptiveLimitClientHttpRequestInterceptor;
+import com.hashmap27.sample.component.http.client.AsyncHttpClient;
+import com.hashmap27.sample.component.http.client.BinaryFormatClientHttpRequestInterceptor;
+import com.hashmap27.sample.component.http.client.BulkheadClientHttpRequestInterceptor;
+import com.hashmap27.sample.component.http.client.CachingClientHttpRequestInterceptor;
+import com.hashmap27.sample.component.http.client.CircuitBreakerClientHttpRequestInterceptor;
+import com.hashmap27.sample.component.http.client.HttpCacheProperties;
+import com.hashmap27.sample.component.http.client.HttpClientProperties;
+import com.hashmap27.sample.component.http.client.HttpExchangeLogPipeline;
+import com.hashmap27.sample.component.http.client.HttpLogPipelineProperties;
+import com.hashmap27.sample.component.http.client.HttpResilienceProperties;
+import com.hashmap27.sample.component.http.client.InstrumentedHttpClientConnectionManager;
+import com.hashmap27.sample.component.http.client.LoggingClientHttpRequestInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 HTTP 호출(RestTemplate) 설정
+ *  - PoolingHttpClientConnectionManager 로 커넥션(TCP/TLS)을 재사용한다.
+ *  - 사용하지 않는 커넥션과 Keep-Alive 가 끝난 커넥션은 HttpClient 의 정리 스레드가 닫는다.
+ *  - 요청 스레드를 점유하지 않아야 하는 호출은 AsyncHttpClient 를 사용한다.
+ */
+@Slf4j
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.http-client")
+    public HttpClientProperties httpClientProperties() {
+        return new HttpClientProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.http-client.logging")
+    public HttpLogPipelineProperties httpLogPipelineProperties() {
+        return new HttpLogPipelineProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.http-client.resilience")
+    public HttpResilienceProperties httpResilienceProperties() {
+        return new HttpResilienceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.http-client.cache")
+    public HttpCacheProperties httpCacheProperties() {
+        return new HttpCacheProperties();
+    }
+
+    /** 외부 HTTP GET 응답 캐시 (RestTemplate 에 가장 먼저 적용, 백그라운드 재검증은 Pool 기반 HttpClient 로 직접 요청) */
+    @Bean(destroyMethod = "close")
+    public CachingClientHttpRequestInterceptor cachingClientHttpRequestInterceptor(final HttpCacheProperties httpCacheProperties, final CloseableHttpClient httpClient, final MeterRegistry meterRegistry) {
+        return new CachingClientHttpRequestInterceptor(httpCacheProperties, meterRegistry, new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    /**
+     * 외부 HTTP 호출 비동기 로그 Pipeline
+     *  - LoggingClientHttpRequestInterceptor.applyToRestTemplateAsync(restTemplate, pipeline) 으로 적용
+     */
+    @Bean
+    public HttpExchangeLogPipeline httpExchangeLogPipeline(final HttpLogPipelineProperties httpLogPipelineProperties, final MeterRegistry meterRegistry) {
+        return new HttpExchangeLogPipeline(httpLogPipelineProperties, meterRegistry);
+    }
+
+    /** Connection Pool (대여 시간 / 사용량 지표 포함) */
+    @Bean(destroyMethod = "shutdown")
+    public InstrumentedHttpClientConnectionManager httpClientConnectionManager(final HttpClientProperties httpClientProperties, final MeterRegistry meterRegistry) {
+        return new InstrumentedHttpClientConnectionManager(newConnectionManager(httpClientProperties), meterRegistry, "default");
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(final InstrumentedHttpClientConnectionManager httpClientConnectionManager, final HttpClientProperties httpClientProperties) {
+        return newHttpClient(httpClientConnectionManager, httpClientProperties);
+    }
+
+    /** 설정값으로 Connection Pool 생성 */
+    public static PoolingHttpClientConnectionManager newConnectionManager(HttpClientProperties httpClientProperties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(httpClientProperties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(httpClientProperties.getDefaultMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) httpClientProperties.getValidateAfterInactivity().toMillis());
+        for (Map.Entry<String, Integer> entry : httpClientProperties.getMaxPerRoute().entrySet()) {
+            connectionManager.setMaxPerRoute(toRoute(entry.getKey()), entry.getValue());
+        }
+        return connectionManager;
+    }
+
+    /** 설정값(제한 시간, Keep-Alive, 유휴 커넥션 정리)으로 HttpClient 생성 */
+    public static CloseableHttpClient newHttpClient(HttpClientConnectionManager connectionManager, HttpClientProperties httpClientProperties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) httpClientProperties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) httpClientProperties.getSocketTimeout().toMillis())
+                .setConnectionRequestTimeout((int) httpClientProperties.getConnectionRequestTimeout().toMillis())
+                .build();
+        long keepAliveMillis = httpClientProperties.getKeepAlive().toMillis();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                // 서버가 Keep-Alive timeout 을 주면 그 값과 설정값 중 작은 값
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(httpClientProperties.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Pool 기반 RestTemplate
+     *  - MessageConverter 는 RestTemplateBuilder 가 MVC 와 같은 목록(JSON, Smile, CBOR)을 사용한다.
+     *  - Binary 응답 우선 요청: 내부 서비스 host 별 Smile / CBOR (sample.http-client.binary-formats)
+     *  - 응답 캐시: 캐시된 응답은 장애 격리 / 로그 없이 바로 반환 (sample.http-client.cache)
+     *  - 장애 격리: Circuit Breaker → Bulkhead → Adaptive Limit 순으로 적용 (sample.http-client.resilience)
+     *  - 로그 방식: sample.http-client.logging.type
+     */
+    @Bean
+    public RestTemplate restTemplate(final RestTemplateBuilder restTemplateBuilder, final CloseableHttpClient httpClient, final HttpClientProperties httpClientProperties, final HttpExchangeLogPipeline httpExchangeLogPipeline,
+                                     final CachingClientHttpRequestInterceptor cachingClientHttpRequestInterceptor, final HttpResilienceProperties httpResilienceProperties, final MeterRegistry meterRegistry) {
+        RestTemplate restTemplate = restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+        List<ClientHttpRequestInterceptor> interceptors = restTemplate.getInterceptors();
+        if (!httpClientProperties.getBinaryFormats().isEmpty()) {
+            interceptors.add(new BinaryFormatClientHttpRequestInterceptor(httpClientProperties.getBinaryFormats()));
+        }
+        interceptors.add(cachingClientHttpRequestInterceptor);
+        if (httpResilienceProperties.getCircuitBreaker().isEnabled()) {
+            interceptors.add(new CircuitBreakerClientHttpRequestInterceptor(httpResilienceProperties.getCircuitBreaker(), meterRegistry));
+        }
+        if (httpResilienceProperties.getBulkhead().isEnabled()) {
+            interceptors.add(new BulkheadClientHttpRequestInterceptor(httpResilienceProperties.getBulkhead(), meterRegistry));
+        }
+        if (httpResilienceProperties.getAdaptiveLimit().isEnabled()) {
+            interceptors.add(new AdaptiveLimitClientHttpRequestInterceptor(httpResilienceProperties.getAdaptiveLimit(), meterRegistry));
+        }
+        log.info("## restTemplate resilience: {}", httpResilienceProperties);
+        restTemplate.setInterceptors(interceptors);
+
+        switch (httpExchangeLogPipeline.getProperties().getType()) {
+            case BUFFERED:
+                LoggingClientHttpRequestInterceptor.applyToRestTemplate(restTemplate, true);
+                break;
+            case STREAMING:
+                LoggingClientHttpRequestInterceptor.applyToRestTemplateStreaming(restTemplate, httpExchangeLogPipeline.getProperties().getMaxBodyLogBytes());
+                break;
+            case ASYNC:
+                LoggingClientHttpRequestInterceptor.applyToRestTemplateAsync(restTemplate, httpExchangeLogPipeline);
+                break;
+            default:
+                break;
+        }
+        return restTemplate;
+    }
+
+    /** 비동기 외부 HTTP 호출 Client (sample.http-client.async) */
+    @Bean
+    public AsyncHttpClient asyncHttpClient(final HttpClientProperties httpClientProperties, final ObjectMapper objectMapper, final HttpExchangeLogPipeline httpExchangeLogPipeline, final MeterRegistry meterRegistry) {
+        return new AsyncHttpClient(httpClientProperties, objectMapper, httpExchangeLogPipeline, meterRegistry);
+    }
+
+    /** Route 설정 key (https://host[:port] 또는 host[:port]) → HttpRoute */
+    private static HttpRoute toRoute(String key) {
+        HttpHost host = HttpHost.create(key);
+        boolean secure = "https".equalsIgnoreCase(host.getSchemeName());
+        int port = (host.getPort() > 0) ? host.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(host.getHostName(), port, host.getSchemeName()), null, secure);
+    }
+}
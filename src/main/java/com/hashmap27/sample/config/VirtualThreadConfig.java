@@ -0,0 +1,116 @@
+package com.hashmap27.sample.config;
+
+import com.hashmap27.sample.component.concurrent.VirtualThreadExecutor;
+import com.hashmap27.sample.component.concurrent.VirtualThreadProperties;
+import com.hashmap27.sample.component.concurrent.VirtualThreads;
+import com.hashmap27.sample.config.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.util.DriverInfo;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Virtual Thread 요청 처리 설정 (sample.virtual-threads.enabled: true)
+ *  - Tomcat 요청 처리 Executor 와 MVC 비동기(StreamingResponseBody 등) Executor 를 Virtual Thread 로 바꾼다.
+ *  - 요청 스레드에서 실행되는 MyBatis(JDBC), RestTemplate 호출도 Virtual Thread 에서 실행된다.
+ *  - Java 21 미만 런타임이면 경고 후 기존 Thread Pool 을 그대로 사용한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Configuration
+@ConditionalOnProperty(prefix = "sample.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    /** synchronized 대신 Lock 을 사용하여 Virtual Thread 를 고정(pinning)하지 않는 pgjdbc 버전 */
+    private static final int PGJDBC_UNPINNED_MAJOR = 42;
+    private static final int PGJDBC_UNPINNED_MINOR = 6;
+
+    private final MeterRegistry meterRegistry;
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.virtual-threads")
+    public VirtualThreadProperties virtualThreadProperties() {
+        return new VirtualThreadProperties();
+    }
+
+    /** Tomcat 요청 처리 Executor (maxConcurrency 적용) */
+    @Bean
+    public VirtualThreadExecutor requestVirtualThreadExecutor(final VirtualThreadProperties virtualThreadProperties) {
+        // 첫 Virtual Thread 생성 전에 지정해야 적용됨
+        VirtualThreads.tracePinnedThreads(virtualThreadProperties.getTracePinnedThreads());
+        return new VirtualThreadExecutor("vt-request", virtualThreadProperties.getMaxConcurrency(), meterRegistry);
+    }
+
+    /** MVC 비동기 작업 Executor (오래 걸리는 Streaming 응답이 요청 permit 을 점유하지 않도록 제한 없음) */
+    @Bean
+    public VirtualThreadExecutor asyncVirtualThreadExecutor() {
+        return new VirtualThreadExecutor("vt-async", 0, meterRegistry);
+    }
+
+    /**
+     * Tomcat Connector 의 요청 처리 Executor 교체
+     *  - 외부 Executor 를 사용하므로 server.tomcat.threads.* 는 적용되지 않고, max-connections / accept-count 는 그대로 적용된다.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(final VirtualThreadExecutor requestVirtualThreadExecutor, final VirtualThreadProperties virtualThreadProperties,
+                                                                                    @Qualifier("readOnlyDataSource") final DataSource readOnlyDataSource, @Qualifier("readWriteDataSource") final DataSource readWriteDataSource) {
+        if (!requestVirtualThreadExecutor.isAvailable()) {
+            log.warn("## virtual threads are not supported on Java {}. using platform thread pool.", Runtime.version());
+            return protocolHandler -> { };
+        }
+        checkConnectionPoolCapacity(virtualThreadProperties, readOnlyDataSource, readWriteDataSource);
+        return protocolHandler -> {
+            protocolHandler.setExecutor(requestVirtualThreadExecutor);
+            log.info("## tomcat request executor: virtual threads. {}", virtualThreadProperties);
+        };
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        VirtualThreadExecutor asyncExecutor = asyncVirtualThreadExecutor();
+        if (asyncExecutor.isAvailable()) {
+            configurer.setTaskExecutor(new TaskExecutorAdapter(asyncExecutor));
+        }
+    }
+
+    /**
+     * DB Pool 크기 점검
+     *  - 요청 동시성이 스레드 수로 제한되지 않으면 DB 커넥션 대기가 connectionTimeout 까지 늘어나므로
+     *    maxConcurrency 를 전체 Pool 크기의 2 ~ 4 배 정도로 제한하는 것을 권장한다.
+     *  - pgjdbc 42.6 미만은 쿼리 실행이 synchronized 구간이라 Virtual Thread 가 carrier thread 를 점유(pinning)한다.
+     */
+    private void checkConnectionPoolCapacity(VirtualThreadProperties properties, DataSource... dataSources) {
+        int totalPoolSize = 0;
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof HikariDataSource) {
+                totalPoolSize += ((HikariDataSource) dataSource).getMaximumPoolSize();
+            } else if (dataSource instanceof ReplicaRoutingDataSource) {
+                for (HikariDataSource replica : ((ReplicaRoutingDataSource) dataSource).getReplicaDataSources()) {
+                    totalPoolSize += replica.getMaximumPoolSize();
+                }
+            }
+        }
+        if (properties.getMaxConcurrency() <= 0) {
+            log.warn("## virtual threads without max-concurrency. DB pool (total maximumPoolSize: {}) connectionTimeout is the only backpressure.", totalPoolSize);
+        } else {
+            log.info("## virtual threads max-concurrency: {}, total DB maximumPoolSize: {}", properties.getMaxConcurrency(), totalPoolSize);
+        }
+        if (DriverInfo.MAJOR_VERSION < PGJDBC_UNPINNED_MAJOR
+                || (DriverInfo.MAJOR_VERSION == PGJDBC_UNPINNED_MAJOR && DriverInfo.MINOR_VERSION < PGJDBC_UNPINNED_MINOR)) {
+            log.warn("## pgjdbc {} pins virtual threads while executing queries (synchronized). concurrent JDBC calls are limited to carrier threads ({}). upgrade to {}.{}+",
+                    DriverInfo.DRIVER_VERSION, Runtime.getRuntime().availableProcessors(), PGJDBC_UNPINNED_MAJOR, PGJDBC_UNPINNED_MINOR);
+        }
+    }
+}
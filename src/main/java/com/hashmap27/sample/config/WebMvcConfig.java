@@ -1,9 +1,26 @@
 package com.hashmap27.sample.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hashmap27.sample.component.advice.ETagProperties;
+import com.hashmap27.sample.component.advice.ErrorBodyCache;
+import com.hashmap27.sample.component.advice.ErrorBodyCacheProperties;
+import com.hashmap27.sample.component.advice.ErrorLogProperties;
 import com.hashmap27.sample.component.formatter.LocalDateFormatter;
 import com.hashmap27.sample.component.formatter.LocalDateTimeFormatter;
+import com.hashmap27.sample.component.http.server.CompressionFilter;
+import com.hashmap27.sample.component.http.server.CompressionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
@@ -12,6 +29,63 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    @Bean
+    @ConfigurationProperties(prefix = "sample.web.etag")
+    public ETagProperties eTagProperties() {
+        return new ETagProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.web.error-log")
+    public ErrorLogProperties errorLogProperties() {
+        return new ErrorLogProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.web.error-body-cache")
+    public ErrorBodyCacheProperties errorBodyCacheProperties() {
+        return new ErrorBodyCacheProperties();
+    }
+
+    /** 직렬화된 JSON 오류 응답 Body 캐시 (spring.jackson 설정이 적용된 ObjectMapper 사용) */
+    @Bean
+    public ErrorBodyCache errorBodyCache(ObjectMapper objectMapper, ErrorBodyCacheProperties errorBodyCacheProperties) {
+        return new ErrorBodyCache(objectMapper, errorBodyCacheProperties);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.web.compression")
+    public CompressionProperties compressionProperties() {
+        return new CompressionProperties();
+    }
+
+    /**
+     * API 응답 gzip 압축 Filter
+     *  - Tomcat 압축(server.compression) 대신 사용하며, 다른 Filter 가 쓰는 응답까지 압축하도록 앞쪽에 둔다.
+     */
+    @Bean
+    public FilterRegistrationBean<CompressionFilter> compressionFilter(CompressionProperties compressionProperties, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<CompressionFilter> registration = new FilterRegistrationBean<>(new CompressionFilter(compressionProperties, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Jackson Smile 변환 (Accept / Content-Type: application/x-jackson-smile)
+     *  - 내부 서비스간 호출용 Binary 형식. spring.jackson 설정을 JSON 과 동일하게 적용한다.
+     *  - 기본 Converter 목록에서 JSON 뒤에 위치하므로 Accept 가 없거나 *&#47;* 면 JSON 으로 응답한다.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(jackson2ObjectMapperBuilder.factory(new SmileFactory()).build());
+    }
+
+    /** CBOR 변환 (Accept / Content-Type: application/cbor) */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(jackson2ObjectMapperBuilder.factory(new CBORFactory()).build());
+    }
+
     /**
      * Formatter 추가.
      * @param registry
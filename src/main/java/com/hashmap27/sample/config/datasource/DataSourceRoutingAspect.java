@@ -0,0 +1,38 @@
+package com.hashmap27.sample.config.datasource;
+
+import com.hashmap27.sample.config.type.DataSourceType;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메소드 레벨 @UseReadOnlyDataSource / @UseReadWriteDataSource 를 DataSourceRoutingContext 에 반영
+ *  - @Transactional 보다 먼저 적용되도록 최우선 순위로 설정
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DataSourceRoutingAspect {
+
+    @Around("@annotation(com.hashmap27.sample.config.datasource.UseReadOnlyDataSource)")
+    public Object routeReadOnly(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceed(joinPoint, DataSourceType.READ_ONLY);
+    }
+
+    @Around("@annotation(com.hashmap27.sample.config.datasource.UseReadWriteDataSource)")
+    public Object routeReadWrite(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceed(joinPoint, DataSourceType.READ_WRITE);
+    }
+
+    private Object proceed(ProceedingJoinPoint joinPoint, DataSourceType dataSourceType) throws Throwable {
+        DataSourceRoutingContext.push(dataSourceType);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DataSourceRoutingContext.pop();
+        }
+    }
+}
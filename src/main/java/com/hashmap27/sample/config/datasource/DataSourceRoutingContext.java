@@ -0,0 +1,92 @@
+package com.hashmap27.sample.config.datasource;
+
+import com.hashmap27.sample.config.type.DataSourceType;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 현재 스레드(요청)의 DataSource 라우팅 정보
+ *  - 메소드 레벨 @UseReadOnlyDataSource / @UseReadWriteDataSource 지정 (중첩 호출을 위해 Stack 으로 관리)
+ *  - 마지막 쓰기 시각 (HTTP 요청 중이면 Request Attribute, 아니면 ThreadLocal)
+ *    ThreadLocal 은 Pool 스레드의 다음 작업으로 넘어가지 않도록 트랜잭션 종료 시, 또는 window 가 지난 뒤 확인 시 지운다.
+ */
+public class DataSourceRoutingContext {
+
+    private static final String LAST_WRITE_ATTRIBUTE = DataSourceRoutingContext.class.getName() + ".LAST_WRITE";
+
+    private static final ThreadLocal<Deque<DataSourceType>> ROUTE_STACK = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<Long> LAST_WRITE = new ThreadLocal<>();
+
+    private DataSourceRoutingContext() { /* DO NOTHING */ }
+
+    /** 메소드 레벨 라우팅 지정 시작 */
+    public static void push(DataSourceType dataSourceType) {
+        ROUTE_STACK.get().push(dataSourceType);
+    }
+
+    /** 메소드 레벨 라우팅 지정 종료 */
+    public static void pop() {
+        Deque<DataSourceType> stack = ROUTE_STACK.get();
+        stack.poll();
+        if (stack.isEmpty()) {
+            ROUTE_STACK.remove();
+        }
+    }
+
+    /** 현재 메소드 레벨 라우팅 지정 (없으면 null) */
+    public static DataSourceType current() {
+        return ROUTE_STACK.get().peek();
+    }
+
+    /** 쓰기 발생 기록 */
+    public static void markWrite() {
+        long now = System.currentTimeMillis();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(LAST_WRITE_ATTRIBUTE, now, RequestAttributes.SCOPE_REQUEST);
+            return;
+        }
+        LAST_WRITE.set(now);
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !TransactionSynchronizationManager.hasResource(LAST_WRITE_ATTRIBUTE)) {
+            // 트랜잭션 당 한번만 등록
+            TransactionSynchronizationManager.bindResource(LAST_WRITE_ATTRIBUTE, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(LAST_WRITE_ATTRIBUTE);
+                    LAST_WRITE.remove();
+                }
+            });
+        }
+    }
+
+    /** 주어진 시간 내에 쓰기가 있었는가? */
+    public static boolean isWrittenWithin(Duration window) {
+        if (window == null || window.isZero() || window.isNegative()) {
+            return false;
+        }
+        Long lastWrite;
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            lastWrite = (Long) requestAttributes.getAttribute(LAST_WRITE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        } else {
+            lastWrite = LAST_WRITE.get();
+        }
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - lastWrite <= window.toMillis()) {
+            return true;
+        }
+        if (requestAttributes == null) {
+            LAST_WRITE.remove();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+package com.hashmap27.sample.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hikari Pool 크기 자동 조정 설정 (spring.multi-datasource.autosizing)
+ */
+@Getter
+@Setter
+public class HikariAutoSizingProperties {
+
+    /** 사용 여부 (false 이면 설정된 maximum-pool-size 고정) */
+    private boolean enabled = false;
+
+    /** 측정 / 조정 주기 */
+    private Duration interval = Duration.ofSeconds(10);
+
+    /** 기본 최소 Pool 크기 */
+    private int minSize = 2;
+
+    /** 기본 최대 Pool 크기 */
+    private int maxSize = 30;
+
+    /** 한번에 늘리거나 줄이는 크기 */
+    private int step = 2;
+
+    /** 주기 내 평균 커넥션 대기 시간이 이 값을 넘으면 확장 */
+    private Duration waitThreshold = Duration.ofMillis(10);
+
+    /** 사용률(active / maximum)이 이 값 미만인 상태가 shrinkAfter 회 연속이면 축소 */
+    private double lowUtilization = 0.3d;
+
+    /** 축소 판단 연속 횟수 */
+    private int shrinkAfter = 6;
+
+    /** DB 측에 남겨둘 여유 커넥션 수 (max_connections - superuser_reserved_connections 기준) */
+    private int databaseReserve = 10;
+
+    /** Pool 이름별 크기 범위 (없으면 minSize / maxSize) */
+    private Map<String, Bounds> pools = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Bounds {
+        private int minSize;
+        private int maxSize;
+    }
+}
@@ -0,0 +1,191 @@
+package com.hashmap27.sample.config.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hikari Pool 크기 자동 조정
+ *  - 주기마다 Pool 별 대기 스레드 수와 평균 커넥션 대기 시간(hikaricp.connections.acquire)을 보고
+ *    대기가 있으면 step 만큼 늘리고, 사용률이 낮은 상태가 이어지면 step 만큼 줄인다. (HikariConfigMXBean)
+ *  - 확장은 Pool 별 maxSize 와 DB 측 여유 커넥션(max_connections - reserved - 사용중 - databaseReserve)을 넘지 않는다.
+ *  - DB 측 여유는 대기가 없을 때 측정한 값을 사용한다. (Pool 이 고갈된 상태에서 측정 쿼리가 대기하지 않도록)
+ */
+@Slf4j
+public class HikariPoolAutoSizer implements InitializingBean, DisposableBean {
+
+    private static final String DATABASE_HEADROOM_SQL =
+            "SELECT current_setting('max_connections')::int - current_setting('superuser_reserved_connections')::int " +
+            "- (SELECT count(*) FROM pg_stat_activity WHERE backend_type = 'client backend')";
+
+    private final List<Pool> pools = new ArrayList<>();
+    private final HikariAutoSizingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /** jdbcUrl 별 DB 측 여유 커넥션 수 */
+    private final Map<String, Integer> databaseHeadroom = new HashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 생성자
+     * @param dataSources 조정 대상 Pool 목록
+     * @param properties 자동 조정 설정
+     * @param meterRegistry 커넥션 대기 시간 조회 / 조정 횟수 기록
+     */
+    public HikariPoolAutoSizer(List<HikariDataSource> dataSources, HikariAutoSizingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (HikariDataSource dataSource : dataSources) {
+            HikariAutoSizingProperties.Bounds bounds = properties.getPools().get(dataSource.getPoolName());
+            int minSize = (bounds != null) ? bounds.getMinSize() : properties.getMinSize();
+            int maxSize = (bounds != null) ? bounds.getMaxSize() : properties.getMaxSize();
+            pools.add(new Pool(dataSource, Math.max(1, minSize), Math.max(minSize, maxSize)));
+        }
+    }
+
+    /** 모든 Pool 측정 후 크기 조정 */
+    void resize() {
+        for (Pool pool : pools) {
+            HikariPoolMXBean poolMXBean = pool.dataSource.getHikariPoolMXBean();
+            if (poolMXBean == null) {
+                continue;
+            }
+            HikariConfigMXBean configMXBean = pool.dataSource.getHikariConfigMXBean();
+            int current = configMXBean.getMaximumPoolSize();
+            int pending = poolMXBean.getThreadsAwaitingConnection();
+            int active = poolMXBean.getActiveConnections();
+            double averageWaitMillis = pool.averageWaitMillis();
+            String jdbcUrl = pool.dataSource.getJdbcUrl();
+
+            if (pending == 0) {
+                refreshDatabaseHeadroom(pool, jdbcUrl);
+            }
+
+            int target = current;
+            if (pending > 0 || averageWaitMillis > properties.getWaitThreshold().toMillis()) {
+                pool.lowUtilizationCount = 0;
+                Integer headroom = databaseHeadroom.get(jdbcUrl);
+                int grow = Math.min(properties.getStep(), (headroom == null) ? properties.getStep() : headroom - properties.getDatabaseReserve());
+                target = Math.min(pool.maxSize, current + Math.max(grow, 0));
+                if (headroom != null && target > current) {
+                    databaseHeadroom.put(jdbcUrl, headroom - (target - current));
+                }
+            } else if ((double) active / current < properties.getLowUtilization()) {
+                if (++pool.lowUtilizationCount >= properties.getShrinkAfter()) {
+                    pool.lowUtilizationCount = 0;
+                    target = Math.max(pool.minSize, current - properties.getStep());
+                }
+            } else {
+                pool.lowUtilizationCount = 0;
+            }
+            // 범위를 벗어난 초기 설정 보정
+            target = Math.max(pool.minSize, Math.min(pool.maxSize, target));
+
+            if (target != current) {
+                if (configMXBean.getMinimumIdle() > target) {
+                    configMXBean.setMinimumIdle(target);
+                }
+                configMXBean.setMaximumPoolSize(target);
+                (target > current ? pool.grows : pool.shrinks).increment();
+                log.info("hikari pool resized. pool: {}, {} -> {}, active: {}, pending: {}, averageWait: {}ms",
+                        pool.dataSource.getPoolName(), current, target, active, pending, String.format("%.1f", averageWaitMillis));
+            }
+        }
+    }
+
+    /** DB 측 여유 커넥션 수 측정 */
+    private void refreshDatabaseHeadroom(Pool pool, String jdbcUrl) {
+        try (Connection connection = pool.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(DATABASE_HEADROOM_SQL)) {
+            if (rs.next()) {
+                databaseHeadroom.put(jdbcUrl, rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            log.warn("database headroom check FAILED. pool: {} - {} - {}", pool.dataSource.getPoolName(), e.getClass().getName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isEnabled() || pools.isEmpty()) {
+            return;
+        }
+        long interval = properties.getInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hikari-pool-autosizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                resize();
+            } catch (Exception e) {
+                log.warn("hikari pool resize FAILED. {} - {}", e.getClass().getName(), e.getMessage(), e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("## {} started. pools: {}, interval: {}", getClass().getSimpleName(), pools.size(), properties.getInterval());
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /** 조정 대상 Pool 및 상태 */
+    private class Pool {
+        private final HikariDataSource dataSource;
+        private final int minSize;
+        private final int maxSize;
+        private final Counter grows;
+        private final Counter shrinks;
+
+        private int lowUtilizationCount = 0;
+        private long lastAcquireCount = 0L;
+        private double lastAcquireTotalMillis = 0d;
+
+        private Pool(HikariDataSource dataSource, int minSize, int maxSize) {
+            this.dataSource = dataSource;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.grows = Counter.builder("hikaricp.autosizer.resizes").tag("pool", dataSource.getPoolName()).tag("direction", "grow").register(meterRegistry);
+            this.shrinks = Counter.builder("hikaricp.autosizer.resizes").tag("pool", dataSource.getPoolName()).tag("direction", "shrink").register(meterRegistry);
+        }
+
+        /** 직전 측정 이후 평균 커넥션 획득 대기 시간(ms) */
+        private double averageWaitMillis() {
+            Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", dataSource.getPoolName()).timer();
+            if (acquire == null) {
+                return 0d;
+            }
+            long count = acquire.count();
+            double totalMillis = acquire.totalTime(TimeUnit.MILLISECONDS);
+            long deltaCount = count - lastAcquireCount;
+            double deltaMillis = totalMillis - lastAcquireTotalMillis;
+            lastAcquireCount = count;
+            lastAcquireTotalMillis = totalMillis;
+            return deltaCount > 0 ? deltaMillis / deltaCount : 0d;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.hashmap27.sample.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReadOnly / ReadWrite Hikari Pool 관리
+ *  - Pool 지표는 각 DataSource 생성 시 Pool 이름 태그로 등록된다. (/actuator/metrics/hikaricp.connections.*)
+ */
+@Configuration
+public class HikariPoolManagement {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.multi-datasource.autosizing")
+    public HikariAutoSizingProperties hikariAutoSizingProperties() {
+        return new HikariAutoSizingProperties();
+    }
+
+    /** Pool 크기 자동 조정 (Replica 사용 시 Replica Pool 별로 조정) */
+    @Bean
+    public HikariPoolAutoSizer hikariPoolAutoSizer(@Qualifier("readOnlyDataSource") final DataSource readOnlyDataSource, @Qualifier("readWriteDataSource") final DataSource readWriteDataSource,
+                                                   final HikariAutoSizingProperties hikariAutoSizingProperties, final MeterRegistry meterRegistry) {
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        for (DataSource dataSource : new DataSource[] { readOnlyDataSource, readWriteDataSource }) {
+            if (dataSource instanceof HikariDataSource) {
+                dataSources.add((HikariDataSource) dataSource);
+            } else if (dataSource instanceof ReplicaRoutingDataSource) {
+                dataSources.addAll(((ReplicaRoutingDataSource) dataSource).getReplicaDataSources());
+            }
+        }
+        return new HikariPoolAutoSizer(dataSources, hikariAutoSizingProperties, meterRegistry);
+    }
+}
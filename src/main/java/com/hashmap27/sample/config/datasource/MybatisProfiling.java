@@ -0,0 +1,57 @@
+package com.hashmap27.sample.config.datasource;
+
+import com.hashmap27.sample.component.mybatis.profiling.ProfilingInterceptor;
+import com.hashmap27.sample.component.mybatis.profiling.ProfilingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.ArrayUtils;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+
+/**
+ * MyBatis 공통 실행 설정 / 프로파일링 Plugin
+ *  - ReadOnly / ReadWrite / Routing SqlSessionFactory 가 같은 설정과 Plugin 을 사용한다.
+ */
+@Configuration
+public class MybatisProfiling {
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.mybatis.profiling")
+    public ProfilingProperties profilingProperties() {
+        return new ProfilingProperties();
+    }
+
+    /** Statement 프로파일링 Plugin */
+    @Bean
+    public ProfilingInterceptor profilingInterceptor(final ProfilingProperties profilingProperties, final MeterRegistry meterRegistry) {
+        return new ProfilingInterceptor(profilingProperties, meterRegistry);
+    }
+
+    /** 모든 SqlSessionFactory 가 읽는 공통 SQL 조각 (namespace: com.hashmap27.sample.repository.CommonSql) */
+    public static final String COMMON_MAPPER_LOCATIONS = "classpath:/mapper/common/*.xml";
+
+    /**
+     * 공통 SQL 조각과 주어진 경로의 Mapper XML
+     *  - 다른 namespace 의 &lt;sql&gt; 은 같은 SqlSessionFactory 에 있어야 include 할 수 있으므로 함께 읽는다.
+     */
+    public static Resource[] mapperLocations(ResourcePatternResolver resolver, String locationPattern) throws IOException {
+        return ArrayUtils.addAll(resolver.getResources(COMMON_MAPPER_LOCATIONS), resolver.getResources(locationPattern));
+    }
+
+    /**
+     * 기본 fetchSize / Statement 제한 시간이 적용된 MyBatis Configuration
+     *  - Mapper XML 의 fetchSize, timeout 속성이 있으면 그 값이 우선한다.
+     */
+    public static org.apache.ibatis.session.Configuration newConfiguration(ProfilingProperties properties) {
+        org.apache.ibatis.session.Configuration configuration = new org.apache.ibatis.session.Configuration();
+        configuration.setDefaultFetchSize(properties.getDefaultFetchSize());
+        if (properties.getDefaultStatementTimeout() != null) {
+            configuration.setDefaultStatementTimeout(ProfilingProperties.toQueryTimeoutSeconds(properties.getDefaultStatementTimeout()));
+        }
+        return configuration;
+    }
+}
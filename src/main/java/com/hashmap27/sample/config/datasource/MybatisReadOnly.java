@@ -1,53 +1,113 @@
 package com.hashmap27.sample.config.datasource;
 
+import com.hashmap27.sample.component.mybatis.cache.QueryCacheRegistry;
+import com.hashmap27.sample.component.mybatis.count.CachedCountStrategy;
+import com.hashmap27.sample.component.mybatis.count.CountMode;
+import com.hashmap27.sample.component.mybatis.count.CountProperties;
+import com.hashmap27.sample.component.mybatis.count.CountService;
+import com.hashmap27.sample.component.mybatis.count.CountStrategy;
+import com.hashmap27.sample.component.mybatis.count.EstimatedCountStrategy;
+import com.hashmap27.sample.component.mybatis.count.ExactCountStrategy;
+import com.hashmap27.sample.component.mybatis.loader.BatchLoaderProperties;
+import com.hashmap27.sample.component.mybatis.loader.BatchLoaderRegistry;
+import com.hashmap27.sample.component.mybatis.paging.KeysetPageProperties;
+import com.hashmap27.sample.component.mybatis.paging.KeysetPageRequest;
+import com.hashmap27.sample.component.mybatis.profiling.ProfilingInterceptor;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.SqlSessionTemplate;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 
 import javax.sql.DataSource;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 @MapperScan(
         basePackages = "com.hashmap27.sample"
         , annotationClass = UseReadOnlyDataSource.class
         , sqlSessionFactoryRef = "readOnlySessionFactory"
 )
+@Slf4j
 @Configuration
 public class MybatisReadOnly {
 
+    /** ReadOnly Mapper 트랜잭션 매니저 Bean 이름 (Cursor 조회 등 세션을 유지해야 하는 경우) */
+    public static final String TRANSACTION_MANAGER = "readOnlyTransactionManager";
+
     @Bean("readOnly")
     @ConfigurationProperties(prefix = "spring.multi-datasource.readonly")
     public HikariConfig hikariConfig() {
         return new HikariConfig();
     }
 
-    /** ReadOnly DataSource 획득 */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.multi-datasource.replica-routing")
+    public ReplicaRoutingProperties replicaRoutingProperties() {
+        return new ReplicaRoutingProperties();
+    }
+
+    /**
+     * ReadOnly DataSource 획득
+     *  - replica-routing 사용 시 Replica Pool 들로 분산하고, 사용 가능한 Replica 가 없으면 Primary 로 보낸다.
+     *  - Pool 지표(hikaricp.*)는 Pool 이름으로 구분하므로 ReadWrite 와 같은 이름이면 바꾼다.
+     */
     @Bean(name = "readOnlyDataSource")
     @Primary
-    public DataSource getDataSource(@Qualifier("readOnly") HikariConfig hikariConfig) {
-        return new HikariDataSource(hikariConfig);
+    public DataSource getDataSource(@Qualifier("readOnly") HikariConfig hikariConfig, final ReplicaRoutingProperties replicaRoutingProperties, @Qualifier("readWriteDataSource") final DataSource readWriteDataSource, final MeterRegistry meterRegistry) {
+        String readWritePoolName = (readWriteDataSource instanceof HikariDataSource) ? ((HikariDataSource) readWriteDataSource).getPoolName() : null;
+        if (!replicaRoutingProperties.isEnabled() || replicaRoutingProperties.getReplicas().isEmpty()) {
+            if (StringUtils.isBlank(hikariConfig.getPoolName()) || hikariConfig.getPoolName().equals(readWritePoolName)) {
+                log.warn("readonly pool-name '{}' is empty or same as readwrite. using 'hikari-readonly'.", hikariConfig.getPoolName());
+                hikariConfig.setPoolName("hikari-readonly");
+            }
+            hikariConfig.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            return new HikariDataSource(hikariConfig);
+        }
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (HikariConfig replicaConfig : replicaRoutingProperties.getReplicas()) {
+            if (StringUtils.isBlank(replicaConfig.getPoolName())) {
+                replicaConfig.setPoolName("hikari-replica-" + (replicas.size() + 1));
+            }
+            replicaConfig.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new HikariDataSource(replicaConfig));
+        }
+        // 캐시 무효화 후 Replica 에 반영되기 전 값이 다시 캐시되지 않도록 (측정 주기 동안은 maxLag 를 넘을 수 있음)
+        QueryCacheRegistry.setReplicaLag(replicaRoutingProperties.getMaxLag().plus(replicaRoutingProperties.getCheckInterval()));
+        return new ReplicaRoutingDataSource(replicas, readWriteDataSource, replicaRoutingProperties);
     }
 
     /** MyBatis SqlSessionFactory */
     @Bean(name = "readOnlySessionFactory")
     @Primary
-    public SqlSessionFactoryBean sqlFactory(@Qualifier("readOnlyDataSource") final DataSource dataSource, final ApplicationContext applicationContext) throws IOException {
-        return setSqlFactory(new SqlSessionFactoryBean(), dataSource, applicationContext);
+    public SqlSessionFactoryBean sqlFactory(@Qualifier("readOnlyDataSource") final DataSource dataSource, final ApplicationContext applicationContext, final ProfilingInterceptor profilingInterceptor) throws IOException {
+        return setSqlFactory(new SqlSessionFactoryBean(), dataSource, applicationContext, profilingInterceptor);
     }
-    public SqlSessionFactoryBean setSqlFactory(SqlSessionFactoryBean sqlFactory, DataSource dataSource, ApplicationContext applicationContext) throws IOException {
+    public SqlSessionFactoryBean setSqlFactory(SqlSessionFactoryBean sqlFactory, DataSource dataSource, ApplicationContext applicationContext, ProfilingInterceptor profilingInterceptor) throws IOException {
         sqlFactory.setDataSource(dataSource);
-        sqlFactory.setMapperLocations(applicationContext.getResources("classpath:mapper/readonly/*.xml"));
+        sqlFactory.setConfiguration(MybatisProfiling.newConfiguration(profilingInterceptor.getProperties()));
+        sqlFactory.setMapperLocations(MybatisProfiling.mapperLocations(applicationContext, "classpath:mapper/readonly/*.xml"));
         sqlFactory.setTypeAliasesPackage("com.hashmap27.**.domain.**");
         sqlFactory.setTypeHandlersPackage("com.hashmap27.**.domain.**");
+        sqlFactory.setPlugins(new Interceptor[] { profilingInterceptor });
 
         return sqlFactory;
     }
@@ -56,4 +116,55 @@ public class MybatisReadOnly {
     public SqlSessionTemplate getSessionTemplate(@Qualifier("readOnlySessionFactory") final SqlSessionFactory sqlSessionFactory) {
         return new SqlSessionTemplate(sqlSessionFactory);
     }
+
+    @Bean(name = TRANSACTION_MANAGER)
+    public DataSourceTransactionManager getTransactionManager(@Qualifier("readOnlyDataSource") final DataSource dataSource) {
+        return new DataSourceTransactionManager(dataSource);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.mybatis.count")
+    public CountProperties countProperties() {
+        return new CountProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.mybatis.loader")
+    public BatchLoaderProperties batchLoaderProperties() {
+        return new BatchLoaderProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.mybatis.paging")
+    public KeysetPageProperties keysetPageProperties() {
+        return new KeysetPageProperties();
+    }
+
+    /** Keyset 페이징 연속 토큰 서명 키 / 유효 시간 적용 */
+    @Bean
+    public SmartInitializingSingleton keysetPageTokenInitializer(final KeysetPageProperties keysetPageProperties) {
+        if (StringUtils.isEmpty(keysetPageProperties.getTokenSecret())) {
+            log.warn("sample.mybatis.paging.token-secret is empty. page tokens are rejected after restart or on other nodes.");
+        }
+        return () -> KeysetPageRequest.configureToken(keysetPageProperties);
+    }
+
+    /** ReadOnly Mapper 요청 단위 일괄 조회(N+1 → ANY(?) 한 번) 등록 */
+    @Bean
+    public BatchLoaderRegistry batchLoaderRegistry(final BatchLoaderProperties batchLoaderProperties, final MeterRegistry meterRegistry) {
+        return new BatchLoaderRegistry(batchLoaderProperties, meterRegistry);
+    }
+
+    /** ReadOnly Mapper 목록 조회용 전체 건수 서비스 */
+    @Bean
+    public CountService countService(@Qualifier("readOnlySessionTemplate") final SqlSessionTemplate sqlSessionTemplate, @Qualifier("readOnlyDataSource") final DataSource dataSource, final CountProperties countProperties) {
+        org.apache.ibatis.session.Configuration configuration = sqlSessionTemplate.getConfiguration();
+        CountStrategy exact = new ExactCountStrategy(sqlSessionTemplate);
+
+        Map<CountMode, CountStrategy> strategies = new EnumMap<>(CountMode.class);
+        strategies.put(CountMode.EXACT, exact);
+        strategies.put(CountMode.CACHED, new CachedCountStrategy(exact, configuration, countProperties.getCacheTtl(), countProperties.getCacheMaxEntries()));
+        strategies.put(CountMode.ESTIMATED, new EstimatedCountStrategy(exact, configuration, dataSource, countProperties.getEstimateExactThreshold()));
+        return new CountService(strategies, countProperties);
+    }
 }
@@ -1,12 +1,26 @@
 package com.hashmap27.sample.config.datasource;
 
+import com.hashmap27.sample.component.mybatis.batch.BatchWriteProperties;
+import com.hashmap27.sample.component.mybatis.batch.BatchWriter;
+import com.hashmap27.sample.component.mybatis.cache.CacheInvalidationProperties;
+import com.hashmap27.sample.component.mybatis.cache.CacheInvalidationPublisher;
+import com.hashmap27.sample.component.mybatis.cache.PgNotifyCacheInvalidationChannel;
+import com.hashmap27.sample.component.mybatis.cache.TableInvalidationInterceptor;
+import com.hashmap27.sample.component.mybatis.profiling.ProfilingInterceptor;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.SqlSessionTemplate;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -33,22 +47,46 @@ public class MybatisReadWrite {
         return new HikariConfig();
     }
 
-    /** ReadWrite DataSource 획득 */
+    /**
+     * ReadWrite DataSource 획득
+     *  - Pool 지표(hikaricp.*)는 Pool 이 시작되기 전에 등록해야 하므로 생성 전에 MetricsTrackerFactory 를 지정한다.
+     */
     @Bean(name = "readWriteDataSource")
-    public DataSource getDataSource(@Qualifier("readWrite") HikariConfig hikariConfig) {
+    public DataSource getDataSource(@Qualifier("readWrite") HikariConfig hikariConfig, final MeterRegistry meterRegistry) {
+        if (StringUtils.isBlank(hikariConfig.getPoolName())) {
+            hikariConfig.setPoolName("hikari-readwrite");
+        }
+        hikariConfig.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
         return new HikariDataSource(hikariConfig);
     }
 
+    @Bean
+    @ConfigurationProperties(prefix = "sample.mybatis.cache.invalidation")
+    public CacheInvalidationProperties cacheInvalidationProperties() {
+        return new CacheInvalidationProperties();
+    }
+
+    /** 노드간 캐시 무효화 채널 (PostgreSQL LISTEN / NOTIFY, sample.mybatis.cache.invalidation.enabled=true 일 때만) */
+    @Bean
+    @ConditionalOnProperty(prefix = "sample.mybatis.cache.invalidation", name = "enabled", havingValue = "true")
+    public PgNotifyCacheInvalidationChannel cacheInvalidationChannel(@Qualifier("readWrite") HikariConfig hikariConfig, final CacheInvalidationProperties cacheInvalidationProperties) {
+        return new PgNotifyCacheInvalidationChannel(hikariConfig, cacheInvalidationProperties);
+    }
+
     /** Mybatis SqlSessionFactory */
     @Bean(name = "readWriteSessionFactory")
-    public SqlSessionFactoryBean sqlFactory(@Qualifier("readWriteDataSource") final DataSource dataSource, final ApplicationContext applicationContext) throws IOException {
-        return setSqlFactory(new SqlSessionFactoryBean(), dataSource, applicationContext);
+    public SqlSessionFactoryBean sqlFactory(@Qualifier("readWriteDataSource") final DataSource dataSource, final ApplicationContext applicationContext, final ObjectProvider<CacheInvalidationPublisher> cacheInvalidationPublisher, final ProfilingInterceptor profilingInterceptor) throws IOException {
+        // 노드간 무효화를 사용하지 않으면 로컬 캐시만 무효화
+        return setSqlFactory(new SqlSessionFactoryBean(), dataSource, applicationContext, cacheInvalidationPublisher.getIfAvailable(), profilingInterceptor);
     }
-    protected SqlSessionFactoryBean setSqlFactory(SqlSessionFactoryBean sqlFactory, DataSource dataSource, ApplicationContext context) throws IOException {
+    protected SqlSessionFactoryBean setSqlFactory(SqlSessionFactoryBean sqlFactory, DataSource dataSource, ApplicationContext context, CacheInvalidationPublisher cacheInvalidationPublisher, ProfilingInterceptor profilingInterceptor) throws IOException {
         sqlFactory.setDataSource(dataSource);
-        sqlFactory.setMapperLocations(context.getResources("classpath:/mapper/readwrite/*.xml"));
+        sqlFactory.setConfiguration(MybatisProfiling.newConfiguration(profilingInterceptor.getProperties()));
+        sqlFactory.setMapperLocations(MybatisProfiling.mapperLocations(context, "classpath:/mapper/readwrite/*.xml"));
         sqlFactory.setTypeAliasesPackage("com.hashmap27.**.domain.**");
         sqlFactory.setTypeHandlersPackage("com.hashmap27.**.domain.**");
+        // 쓰기 대상 테이블을 조회하는 ReadOnly 2차 캐시 무효화 (다른 노드로 전파)
+        sqlFactory.setPlugins(new Interceptor[] { profilingInterceptor, new TableInvalidationInterceptor(cacheInvalidationPublisher) });
 
         return sqlFactory;
     }
@@ -58,6 +96,24 @@ public class MybatisReadWrite {
         return new SqlSessionTemplate(sqlSessionFactory);
     }
 
+    /** ExecutorType.BATCH SqlSessionTemplate (BatchWriter 전용) */
+    @Bean(name = "readWriteBatchSessionTemplate")
+    public SqlSessionTemplate getBatchSessionTemplate(@Qualifier("readWriteSessionFactory") final SqlSessionFactory sqlSessionFactory) {
+        return new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "sample.mybatis.batch")
+    public BatchWriteProperties batchWriteProperties() {
+        return new BatchWriteProperties();
+    }
+
+    /** ReadWrite Mapper Batch 쓰기 */
+    @Bean
+    public BatchWriter batchWriter(@Qualifier("readWriteBatchSessionTemplate") final SqlSessionTemplate batchSessionTemplate, final DataSourceTransactionManager transactionManager, final BatchWriteProperties batchWriteProperties) {
+        return new BatchWriter(batchSessionTemplate, transactionManager, batchWriteProperties);
+    }
+
     @Bean
     @Primary
     public DataSourceTransactionManager getTransactionManager(@Qualifier("readWriteDataSource") final DataSource dataSource) {
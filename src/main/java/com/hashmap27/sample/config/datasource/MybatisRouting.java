@@ -0,0 +1,104 @@
+package com.hashmap27.sample.config.datasource;
+
+import com.hashmap27.sample.component.mybatis.cache.CacheInvalidationPublisher;
+import com.hashmap27.sample.component.mybatis.cache.TableInvalidationInterceptor;
+import com.hashmap27.sample.component.mybatis.profiling.ProfilingInterceptor;
+import com.hashmap27.sample.config.type.DataSourceType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 실행 시점 ReadOnly / ReadWrite 라우팅 Mapper 설정
+ *  - @UseRoutingDataSource Mapper 하나로 조회는 Replica, 쓰기는 Primary 로 보낸다.
+ *  - 트랜잭션 라우팅을 위해 서비스 메소드에는 routingTransactionManager 를 지정한다.
+ *
+ * <pre>
+ *  &#64;Transactional(transactionManager = MybatisRouting.TRANSACTION_MANAGER, readOnly = true)   // Replica
+ *  &#64;Transactional(transactionManager = MybatisRouting.TRANSACTION_MANAGER)                    // Primary
+ *  &#64;UseReadOnlyDataSource                                                                    // 트랜잭션 없이 Replica
+ * </pre>
+ */
+@MapperScan(
+        basePackages = "com.hashmap27.sample"
+        , annotationClass = UseRoutingDataSource.class
+        , sqlSessionFactoryRef = "routingSessionFactory"
+)
+@Configuration
+public class MybatisRouting {
+
+    /** Routing Mapper 를 사용하는 트랜잭션 매니저 Bean 이름 */
+    public static final String TRANSACTION_MANAGER = "routingTransactionManager";
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.multi-datasource.routing")
+    public RoutingProperties routingProperties() {
+        return new RoutingProperties();
+    }
+
+    /**
+     * Routing DataSource 획득
+     *  - 기존 readOnly / readWrite Pool 을 그대로 사용하며, 첫 SQL 실행 시점에 대상을 결정한다.
+     */
+    @Bean(name = "routingDataSource")
+    public DataSource getDataSource(@Qualifier("readOnlyDataSource") final DataSource readOnlyDataSource, @Qualifier("readWriteDataSource") final DataSource readWriteDataSource, final RoutingProperties routingProperties) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(DataSourceType.READ_ONLY, readOnlyDataSource);
+        targetDataSources.put(DataSourceType.READ_WRITE, readWriteDataSource);
+
+        TransactionRoutingDataSource routingDataSource = new TransactionRoutingDataSource(routingProperties);
+        routingDataSource.setTargetDataSources(targetDataSources);
+        routingDataSource.setDefaultTargetDataSource(readWriteDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        // 기동 시 기본 커넥션 속성 확인을 위한 커넥션 획득을 하지 않도록 지정
+        LazyConnectionDataSourceProxy lazyDataSource = new LazyConnectionDataSourceProxy();
+        lazyDataSource.setTargetDataSource(routingDataSource);
+        lazyDataSource.setDefaultAutoCommit(true);
+        lazyDataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return lazyDataSource;
+    }
+
+    /** Mybatis SqlSessionFactory */
+    @Bean(name = "routingSessionFactory")
+    public SqlSessionFactoryBean sqlFactory(@Qualifier("routingDataSource") final DataSource dataSource, final ApplicationContext applicationContext, final ObjectProvider<CacheInvalidationPublisher> cacheInvalidationPublisher, final ProfilingInterceptor profilingInterceptor) throws IOException {
+        // 노드간 무효화를 사용하지 않으면 로컬 캐시만 무효화
+        return setSqlFactory(new SqlSessionFactoryBean(), dataSource, applicationContext, cacheInvalidationPublisher.getIfAvailable(), profilingInterceptor);
+    }
+    protected SqlSessionFactoryBean setSqlFactory(SqlSessionFactoryBean sqlFactory, DataSource dataSource, ApplicationContext context, CacheInvalidationPublisher cacheInvalidationPublisher, ProfilingInterceptor profilingInterceptor) throws IOException {
+        sqlFactory.setDataSource(dataSource);
+        sqlFactory.setConfiguration(MybatisProfiling.newConfiguration(profilingInterceptor.getProperties()));
+        sqlFactory.setMapperLocations(MybatisProfiling.mapperLocations(context, "classpath:/mapper/routing/*.xml"));
+        sqlFactory.setTypeAliasesPackage("com.hashmap27.**.domain.**");
+        sqlFactory.setTypeHandlersPackage("com.hashmap27.**.domain.**");
+        sqlFactory.setPlugins(new Interceptor[] { profilingInterceptor, new RoutingWriteTrackingInterceptor(), new TableInvalidationInterceptor(cacheInvalidationPublisher) });
+
+        return sqlFactory;
+    }
+
+    @Bean(name = "routingSessionTemplate")
+    public SqlSessionTemplate getSessionTemplate(@Qualifier("routingSessionFactory") final SqlSessionFactory sqlSessionFactory) {
+        return new SqlSessionTemplate(sqlSessionFactory);
+    }
+
+    @Bean(name = TRANSACTION_MANAGER)
+    public DataSourceTransactionManager getTransactionManager(@Qualifier("routingDataSource") final DataSource dataSource) {
+        return new DataSourceTransactionManager(dataSource);
+    }
+}
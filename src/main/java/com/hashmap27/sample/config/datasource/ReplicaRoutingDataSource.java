@@ -0,0 +1,216 @@
+package com.hashmap27.sample.config.datasource;
+
+import com.hashmap27.sample.config.type.ReplicaLoadBalanceType;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ReadOnly Replica 라우팅 DataSource
+ *  - 커넥션 요청마다 N 개의 Replica Pool 중 하나를 선택한다. (ROUND_ROBIN / LEAST_OUTSTANDING)
+ *  - 주기적으로 복제 지연(pg_last_xact_replay_timestamp)을 측정하여 maxLag 를 초과하거나 접속 불가한 Replica 는 제외한다.
+ *  - 커넥션 획득 실패는 접속 불가(SQLState 08)일 때만 제외하고, Pool 대기 시간 초과는 다음 Replica 로 넘어간다.
+ *  - 사용 가능한 Replica 가 없으면 Primary 로 보낸다. (fallbackToPrimary)
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+    /**
+     * 복제 지연(ms) 측정 쿼리
+     *  - Primary 에 쓰기가 없으면 replay timestamp 가 갱신되지 않으므로, 수신/재생 LSN 이 같으면 지연 0 으로 본다.
+     */
+    private static final String REPLICATION_LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE((EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000)::bigint, 0) END";
+
+    private final List<Replica> replicas;
+    private final DataSource primary;
+    private final ReplicaRoutingProperties properties;
+
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private ScheduledExecutorService lagChecker;
+
+    /**
+     * 생성자
+     * @param replicaDataSources Replica Pool 목록
+     * @param primary 사용 가능한 Replica 가 없을 때 사용할 Primary DataSource
+     * @param properties 라우팅 설정
+     */
+    public ReplicaRoutingDataSource(List<HikariDataSource> replicaDataSources, DataSource primary, ReplicaRoutingProperties properties) {
+        List<Replica> list = new ArrayList<>(replicaDataSources.size());
+        for (HikariDataSource dataSource : replicaDataSources) {
+            list.add(new Replica(dataSource));
+        }
+        this.replicas = Collections.unmodifiableList(list);
+        this.primary = primary;
+        this.properties = properties;
+    }
+
+    /** Replica Pool 목록 */
+    public List<HikariDataSource> getReplicaDataSources() {
+        List<HikariDataSource> dataSources = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            dataSources.add(replica.dataSource);
+        }
+        return dataSources;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        int size = replicas.size();
+        int start = nextIndex();
+        SQLException lastException = null;
+        // 이번 요청에서 이미 시도한 Replica (Pool 대기 시간 초과로 실패한 바쁜 Replica 를 다시 고르지 않도록)
+        boolean[] tried = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            int index = (properties.getLoadBalance() == ReplicaLoadBalanceType.LEAST_OUTSTANDING) ? leastOutstanding(tried) : (start + i) % size;
+            if (index < 0) {
+                break;
+            }
+            tried[index] = true;
+            Replica replica = replicas.get(index);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return (username == null) ? replica.dataSource.getConnection() : replica.dataSource.getConnection(username, password);
+            } catch (SQLException e) {
+                lastException = e;
+                if (isConnectivityFailure(e)) {
+                    // 다음 측정 주기까지 제외
+                    replica.healthy = false;
+                    log.warn("replica getConnection FAILED. pool: {} - {} - {}", replica.dataSource.getPoolName(), e.getClass().getName(), e.getMessage());
+                } else {
+                    // Pool 대기 시간 초과 등 (Replica 는 정상) → 제외하지 않고 다음 Replica
+                    log.debug("replica getConnection FAILED. pool: {} - {} - {}", replica.dataSource.getPoolName(), e.getClass().getName(), e.getMessage());
+                }
+            }
+        }
+
+        if (properties.isFallbackToPrimary()) {
+            log.debug("no available replica. fallback to primary.");
+            return (username == null) ? primary.getConnection() : primary.getConnection(username, password);
+        }
+        throw new SQLException("No healthy replica available.", lastException);
+    }
+
+    /**
+     * 접속 불가(SQLState 08xxx)인가?
+     *  - Hikari 가 Pool 대기 시간 초과(SQLTransientConnectionException)를 던질 때는 마지막 접속 실패의 SQLState 를 전달하므로,
+     *    DB 에 접속할 수 없어서 Pool 이 비어 있는 경우만 08 이 된다. 단순히 Pool 이 바쁜 경우는 SQLState 가 없다.
+     */
+    static boolean isConnectivityFailure(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState().startsWith("08");
+    }
+
+    private int nextIndex() {
+        return Math.floorMod(roundRobin.getAndIncrement(), Math.max(replicas.size(), 1));
+    }
+
+    /**
+     * 사용중 + 대기중 커넥션이 가장 적은 정상 Replica
+     * @param tried 이번 요청에서 이미 시도한 Replica (제외)
+     * @return Replica 순번, 없으면 -1
+     */
+    private int leastOutstanding(boolean[] tried) {
+        int selected = -1;
+        int selectedOutstanding = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            if (tried[i] || !replica.healthy) {
+                continue;
+            }
+            HikariPoolMXBean pool = replica.dataSource.getHikariPoolMXBean();
+            int outstanding = (pool == null) ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            if (outstanding < selectedOutstanding) {
+                selected = i;
+                selectedOutstanding = outstanding;
+            }
+        }
+        return selected;
+    }
+
+    /** 모든 Replica 의 복제 지연을 측정하여 라우팅 대상 여부를 갱신 */
+    void checkReplicationLag() {
+        long maxLagMillis = properties.getMaxLag().toMillis();
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(REPLICATION_LAG_SQL)) {
+                replica.lagMillis = rs.next() ? rs.getLong(1) : Long.MAX_VALUE;
+                replica.healthy = replica.lagMillis <= maxLagMillis;
+            } catch (SQLException e) {
+                replica.lagMillis = Long.MAX_VALUE;
+                replica.healthy = false;
+                log.warn("replication lag check FAILED. pool: {} - {} - {}", replica.dataSource.getPoolName(), e.getClass().getName(), e.getMessage());
+            }
+            if (wasHealthy != replica.healthy) {
+                log.warn("replica {} {}. lag: {}ms, maxLag: {}ms", replica.dataSource.getPoolName(), replica.healthy ? "RESTORED" : "EJECTED", replica.lagMillis, maxLagMillis);
+            }
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long interval = properties.getCheckInterval().toMillis();
+        lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-checker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagChecker.scheduleWithFixedDelay(() -> {
+            try {
+                checkReplicationLag();
+            } catch (Exception e) {
+                log.warn("checkReplicationLag FAILED. {} - {}", e.getClass().getName(), e.getMessage(), e);
+            }
+        }, 0L, interval, TimeUnit.MILLISECONDS);
+        log.info("## {} initialized. replicas: {}, loadBalance: {}, maxLag: {}", getClass().getSimpleName(), replicas.size(), properties.getLoadBalance(), properties.getMaxLag());
+    }
+
+    @Override
+    public void destroy() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+
+    /** Replica Pool 및 상태 */
+    private static class Replica {
+        private final HikariDataSource dataSource;
+        /** 라우팅 대상 여부 (첫 측정 전까지는 정상으로 간주) */
+        private volatile boolean healthy = true;
+        /** 마지막 측정 복제 지연(ms) */
+        private volatile long lagMillis = 0L;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.hashmap27.sample.config.datasource;
+
+import com.hashmap27.sample.config.type.ReplicaLoadBalanceType;
+import com.zaxxer.hikari.HikariConfig;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReadOnly Replica 라우팅 설정 (spring.multi-datasource.replica-routing)
+ */
+@Getter
+@Setter
+public class ReplicaRoutingProperties {
+
+    /** 사용 여부 (false 이면 spring.multi-datasource.readonly 단일 Pool 사용) */
+    private boolean enabled = false;
+
+    /** 부하분산 방식 */
+    private ReplicaLoadBalanceType loadBalance = ReplicaLoadBalanceType.ROUND_ROBIN;
+
+    /** 허용 복제 지연. 초과한 Replica 는 라우팅에서 제외 */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /** 복제 지연 측정 주기 */
+    private Duration checkInterval = Duration.ofSeconds(2);
+
+    /** 사용 가능한 Replica 가 없을 때 Primary(readWriteDataSource) 로 보낼 것인가? */
+    private boolean fallbackToPrimary = true;
+
+    /** Replica 별 Hikari 설정 */
+    private List<HikariConfig> replicas = new ArrayList<>();
+}
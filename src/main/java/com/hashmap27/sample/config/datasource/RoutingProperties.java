@@ -0,0 +1,21 @@
+package com.hashmap27.sample.config.datasource;
+
+import com.hashmap27.sample.config.type.DataSourceType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * 실행 시점 ReadOnly / ReadWrite 라우팅 설정 (spring.multi-datasource.routing)
+ */
+@Getter
+@Setter
+public class RoutingProperties {
+
+    /** 쓰기 이후 같은 요청(스레드)의 조회를 Primary 로 고정하는 시간 (read-your-writes) */
+    private Duration writeStickyWindow = Duration.ofSeconds(2);
+
+    /** 트랜잭션/어노테이션 지정이 없는 호출의 기본 대상 */
+    private DataSourceType defaultType = DataSourceType.READ_WRITE;
+}
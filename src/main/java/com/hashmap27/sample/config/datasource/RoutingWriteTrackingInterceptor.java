@@ -0,0 +1,24 @@
+package com.hashmap27.sample.config.datasource;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+/**
+ * Routing Mapper 의 INSERT / UPDATE / DELETE 실행을 DataSourceRoutingContext 에 기록
+ *  - 이후 writeStickyWindow 동안 같은 요청의 조회는 Primary 로 라우팅된다.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class RoutingWriteTrackingInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        DataSourceRoutingContext.markWrite();
+        return invocation.proceed();
+    }
+}
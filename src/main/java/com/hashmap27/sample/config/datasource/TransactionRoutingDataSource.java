@@ -0,0 +1,39 @@
+package com.hashmap27.sample.config.datasource;
+
+import com.hashmap27.sample.config.type.DataSourceType;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 상태에 따라 ReadOnly / ReadWrite 를 선택하는 DataSource
+ *  - 쓰기 트랜잭션 중이거나 writeStickyWindow 이내에 쓰기가 있었으면 READ_WRITE
+ *  - @Transactional(readOnly = true) 또는 메소드 레벨 @UseReadOnlyDataSource 이면 READ_ONLY
+ *  - 메소드 레벨 @UseReadWriteDataSource 이면 READ_WRITE, 지정이 없으면 defaultType
+ *
+ * 트랜잭션 시작 시점이 아닌 첫 SQL 실행 시점에 판단해야 하므로 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+ */
+public class TransactionRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final RoutingProperties properties;
+
+    public TransactionRoutingDataSource(RoutingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean transactionActive = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean transactionReadOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (transactionActive && !transactionReadOnly) {
+            return DataSourceType.READ_WRITE;
+        }
+        if (DataSourceRoutingContext.isWrittenWithin(properties.getWriteStickyWindow())) {
+            return DataSourceType.READ_WRITE;
+        }
+        if (transactionReadOnly) {
+            return DataSourceType.READ_ONLY;
+        }
+        DataSourceType current = DataSourceRoutingContext.current();
+        return current != null ? current : properties.getDefaultType();
+    }
+}
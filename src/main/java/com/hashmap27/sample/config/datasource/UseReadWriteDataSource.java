@@ -5,7 +5,12 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * ReadWrite DataSource 사용 지정
+ *  - TYPE: MapperScan 대상 Mapper 지정 (MybatisReadWrite)
+ *  - METHOD: @UseRoutingDataSource Mapper 호출 시 Primary 로 라우팅 (DataSourceRoutingAspect)
+ */
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.TYPE)
+@Target({ElementType.TYPE, ElementType.METHOD})
 public @interface UseReadWriteDataSource {
 }
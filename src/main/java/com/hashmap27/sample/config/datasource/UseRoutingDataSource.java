@@ -0,0 +1,14 @@
+package com.hashmap27.sample.config.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 실행 시점에 ReadOnly / ReadWrite 를 선택하는 Mapper 지정 (MybatisRouting)
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface UseRoutingDataSource {
+}
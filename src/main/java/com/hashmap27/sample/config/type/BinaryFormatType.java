@@ -0,0 +1,22 @@
+package com.hashmap27.sample.config.type;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 내부 서비스간 호출 Binary 직렬화 형식
+ */
+public enum BinaryFormatType {
+
+    SMILE(new MediaType("application", "x-jackson-smile")),     /* Jackson Smile (JSON 호환 Binary) */
+    CBOR(MediaType.APPLICATION_CBOR);                           /* CBOR (RFC 8949) */
+
+    private final MediaType mediaType;
+
+    BinaryFormatType(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
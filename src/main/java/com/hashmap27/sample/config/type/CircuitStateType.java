@@ -0,0 +1,11 @@
+package com.hashmap27.sample.config.type;
+
+/**
+ * 외부 호출 Circuit Breaker 상태
+ */
+public enum CircuitStateType {
+
+    CLOSED,                     /* 정상: 모든 호출 허용 */
+    OPEN,                       /* 차단: 호출 없이 바로 실패 */
+    HALF_OPEN                   /* 시험: 일부 호출만 허용하여 복구 여부 확인 */
+}
@@ -0,0 +1,10 @@
+package com.hashmap27.sample.config.type;
+
+/**
+ * 라우팅 대상 DataSource Type
+ */
+public enum DataSourceType {
+
+    READ_ONLY,      /* Replica (readOnlyDataSource) */
+    READ_WRITE      /* Primary (readWriteDataSource) */
+}
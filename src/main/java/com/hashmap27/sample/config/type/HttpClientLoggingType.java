@@ -0,0 +1,12 @@
+package com.hashmap27.sample.config.type;
+
+/**
+ * RestTemplate 외부 호출 로그 방식
+ */
+public enum HttpClientLoggingType {
+
+    NONE,                       /* 로그 없음 */
+    BUFFERED,                   /* 응답 Body 전체 버퍼링 후 출력 (기존 방식) */
+    STREAMING,                  /* 응답 Body 앞부분만 복사하여 호출 스레드에서 출력 */
+    ASYNC                       /* 응답 Body 앞부분만 복사하여 HttpExchangeLogPipeline 에서 출력 */
+}
@@ -0,0 +1,10 @@
+package com.hashmap27.sample.config.type;
+
+/**
+ * 비동기 로그 대기열이 가득 찼을 때의 처리 방식
+ */
+public enum LogOverflowPolicyType {
+
+    DROP,                       /* 버리고 dropped 건수 증가 */
+    BLOCK                       /* blockTimeout 까지 대기 후 버림 */
+}
@@ -0,0 +1,10 @@
+package com.hashmap27.sample.config.type;
+
+/**
+ * ReadOnly Replica 부하분산 방식
+ */
+public enum ReplicaLoadBalanceType {
+
+    ROUND_ROBIN,                /* 순차 분배 */
+    LEAST_OUTSTANDING           /* 사용중 + 대기중 커넥션이 가장 적은 Replica */
+}
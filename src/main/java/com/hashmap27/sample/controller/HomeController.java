@@ -3,12 +3,23 @@ package com.hashmap27.sample.controller;
 import com.hashmap27.sample.component.exception.SampleBadRequestException;
 import com.hashmap27.sample.component.exception.SampleConflictException;
 import com.hashmap27.sample.component.exception.SampleNotFoundException;
+import com.hashmap27.sample.component.stream.CursorStreamer;
 import com.hashmap27.sample.domain.vo.HomeVO;
+import com.hashmap27.sample.domain.vo.SampleRowVO;
 import com.hashmap27.sample.service.HomeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Default Home Controller
@@ -22,6 +33,14 @@ public class HomeController {
     /** HomeService */
     private final HomeService homeService;
 
+    /** Cursor 스트리밍 응답 */
+    private final CursorStreamer cursorStreamer;
+
+    /** 고정 코드 업무 오류 (Stack trace 없이 재사용) */
+    private static final SampleBadRequestException BAD_REQUEST = SampleBadRequestException.stackless("bad.request.error", "badRequest 테스트", "HomeController badRequest() 실행");
+    private static final SampleNotFoundException NOT_FOUND = SampleNotFoundException.stackless("not.found.error", "notFound 테스트", "HomeController notFound() 실행");
+    private static final SampleConflictException CONFLICT = SampleConflictException.stackless("conflict.error", "conflict 테스트", "HomeController conflict() 실행");
+
     @GetMapping("/")
     public HomeVO home() {
         return HomeVO.builder()
@@ -30,17 +49,17 @@ public class HomeController {
 
     @GetMapping("/bad-request")
     public void badRequest() {
-        throw new SampleBadRequestException("bad.request.error", "badRequest 테스트", "HomeController badRequest() 실행");
+        throw BAD_REQUEST;
     }
 
     @GetMapping("/not-found")
     public void notFound() {
-        throw new SampleNotFoundException("not.found.error", "notFound 테스트", "HomeController notFound() 실행");
+        throw NOT_FOUND;
     }
 
     @GetMapping("/conflict")
     public void conflict() {
-        throw new SampleConflictException("conflict.error", "conflict 테스트", "HomeController conflict() 실행");
+        throw CONFLICT;
     }
 
     @GetMapping("/read-only")
@@ -52,4 +71,67 @@ public class HomeController {
     public Integer readWrite() {
         return this.homeService.getReadWrite();
     }
+
+    @GetMapping("/fan-out")
+    public Map<String, Integer> fanOut() {
+        return this.homeService.getReadOnlyAndReadWrite();
+    }
+
+    @GetMapping("/routing/read-only")
+    public Integer routingReadOnly() {
+        return this.homeService.getRoutingReadOnly();
+    }
+
+    @GetMapping("/routing/read-write")
+    public Integer routingReadWrite() {
+        return this.homeService.getRoutingReadWrite();
+    }
+
+    /**
+     * COPY CSV 스트리밍 추출
+     *  - 결과를 List 로 만들지 않고 COPY TO STDOUT 을 응답 스트림으로 바로 전달한다.
+     */
+    @GetMapping("/export/csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(@RequestParam(defaultValue = "1000") int rows) {
+        checkRows(rows);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"export.csv\"")
+                .body(out -> this.homeService.exportSampleCsv(rows, out));
+    }
+
+    /**
+     * Cursor JSON 스트리밍 (ApiCommonResponse 형태)
+     */
+    @GetMapping("/stream/json")
+    public ResponseEntity<StreamingResponseBody> streamJson(@RequestParam(defaultValue = "1000") int rows) {
+        checkRows(rows);
+        return this.cursorStreamer.json(() -> this.homeService.getSampleRowCursor(rows));
+    }
+
+    /**
+     * Cursor NDJSON 스트리밍
+     */
+    @GetMapping("/stream/ndjson")
+    public ResponseEntity<StreamingResponseBody> streamNdjson(@RequestParam(defaultValue = "1000") int rows) {
+        checkRows(rows);
+        return this.cursorStreamer.ndjson(() -> this.homeService.getSampleRowCursor(rows));
+    }
+
+    /**
+     * 건별 조회 반복 (BatchLoader 로 한 번에 조회)
+     */
+    @GetMapping("/sample-rows")
+    public List<SampleRowVO> sampleRows(@RequestParam List<Long> ids) {
+        if (ids.size() > 1_000) {
+            throw SampleBadRequestException.stackless("sample.rows.ids.invalid", "ids 는 1000 개 이하여야 합니다.", "HomeController ids: " + ids.size());
+        }
+        return this.homeService.getSampleRows(ids);
+    }
+
+    private void checkRows(int rows) {
+        if (rows < 1 || rows > 1_000_000) {
+            throw SampleBadRequestException.stackless("export.rows.invalid", "rows 는 1 ~ 1000000 사이 값이어야 합니다.", "HomeController rows: " + rows);
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.hashmap27.sample.domain.vo;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대량 조회 / 스트리밍 Test Value Object
+ */
+@Getter
+@Setter
+@ToString
+public class SampleRowVO {
+
+    /** 순번 */
+    private Long id;
+
+    /** 값 */
+    private String value;
+
+    /** 생성 일시 */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package com.hashmap27.sample.repository;
+
+import com.hashmap27.sample.config.datasource.UseRoutingDataSource;
+import com.hashmap27.sample.domain.vo.SampleRowVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 실행 시점에 ReadOnly / ReadWrite 가 결정되는 Mapper
+ *  - 트랜잭션(readOnly 여부) 또는 서비스 메소드의 @UseReadOnlyDataSource / @UseReadWriteDataSource 로 대상을 정한다.
+ */
+@Mapper
+@UseRoutingDataSource
+@Repository
+public interface CommonMapper {
+
+    Integer routingTest();
+
+    /** 대량 조회 Test (Cursor, 트랜잭션 안에서만 읽을 수 있음) */
+    Cursor<SampleRowVO> selectSampleRowCursor(@Param("rows") int rows);
+
+    /** 일괄 조회 Test (id = ANY(?), BatchLoader 용) */
+    List<SampleRowVO> selectSampleRowsByIds(@Param("ids") Long[] ids);
+}
@@ -4,6 +4,11 @@ import com.hashmap27.sample.config.datasource.UseReadWriteDataSource;
 import org.apache.ibatis.annotations.Mapper;
 import org.springframework.stereotype.Repository;
 
+/**
+ * ReadWrite 전용 Mapper
+ * @deprecated 새 쿼리는 실행 시점에 라우팅되는 {@link com.hashmap27.sample.repository.CommonMapper} 에 작성한다.
+ */
+@Deprecated
 @Mapper
 @UseReadWriteDataSource
 @Repository
@@ -1,5 +1,12 @@
 package com.hashmap27.sample.service;
 
+import com.hashmap27.sample.domain.vo.SampleRowVO;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
 /**
  * HomeService Interface
  */
@@ -8,4 +15,16 @@ public interface HomeService {
     Integer getReadOnly();
 
     Integer getReadWrite();
+
+    Integer getRoutingReadOnly();
+
+    Integer getRoutingReadWrite();
+
+    Map<String, Integer> getReadOnlyAndReadWrite();
+
+    long exportSampleCsv(int rows, OutputStream out);
+
+    Cursor<SampleRowVO> getSampleRowCursor(int rows);
+
+    List<SampleRowVO> getSampleRows(List<Long> ids);
 }
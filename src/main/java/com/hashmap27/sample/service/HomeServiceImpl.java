@@ -1,26 +1,59 @@
 package com.hashmap27.sample.service;
 
-import com.hashmap27.sample.repository.readonly.RoCommonMapper;
-import com.hashmap27.sample.repository.readwrite.RwCommonMapper;
+import com.hashmap27.sample.component.concurrent.FanOutExecutor;
+import com.hashmap27.sample.component.concurrent.FanOutScope;
+import com.hashmap27.sample.component.jdbc.PgCopyService;
+import com.hashmap27.sample.component.mybatis.loader.BatchLoader;
+import com.hashmap27.sample.component.mybatis.loader.BatchLoaderRegistry;
+import com.hashmap27.sample.config.datasource.DataSourceRoutingContext;
+import com.hashmap27.sample.config.datasource.MybatisRouting;
+import com.hashmap27.sample.config.datasource.UseReadOnlyDataSource;
+import com.hashmap27.sample.config.datasource.UseReadWriteDataSource;
+import com.hashmap27.sample.config.type.DataSourceType;
+import com.hashmap27.sample.domain.vo.SampleRowVO;
+import com.hashmap27.sample.repository.CommonMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class HomeServiceImpl implements HomeService {
 
-    private final RoCommonMapper roCommonMapper;
-    private final RwCommonMapper rwCommonMapper;
+    private final CommonMapper commonMapper;
+    private final PgCopyService pgCopyService;
+    private final FanOutExecutor fanOutExecutor;
+    private final BatchLoaderRegistry batchLoaderRegistry;
+
+    /** SampleRowVO id 별 일괄 조회 */
+    private BatchLoader<Long, SampleRowVO> sampleRowLoader;
+
+    @PostConstruct
+    public void registerBatchLoaders() {
+        this.sampleRowLoader = this.batchLoaderRegistry.register("sampleRow",
+                ids -> this.commonMapper.selectSampleRowsByIds(ids.toArray(new Long[0])), SampleRowVO::getId);
+    }
 
     /**
      * mybatis readOnly Test
      * @return
      */
     @Override
+    @UseReadOnlyDataSource
     public Integer getReadOnly() {
-        return this.roCommonMapper.roTest();
+        return this.commonMapper.routingTest();
     }
 
     /**
@@ -28,7 +61,104 @@ public class HomeServiceImpl implements HomeService {
      * @return
      */
     @Override
+    @UseReadWriteDataSource
     public Integer getReadWrite() {
-        return this.rwCommonMapper.rwTest();
+        return this.commonMapper.routingTest();
+    }
+
+    /**
+     * mybatis routing Test (readOnly 트랜잭션 → Replica)
+     * @return
+     */
+    @Override
+    @Transactional(transactionManager = MybatisRouting.TRANSACTION_MANAGER, readOnly = true)
+    public Integer getRoutingReadOnly() {
+        return this.commonMapper.routingTest();
+    }
+
+    /**
+     * mybatis routing Test (쓰기 트랜잭션 → Primary)
+     * @return
+     */
+    @Override
+    @Transactional(transactionManager = MybatisRouting.TRANSACTION_MANAGER)
+    public Integer getRoutingReadWrite() {
+        return this.commonMapper.routingTest();
+    }
+
+    /**
+     * Fan-out Test (readOnly / readWrite 동시 조회)
+     *  - 응답 시간은 두 조회 시간의 합이 아닌 최댓값
+     * @return readOnly, readWrite 결과
+     */
+    @Override
+    public Map<String, Integer> getReadOnlyAndReadWrite() {
+        try (FanOutScope scope = this.fanOutExecutor.open()) {
+            FanOutScope.Task<Integer> readOnly = fork(scope, DataSourceType.READ_ONLY, this.commonMapper::routingTest);
+            FanOutScope.Task<Integer> readWrite = fork(scope, DataSourceType.READ_WRITE, this.commonMapper::routingTest);
+            scope.join();
+
+            Map<String, Integer> result = new LinkedHashMap<>();
+            result.put("readOnly", readOnly.get());
+            result.put("readWrite", readWrite.get());
+            return result;
+        }
+    }
+
+    /** 작업이 dataSourceType 으로 라우팅되도록 fork (FanOutScope 는 fork 시점의 라우팅을 작업 스레드로 전달) */
+    private static <T> FanOutScope.Task<T> fork(FanOutScope scope, DataSourceType dataSourceType, Callable<T> callable) {
+        DataSourceRoutingContext.push(dataSourceType);
+        try {
+            return scope.fork(callable);
+        } finally {
+            DataSourceRoutingContext.pop();
+        }
+    }
+
+    /**
+     * COPY CSV 추출 Test (generate_series)
+     * @param rows 출력 건수
+     * @param out 출력 대상
+     * @return 출력 건수
+     */
+    @Override
+    public long exportSampleCsv(int rows, OutputStream out) {
+        return this.pgCopyService.copyOut("SELECT g AS id, md5(g::text) AS value, now() AS created_at FROM generate_series(1, " + rows + ") g", out);
+    }
+
+    /**
+     * Cursor 대량 조회 Test (generate_series)
+     *  - 호출자가 연 트랜잭션 안에서 읽어야 한다. (CursorStreamer 의 readOnly 트랜잭션 → Replica)
+     * @param rows 조회 건수
+     * @return Cursor
+     */
+    @Override
+    public Cursor<SampleRowVO> getSampleRowCursor(int rows) {
+        return this.commonMapper.selectSampleRowCursor(rows);
+    }
+
+    /**
+     * 건별 조회 Test (BatchLoader)
+     *  - id 마다 조회하는 반복문이지만 실제 조회는 id = ANY(?) 한 번이며, 중복 id 는 재사용한다.
+     * @param ids 조회 id 목록 (없는 id 는 결과에서 제외)
+     * @return 조회 결과
+     */
+    @Override
+    @UseReadOnlyDataSource
+    public List<SampleRowVO> getSampleRows(List<Long> ids) {
+        List<Supplier<SampleRowVO>> deferredRows = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            deferredRows.add(this.sampleRowLoader.load(id));
+        }
+
+        List<SampleRowVO> rows = new ArrayList<>(ids.size());
+        for (Supplier<SampleRowVO> deferredRow : deferredRows) {
+            SampleRowVO row = deferredRow.get();
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+        log.debug("getSampleRows statistics: {}", this.sampleRowLoader.getRequestStatistics());
+        return rows;
     }
 }
@@ -0,0 +1,59 @@
+package com.hashmap27.sample.component.advice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorBodyCacheTest {
+
+    private final ErrorBodyCache cache = new ErrorBodyCache(new ObjectMapper(), new ErrorBodyCacheProperties());
+
+    @Test
+    void sameErrorReusesSerializedBody() {
+        byte[] first = cache.get(400, "F01400", "잘못된 요청", null);
+        byte[] second = cache.get(400, "F01400", "잘못된 요청", null);
+
+        assertThat(first).isNotNull().isSameAs(second);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void errorWithDebugMessageIsNotCached() {
+        assertThat(cache.get(400, "F01400", "잘못된 요청", "id=1")).isNull();
+        assertThat(cache.get(400, "F01400", "잘못된 요청", "id=2")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void acceptsJsonWithoutPreference() {
+        assertThat(ErrorBodyCache.acceptsJson(null)).isTrue();
+        assertThat(ErrorBodyCache.acceptsJson(" ")).isTrue();
+        assertThat(ErrorBodyCache.acceptsJson("*/*")).isTrue();
+        assertThat(ErrorBodyCache.acceptsJson("application/json")).isTrue();
+        assertThat(ErrorBodyCache.acceptsJson("application/*")).isTrue();
+    }
+
+    @Test
+    void acceptsJsonFollowsBinaryFormatPreference() {
+        assertThat(ErrorBodyCache.acceptsJson("application/x-jackson-smile, application/json;q=0.5")).isFalse();
+        assertThat(ErrorBodyCache.acceptsJson("application/cbor, */*;q=0.1")).isFalse();
+        assertThat(ErrorBodyCache.acceptsJson("application/cbor;q=0.5, application/json")).isTrue();
+        assertThat(ErrorBodyCache.acceptsJson("application/json, application/x-jackson-smile")).isTrue();
+    }
+
+    @Test
+    void acceptsJsonIgnoresRefusedTypes() {
+        // q=0 은 거부
+        assertThat(ErrorBodyCache.acceptsJson("application/cbor;q=0, application/json")).isTrue();
+        assertThat(ErrorBodyCache.acceptsJson("application/x-jackson-smile;q=0, */*")).isTrue();
+        assertThat(ErrorBodyCache.acceptsJson("application/json;q=0, */*")).isFalse();
+        assertThat(ErrorBodyCache.acceptsJson("application/json;q=0, application/cbor")).isFalse();
+    }
+
+    @Test
+    void acceptsJsonLeavesInvalidHeaderToContentNegotiation() {
+        assertThat(ErrorBodyCache.acceptsJson("text/html")).isFalse();
+        assertThat(ErrorBodyCache.acceptsJson("not a media type;;")).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+package com.hashmap27.sample.component.advice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashmap27.sample.component.common.ApiCommonResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseEntityCommonAdviceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void eTagIsDisabledByDefault() {
+        assertThat(eTagOf(new ETagProperties(), response("token-1"))).isNull();
+    }
+
+    @Test
+    void eTagIgnoresNextPageTokenValue() {
+        ETagProperties properties = enabled();
+
+        String first = eTagOf(properties, response("token-issued-at-1"));
+        String second = eTagOf(properties, response("token-issued-at-2"));
+
+        assertThat(first).isNotNull().isEqualTo(second);
+        // 다음 페이지 유무는 반영
+        assertThat(eTagOf(properties, response(null))).isNotEqualTo(first);
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModified() {
+        ETagProperties properties = enabled();
+        String eTag = eTagOf(properties, response("token-1"));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rows");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Object body = write(properties, response("token-2"), request, response);
+
+        assertThat(body).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    private static ETagProperties enabled() {
+        ETagProperties properties = new ETagProperties();
+        properties.setEnabled(true);
+        return properties;
+    }
+
+    private static ApiCommonResponse<Object> response(String nextPageToken) {
+        return ApiCommonResponse.builder()
+                .status(200)
+                .code("SUCCESS")
+                .message("정상적으로 처리 되었습니다.")
+                .data(Arrays.asList(1, 2, 3))
+                .nextPageToken(nextPageToken)
+                .build();
+    }
+
+    private String eTagOf(ETagProperties properties, Object body) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        write(properties, body, new MockHttpServletRequest("GET", "/rows"), response);
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+
+    private Object write(ETagProperties properties, Object body, MockHttpServletRequest request, MockHttpServletResponse response) {
+        ResponseEntityCommonAdvice advice = new ResponseEntityCommonAdvice(objectMapper, properties);
+        return advice.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(response));
+    }
+}
@@ -0,0 +1,124 @@
+package com.hashmap27.sample.component.concurrent;
+
+import com.hashmap27.sample.component.exception.SampleServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FanOutScopeTest {
+
+    private final ExecutorService threadPool = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        threadPool.shutdownNow();
+        Thread.interrupted();
+    }
+
+    @Test
+    void joinReturnsAllResults() {
+        FanOutExecutor executor = new FanOutExecutor(threadPool, Duration.ofSeconds(5));
+
+        try (FanOutScope scope = executor.open()) {
+            FanOutScope.Task<Integer> first = scope.fork(() -> 1);
+            FanOutScope.Task<Integer> second = scope.fork(() -> 2);
+            scope.join();
+
+            assertThat(first.get() + second.get()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void failedTaskCancelsSiblings() throws InterruptedException {
+        FanOutExecutor executor = new FanOutExecutor(threadPool, Duration.ofSeconds(5));
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+        CountDownLatch siblingInterrupted = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("failed");
+
+        try (FanOutScope scope = executor.open()) {
+            scope.fork(() -> awaitInterrupt(siblingStarted, siblingInterrupted));
+            scope.fork(() -> {
+                siblingStarted.await();
+                throw failure;
+            });
+
+            assertThatThrownBy(scope::join).isSameAs(failure);
+        }
+        assertThat(siblingInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void deadlineCancelsRunningTasks() throws InterruptedException {
+        FanOutExecutor executor = new FanOutExecutor(threadPool, Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (FanOutScope scope = executor.open(Duration.ofMillis(100))) {
+            scope.fork(() -> awaitInterrupt(started, interrupted));
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(SampleServiceUnavailableException.class)
+                    .extracting("code").isEqualTo("F03504");
+        }
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void cancelledCallerRunTaskDoesNotLeaveInterrupt() {
+        // 첫 작업은 풀에서, 두번째 작업은 호출 스레드에서 실행 (CallerRunsPolicy 와 같은 상황)
+        AtomicInteger submitted = new AtomicInteger();
+        FanOutExecutor executor = new FanOutExecutor(task -> {
+            if (submitted.getAndIncrement() == 0) {
+                threadPool.execute(task);
+            } else {
+                task.run();
+            }
+        }, Duration.ofSeconds(5));
+        CountDownLatch callerRunStarted = new CountDownLatch(1);
+        AtomicBoolean callerRunInterrupted = new AtomicBoolean();
+        IllegalStateException failure = new IllegalStateException("failed");
+
+        try (FanOutScope scope = executor.open()) {
+            scope.fork(() -> {
+                callerRunStarted.await();
+                throw failure;
+            });
+            scope.fork(() -> {
+                // interrupt 에 반응하지 않는 작업 (JDBC 조회 등)
+                callerRunStarted.countDown();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (!Thread.currentThread().isInterrupted() && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+                callerRunInterrupted.set(Thread.currentThread().isInterrupted());
+                return null;
+            });
+
+            assertThat(callerRunInterrupted).isTrue();
+            assertThat(Thread.currentThread().isInterrupted()).isFalse();
+            assertThatThrownBy(scope::join).isSameAs(failure);
+        }
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    private static Object awaitInterrupt(CountDownLatch started, CountDownLatch interrupted) throws InterruptedException {
+        started.countDown();
+        try {
+            Thread.sleep(10_000L);
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            throw e;
+        }
+        return null;
+    }
+}
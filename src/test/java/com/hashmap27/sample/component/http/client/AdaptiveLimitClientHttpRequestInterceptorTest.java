@@ -0,0 +1,86 @@
+package com.hashmap27.sample.component.http.client;
+
+import com.hashmap27.sample.component.exception.SampleServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveLimitClientHttpRequestInterceptorTest {
+
+    private static final URI URI = java.net.URI.create("http://api.example.com/items");
+
+    private static final ClientHttpRequestExecution OK = (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+    private static final ClientHttpRequestExecution SERVER_ERROR = (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.BAD_GATEWAY);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveLimitClientHttpRequestInterceptor interceptor(int initialLimit) {
+        HttpResilienceProperties.AdaptiveLimit properties = new HttpResilienceProperties.AdaptiveLimit();
+        properties.setInitialLimit(initialLimit);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(12);
+        properties.setBackoffRatio(0.5);
+        properties.setLatencyThreshold(Duration.ofSeconds(10));
+        return new AdaptiveLimitClientHttpRequestInterceptor(properties, meterRegistry);
+    }
+
+    private static void call(AdaptiveLimitClientHttpRequestInterceptor interceptor, ClientHttpRequestExecution execution) throws IOException {
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI), new byte[0], execution);
+    }
+
+    @Test
+    void successIncreasesLimitAdditively() throws IOException {
+        AdaptiveLimitClientHttpRequestInterceptor interceptor = interceptor(10);
+
+        // 성공마다 +1/limit 이므로 limit 만큼 성공하면 약 1 증가
+        for (int i = 0; i < 11; i++) {
+            call(interceptor, OK);
+        }
+        assertThat(interceptor.stateOf(URI).getLimit()).isEqualTo(11);
+
+        for (int i = 0; i < 100; i++) {
+            call(interceptor, OK);
+        }
+        assertThat(interceptor.stateOf(URI).getLimit()).isEqualTo(12);
+    }
+
+    @Test
+    void failureDecreasesLimitMultiplicatively() throws IOException {
+        AdaptiveLimitClientHttpRequestInterceptor interceptor = interceptor(10);
+
+        call(interceptor, SERVER_ERROR);
+        assertThat(interceptor.stateOf(URI).getLimit()).isEqualTo(5);
+
+        call(interceptor, SERVER_ERROR);
+        call(interceptor, SERVER_ERROR);
+        assertThat(interceptor.stateOf(URI).getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsWhenInflightReachesLimit() throws IOException {
+        AdaptiveLimitClientHttpRequestInterceptor interceptor = interceptor(2);
+
+        call(interceptor, (request, body) -> {
+            call(interceptor, (innerRequest, innerBody) -> {
+                assertThat(interceptor.stateOf(URI).getInflight()).isEqualTo(2);
+                assertThatThrownBy(() -> call(interceptor, OK)).isInstanceOf(SampleServiceUnavailableException.class);
+                return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+            });
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        });
+
+        assertThat(interceptor.stateOf(URI).getInflight()).isZero();
+        assertThat(meterRegistry.get("http.client.resilience.rejected").tag("reason", "limit_exceeded").counter().count()).isEqualTo(1.0);
+    }
+}
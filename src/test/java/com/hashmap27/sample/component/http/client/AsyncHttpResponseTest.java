@@ -0,0 +1,27 @@
+package com.hashmap27.sample.component.http.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncHttpResponseTest {
+
+    @Test
+    void byteBodyIsCopiedForEachCaller() {
+        // 합쳐진 GET 요청의 호출자들이 같은 응답 객체를 공유
+        AsyncHttpResponse response = new AsyncHttpResponse("GET", URI.create("http://api.example.com/codes"), 200,
+                new HttpHeaders(), "abc".getBytes(StandardCharsets.UTF_8), new ObjectMapper());
+
+        byte[] first = response.bodyAs(byte[].class);
+        first[0] = 'x';
+        response.getBody()[1] = 'y';
+
+        assertThat(response.bodyAs(byte[].class)).isEqualTo("abc".getBytes(StandardCharsets.UTF_8));
+        assertThat(response.getBodyAsString()).isEqualTo("abc");
+    }
+}
@@ -0,0 +1,252 @@
+package com.hashmap27.sample.component.http.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingClientHttpRequestInterceptorTest {
+
+    private static final URI URI = java.net.URI.create("http://api.example.com/codes");
+
+    private final StubExecution execution = new StubExecution();
+    private final CachingClientHttpRequestInterceptor interceptor = new CachingClientHttpRequestInterceptor(enabled(), new SimpleMeterRegistry(), execution);
+
+    @AfterEach
+    void close() throws IOException {
+        interceptor.close();
+    }
+
+    @Test
+    void parseCacheControl() {
+        Map<String, String> directives = CachingClientHttpRequestInterceptor.parseCacheControl("Max-Age=60, no-cache, stale-if-error=\"30\" ,public");
+
+        assertThat(directives)
+                .containsEntry("max-age", "60")
+                .containsEntry("no-cache", "")
+                .containsEntry("stale-if-error", "30")
+                .containsEntry("public", "")
+                .hasSize(4);
+        assertThat(CachingClientHttpRequestInterceptor.parseCacheControl(null)).isEmpty();
+        assertThat(CachingClientHttpRequestInterceptor.parseCacheControl(" ")).isEmpty();
+    }
+
+    @Test
+    void freshResponseIsServedWithoutCall() throws IOException {
+        execution.respond(ok("max-age=60", "v1"));
+
+        assertThat(get()).isEqualTo("v1");
+        assertThat(get()).isEqualTo("v1");
+        assertThat(execution.calls()).isEqualTo(1);
+    }
+
+    @Test
+    void responseWithoutFreshnessOrValidatorIsNotStored() throws IOException {
+        execution.respond(ok(null, "v1"));
+        execution.respond(ok(null, "v2"));
+
+        assertThat(get()).isEqualTo("v1");
+        assertThat(get()).isEqualTo("v2");
+        assertThat(interceptor.getSize()).isZero();
+    }
+
+    @Test
+    void noStoreIsNotCached() throws IOException {
+        execution.respond(ok("no-store, max-age=60", "v1"));
+        execution.respond(ok("max-age=60", "v2"));
+
+        assertThat(get()).isEqualTo("v1");
+        assertThat(get()).isEqualTo("v2");
+    }
+
+    @Test
+    void staleWhileRevalidateServesStaleAndRefreshesInBackground() throws Exception {
+        execution.respond(ok("max-age=0, stale-while-revalidate=60", "v1"));
+        CountDownLatch revalidated = new CountDownLatch(1);
+        execution.respond(() -> {
+            revalidated.countDown();
+            return ok("max-age=60", "v2");
+        });
+
+        assertThat(get()).isEqualTo("v1");
+        assertThat(get()).isEqualTo("v1");
+        assertThat(revalidated.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 백그라운드 재검증 결과가 저장될 때까지 대기
+        long deadline = System.currentTimeMillis() + 5_000L;
+        String body = get();
+        while (!"v2".equals(body) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20L);
+            body = get();
+        }
+        assertThat(body).isEqualTo("v2");
+    }
+
+    @Test
+    void staleWhileRevalidateWithoutRequestFactoryRevalidatesSynchronously() throws IOException {
+        try (CachingClientHttpRequestInterceptor synchronous = new CachingClientHttpRequestInterceptor(enabled(), new SimpleMeterRegistry())) {
+            execution.respond(ok("max-age=0, stale-while-revalidate=60", "v1"));
+            execution.respond(ok("max-age=60", "v2"));
+
+            assertThat(get(synchronous)).isEqualTo("v1");
+            assertThat(get(synchronous)).isEqualTo("v2");
+            assertThat(execution.calls()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void disabledCacheCallsEveryTime() throws IOException {
+        try (CachingClientHttpRequestInterceptor disabled = new CachingClientHttpRequestInterceptor(new HttpCacheProperties(), new SimpleMeterRegistry())) {
+            execution.respond(ok("max-age=60", "v1"));
+            execution.respond(ok("max-age=60", "v2"));
+
+            assertThat(get(disabled)).isEqualTo("v1");
+            assertThat(get(disabled)).isEqualTo("v2");
+            assertThat(disabled.getSize()).isZero();
+        }
+    }
+
+    @Test
+    void notModifiedReusesStoredBody() throws IOException {
+        MockClientHttpResponse first = ok("max-age=0", "v1");
+        first.getHeaders().setETag("\"abc\"");
+        execution.respond(first);
+        execution.respond(new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED));
+
+        assertThat(get()).isEqualTo("v1");
+        assertThat(get()).isEqualTo("v1");
+        assertThat(execution.requests.get(1).getHeaders().getIfNoneMatch()).containsExactly("\"abc\"");
+    }
+
+    @Test
+    void staleIfErrorServesStoredResponseOnFailure() throws IOException {
+        execution.respond(ok("max-age=0, stale-if-error=60", "v1"));
+        execution.respond(() -> {
+            throw new IOException("connection reset");
+        });
+        execution.respond(new MockClientHttpResponse(new byte[0], HttpStatus.BAD_GATEWAY));
+
+        assertThat(get()).isEqualTo("v1");
+        assertThat(get()).isEqualTo("v1");
+        assertThat(get()).isEqualTo("v1");
+        assertThat(execution.calls()).isEqualTo(3);
+    }
+
+    @Test
+    void failureWithoutStaleIfErrorIsRethrown() throws IOException {
+        MockClientHttpResponse first = ok("max-age=0", "v1");
+        first.getHeaders().setETag("\"abc\"");
+        execution.respond(first);
+        execution.respond(() -> {
+            throw new IOException("connection reset");
+        });
+
+        assertThat(get()).isEqualTo("v1");
+        assertThatThrownBy(this::get).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void unsafeMethodInvalidatesUrl() throws IOException {
+        execution.respond(ok("max-age=60", "v1"));
+        execution.respond(new MockClientHttpResponse(new byte[0], HttpStatus.NO_CONTENT));
+        execution.respond(ok("max-age=60", "v2"));
+
+        assertThat(get()).isEqualTo("v1");
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.PUT, URI), new byte[0], execution).close();
+        assertThat(get()).isEqualTo("v2");
+    }
+
+    private String get() throws IOException {
+        return get(interceptor);
+    }
+
+    private String get(CachingClientHttpRequestInterceptor interceptor) throws IOException {
+        try (ClientHttpResponse response = interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI), new byte[0], execution)) {
+            return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static HttpCacheProperties enabled() {
+        HttpCacheProperties properties = new HttpCacheProperties();
+        properties.setEnabled(true);
+        return properties;
+    }
+
+    private static MockClientHttpResponse ok(String cacheControl, String body) {
+        MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        if (cacheControl != null) {
+            response.getHeaders().setCacheControl(cacheControl);
+        }
+        response.getHeaders().setContentLength(body.length());
+        return response;
+    }
+
+    private interface ResponseSupplier {
+        ClientHttpResponse get() throws IOException;
+    }
+
+    /** 미리 지정한 응답을 순서대로 반환 (백그라운드 재검증의 requestFactory 요청도 같은 순서로 응답) */
+    private static class StubExecution implements ClientHttpRequestExecution, ClientHttpRequestFactory {
+        private final Deque<ResponseSupplier> responses = new ArrayDeque<>();
+        private final List<HttpRequest> requests = new ArrayList<>();
+
+        void respond(ClientHttpResponse response) {
+            respond(() -> response);
+        }
+
+        synchronized void respond(ResponseSupplier supplier) {
+            responses.add(supplier);
+        }
+
+        synchronized int calls() {
+            return requests.size();
+        }
+
+        @Override
+        public ClientHttpResponse execute(HttpRequest request, byte[] body) throws IOException {
+            ResponseSupplier supplier;
+            synchronized (this) {
+                requests.add(request);
+                supplier = responses.poll();
+            }
+            if (supplier == null) {
+                throw new IllegalStateException("unexpected call: " + request.getURI());
+            }
+            return supplier.get();
+        }
+
+        @Override
+        public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+            return new MockClientHttpRequest(httpMethod, uri) {
+                @Override
+                protected ClientHttpResponse executeInternal() throws IOException {
+                    return StubExecution.this.execute(this, getBodyAsBytes());
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.hashmap27.sample.component.http.client;
+
+import com.hashmap27.sample.component.exception.SampleServiceUnavailableException;
+import com.hashmap27.sample.config.type.CircuitStateType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerClientHttpRequestInterceptorTest {
+
+    private static final URI URI = java.net.URI.create("http://api.example.com/items");
+
+    private static final ClientHttpRequestExecution OK = (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+    private static final ClientHttpRequestExecution SERVER_ERROR = (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.INTERNAL_SERVER_ERROR);
+    private static final ClientHttpRequestExecution IO_ERROR = (request, body) -> {
+        throw new IOException("connection refused");
+    };
+    private static final ClientHttpRequestExecution BULKHEAD_FULL = (request, body) -> {
+        throw new SampleServiceUnavailableException("F03503", "downstream.bulkhead_full");
+    };
+
+    private static CircuitBreakerClientHttpRequestInterceptor interceptor(Duration openDuration) {
+        HttpResilienceProperties.CircuitBreaker properties = new HttpResilienceProperties.CircuitBreaker();
+        properties.setSlidingWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setOpenDuration(openDuration);
+        properties.setHalfOpenCalls(2);
+        return new CircuitBreakerClientHttpRequestInterceptor(properties, new SimpleMeterRegistry());
+    }
+
+    private static void call(CircuitBreakerClientHttpRequestInterceptor interceptor, ClientHttpRequestExecution execution) throws IOException {
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI), new byte[0], execution);
+    }
+
+    private static void callIgnoringFailure(CircuitBreakerClientHttpRequestInterceptor interceptor, ClientHttpRequestExecution execution) {
+        try {
+            call(interceptor, execution);
+        } catch (IOException | RuntimeException e) {
+            // 실패 기록용
+        }
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() throws IOException {
+        CircuitBreakerClientHttpRequestInterceptor interceptor = interceptor(Duration.ofHours(1));
+
+        call(interceptor, OK);
+        call(interceptor, OK);
+        call(interceptor, SERVER_ERROR);
+        assertThat(interceptor.getState(URI)).isEqualTo(CircuitStateType.CLOSED);
+
+        callIgnoringFailure(interceptor, IO_ERROR);
+        assertThat(interceptor.getState(URI)).isEqualTo(CircuitStateType.OPEN);
+
+        assertThatThrownBy(() -> call(interceptor, OK))
+                .isInstanceOf(SampleServiceUnavailableException.class)
+                .hasMessageContaining("circuit_open");
+    }
+
+    @Test
+    void localRejectionIsNotCountedAsFailure() throws IOException {
+        CircuitBreakerClientHttpRequestInterceptor interceptor = interceptor(Duration.ofHours(1));
+
+        for (int i = 0; i < 20; i++) {
+            callIgnoringFailure(interceptor, BULKHEAD_FULL);
+        }
+        call(interceptor, OK);
+
+        assertThat(interceptor.getState(URI)).isEqualTo(CircuitStateType.CLOSED);
+    }
+
+    @Test
+    void halfOpenClosesAfterSuccessfulProbes() throws IOException {
+        CircuitBreakerClientHttpRequestInterceptor interceptor = interceptor(Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            callIgnoringFailure(interceptor, IO_ERROR);
+        }
+        assertThat(interceptor.getState(URI)).isEqualTo(CircuitStateType.OPEN);
+
+        call(interceptor, OK);
+        assertThat(interceptor.getState(URI)).isEqualTo(CircuitStateType.HALF_OPEN);
+
+        call(interceptor, OK);
+        assertThat(interceptor.getState(URI)).isEqualTo(CircuitStateType.CLOSED);
+    }
+
+    @Test
+    void halfOpenReopensOnFailedProbe() throws IOException {
+        CircuitBreakerClientHttpRequestInterceptor interceptor = interceptor(Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            callIgnoringFailure(interceptor, SERVER_ERROR);
+        }
+
+        call(interceptor, OK);
+        call(interceptor, SERVER_ERROR);
+
+        assertThat(interceptor.getState(URI)).isEqualTo(CircuitStateType.OPEN);
+    }
+
+    @Test
+    void halfOpenProbeSlotIsReturnedOnLocalRejection() throws IOException {
+        CircuitBreakerClientHttpRequestInterceptor interceptor = interceptor(Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            callIgnoringFailure(interceptor, IO_ERROR);
+        }
+
+        call(interceptor, OK);
+        callIgnoringFailure(interceptor, BULKHEAD_FULL);
+        callIgnoringFailure(interceptor, BULKHEAD_FULL);
+        assertThat(interceptor.getState(URI)).isEqualTo(CircuitStateType.HALF_OPEN);
+
+        call(interceptor, OK);
+        assertThat(interceptor.getState(URI)).isEqualTo(CircuitStateType.CLOSED);
+    }
+}
@@ -0,0 +1,41 @@
+package com.hashmap27.sample.component.http.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpContentUtilTest {
+
+    @Test
+    void determineCharsetFromContentType() {
+        assertThat(HttpContentUtil.determineCharset(headers("text/plain;charset=EUC-KR"))).isEqualTo(Charset.forName("EUC-KR"));
+        assertThat(HttpContentUtil.determineCharset(headers("application/json"))).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(HttpContentUtil.determineCharset(null)).isEqualTo(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void determineCharsetFallsBackOnBadHeader() {
+        assertThat(HttpContentUtil.determineCharset(headers("text/plain;charset=x-unknown-charset"))).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(HttpContentUtil.determineCharset(headers("text/plain;charset=\"utf 8\""))).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(HttpContentUtil.determineCharset(headers("not a media type"))).isEqualTo(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void invalidContentTypeIsNotText() {
+        assertThat(HttpContentUtil.getContentType(headers("text/"))).isNull();
+        assertThat(HttpContentUtil.hasTextBody(headers("text/"))).isFalse();
+        assertThat(HttpContentUtil.hasTextBody(headers("application/json"))).isTrue();
+        assertThat(HttpContentUtil.getContentType(headers("application/json"))).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    private static HttpHeaders headers(String contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, contentType);
+        return headers;
+    }
+}
@@ -0,0 +1,89 @@
+package com.hashmap27.sample.component.http.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoggingClientHttpRequestInterceptorTest {
+
+    private final CapturingPipeline pipeline = new CapturingPipeline();
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void asyncRecordCarriesCallerMdc() throws IOException {
+        MDC.put("traceId", "trace-1");
+        LoggingClientHttpRequestInterceptor interceptor = new LoggingClientHttpRequestInterceptor(pipeline);
+
+        execute(interceptor);
+
+        assertThat(pipeline.records).hasSize(1);
+        assertThat(pipeline.records.get(0).getMdc()).containsEntry("traceId", "trace-1");
+    }
+
+    @Test
+    void asyncCallsOverriddenMetadataHookOnRequestThread() throws IOException {
+        List<String> metadata = new ArrayList<>();
+        Thread requestThread = Thread.currentThread();
+        LoggingClientHttpRequestInterceptor interceptor = new LoggingClientHttpRequestInterceptor(pipeline) {
+            @Override
+            public void putMetadata(HttpRequest request, String namespace, String key, Object value) {
+                if (Thread.currentThread() == requestThread) {
+                    metadata.add(namespace + "." + key);
+                }
+            }
+        };
+
+        execute(interceptor);
+
+        assertThat(metadata).contains("request.method", "request.url", "response.status", "response.elapsedMillis");
+        assertThat(pipeline.records).hasSize(1);
+    }
+
+    private static void execute(LoggingClientHttpRequestInterceptor interceptor) throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://api.example.com/codes"));
+        MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], HttpStatus.NO_CONTENT);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try (ClientHttpResponse result = interceptor.intercept(request, "{}".getBytes(StandardCharsets.UTF_8), (req, body) -> response)) {
+            assertThat(result.getRawStatusCode()).isEqualTo(204);
+        }
+    }
+
+    /** 소비 스레드 없이 전달된 기록만 보관 */
+    private static class CapturingPipeline extends HttpExchangeLogPipeline {
+        private final List<HttpExchangeRecord> records = new ArrayList<>();
+
+        private CapturingPipeline() {
+            super(new HttpLogPipelineProperties(), null);
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean publish(HttpExchangeRecord record) {
+            records.add(record);
+            return true;
+        }
+    }
+}
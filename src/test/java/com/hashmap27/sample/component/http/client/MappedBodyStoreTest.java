@@ -0,0 +1,32 @@
+package com.hashmap27.sample.component.http.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedBodyStoreTest {
+
+    @Test
+    void wrapAroundInvalidatesPreviousGeneration() throws IOException {
+        try (MappedBodyStore store = new MappedBodyStore(null, 16)) {
+            MappedBodyStore.Slot first = store.write("0123456789".getBytes(StandardCharsets.UTF_8));
+            assertThat(store.read(first)).isEqualTo("0123456789".getBytes(StandardCharsets.UTF_8));
+
+            MappedBodyStore.Slot second = store.write("abcdefghij".getBytes(StandardCharsets.UTF_8));
+
+            assertThat(store.isValid(first)).isFalse();
+            assertThat(store.read(first)).isNull();
+            assertThat(store.read(second)).isEqualTo("abcdefghij".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void bodyLargerThanCapacityIsNotStored() throws IOException {
+        try (MappedBodyStore store = new MappedBodyStore(null, 4)) {
+            assertThat(store.write(new byte[5])).isNull();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.hashmap27.sample.component.http.server;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class CompressionFilterTest {
+
+    /** min-size(2048) 보다 큰 본문 */
+    private static final String BODY = "0123456789abcdef\n".repeat(512);
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mockMvc = MockMvcBuilders.standaloneSetup(new TestController())
+                .addFilters(new CompressionFilter(new CompressionProperties(), meterRegistry))
+                .build();
+    }
+
+    @Test
+    void compressesSynchronousResponse() throws Exception {
+        MvcResult result = mockMvc.perform(get("/sync").header(HttpHeaders.ACCEPT_ENCODING, "gzip")).andReturn();
+
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(result.getResponse().getContentAsByteArray())).isEqualTo(BODY);
+    }
+
+    @Test
+    void streamingResponseBodyIsNotCompressed() throws Exception {
+        MvcResult result = mockMvc.perform(get("/stream").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(10_000L);
+        result.getRequest().getAsyncContext().complete();
+        mockMvc.perform(asyncDispatch(result));
+
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(result.getResponse().getContentAsString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(meterRegistry.find("http.server.compression.skipped").tag("reason", "streamed").counter()).isNotNull()
+                .satisfies(counter -> assertThat(counter.count()).isEqualTo(1.0));
+    }
+
+    private static String gunzip(byte[] bytes) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        }
+    }
+
+    @RestController
+    static class TestController {
+
+        @GetMapping(value = "/sync", produces = MediaType.TEXT_PLAIN_VALUE)
+        public String sync() {
+            return BODY;
+        }
+
+        @GetMapping("/stream")
+        public ResponseEntity<StreamingResponseBody> stream() {
+            return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(outputStream -> {
+                byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+                // 여러 번 나누어 쓰기 (min-size 를 넘긴 뒤 flush)
+                for (int offset = 0; offset < bytes.length; offset += 1000) {
+                    outputStream.write(bytes, offset, Math.min(1000, bytes.length - offset));
+                }
+                outputStream.flush();
+            });
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.hashmap27.sample.component.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvCodecTest {
+
+    @Test
+    void appendFieldQuotesOnlyWhenNeeded() {
+        assertThat(field("plain")).isEqualTo("plain");
+        assertThat(field("a,b")).isEqualTo("\"a,b\"");
+        assertThat(field("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(field("back\\slash")).isEqualTo("\"back\\slash\"");
+        assertThat(field(" padded ")).isEqualTo("\" padded \"");
+    }
+
+    @Test
+    void appendFieldQuotesEmbeddedNewlines() {
+        assertThat(field("line1\nline2")).isEqualTo("\"line1\nline2\"");
+        assertThat(field("line1\r\nline2")).isEqualTo("\"line1\r\nline2\"");
+    }
+
+    @Test
+    void appendFieldSeparatesNullFromEmptyString() {
+        assertThat(field(null)).isEmpty();
+        assertThat(field("")).isEqualTo("\"\"");
+    }
+
+    @Test
+    void appendFieldWritesScalarsAsIs() {
+        assertThat(field(10L)).isEqualTo("10");
+        assertThat(field(new BigDecimal("12.50"))).isEqualTo("12.50");
+        assertThat(field(Boolean.TRUE)).isEqualTo("true");
+        assertThat(field(LocalDate.of(2021, 9, 1))).isEqualTo("2021-09-01");
+        assertThat(field(LocalDateTime.of(2021, 9, 1, 9, 0, 1))).isEqualTo("2021-09-01T09:00:01");
+        assertThat(field(new byte[] { 0x01, (byte) 0xAB })).isEqualTo("\"\\x01ab\"");
+    }
+
+    @Test
+    void appendFieldWritesUtilDateAsIsoOffsetDateTime() {
+        Date date = new Date(1_630_454_400_123L);
+
+        String text = field(date);
+
+        assertThat(text).doesNotContain("\"").contains("T");
+        assertThat(OffsetDateTime.parse(text).toInstant()).isEqualTo(date.toInstant());
+    }
+
+    @Test
+    void appendFieldKeepsJdbcDateTypes() {
+        assertThat(field(Timestamp.valueOf("2021-09-01 09:00:00.123"))).isEqualTo("2021-09-01 09:00:00.123");
+        assertThat(field(java.sql.Date.valueOf("2021-09-01"))).isEqualTo("2021-09-01");
+        assertThat(field(java.sql.Time.valueOf("09:00:01"))).isEqualTo("09:00:01");
+    }
+
+    @Test
+    void parseRowSeparatesNullFromEmptyString() {
+        assertThat(CsvCodec.parseRow("a,,\"\",b\n")).containsExactly("a", null, "", "b");
+        assertThat(CsvCodec.parseRow(",\r\n")).containsExactly(null, null);
+    }
+
+    @Test
+    void parseRowKeepsQuotedNewlinesAndQuotes() {
+        assertThat(CsvCodec.parseRow("1,\"line1\nline2\",\"say \"\"hi\"\"\",\"a,b\"\n"))
+                .containsExactly("1", "line1\nline2", "say \"hi\"", "a,b");
+    }
+
+    @Test
+    void roundTrip() {
+        List<String> values = Arrays.asList("x", null, "", "a,b", "line1\r\nline2", "\"quoted\"", " padded ");
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            CsvCodec.appendField(line, values.get(i));
+        }
+        line.append('\n');
+
+        assertThat(CsvCodec.parseRow(line.toString())).containsExactlyElementsOf(values);
+    }
+
+    @Test
+    void copyRowParsesTimestampAndTimestamptz() {
+        CopyRow row = new CopyRow(CsvCodec.parseRow("2021-09-01 10:00:00.123456,2021-09-01 10:00:00+09,2021-09-01 10:00:00.5-03:30\n"));
+
+        assertThat(row.getLocalDateTime(0)).isEqualTo(LocalDateTime.of(2021, 9, 1, 10, 0, 0, 123_456_000));
+        assertThat(row.getOffsetDateTime(1)).isEqualTo(OffsetDateTime.of(2021, 9, 1, 10, 0, 0, 0, ZoneOffset.ofHours(9)));
+        assertThat(row.getOffsetDateTime(2)).isEqualTo(OffsetDateTime.of(2021, 9, 1, 10, 0, 0, 500_000_000, ZoneOffset.ofHoursMinutes(-3, -30)));
+        // timestamptz 를 LocalDateTime 으로 읽으면 JVM 기본 시간대로 변환
+        assertThat(row.getLocalDateTime(1)).isEqualTo(OffsetDateTime.of(2021, 9, 1, 10, 0, 0, 0, ZoneOffset.ofHours(9))
+                .atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime());
+    }
+
+    private static String field(Object value) {
+        StringBuilder line = new StringBuilder();
+        CsvCodec.appendField(line, value);
+        return line.toString();
+    }
+}
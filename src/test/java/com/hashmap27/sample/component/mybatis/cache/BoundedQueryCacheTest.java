@@ -0,0 +1,95 @@
+package com.hashmap27.sample.component.mybatis.cache;
+
+import com.hashmap27.sample.domain.vo.SampleRowVO;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedQueryCacheTest {
+
+    private static final String KEY = "1:2:com.hashmap27.sample.repository.readonly.RoCommonMapper.selectSampleRows:0:2147483647:SELECT g FROM sample_table";
+
+    @Test
+    void putNonSerializableElementsIsRejected() {
+        BoundedQueryCache cache = new BoundedQueryCache("rejected");
+        List<Object> rows = new ArrayList<>(Arrays.asList(new SampleRowVO(), new Object()));
+
+        cache.putObject(KEY, rows);
+
+        assertThat(cache.getObject(KEY)).isNull();
+        assertThat(cache.getSize()).isZero();
+        assertThat(cache.getRejectionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void putSerializableValueReturnsCopy() {
+        BoundedQueryCache cache = new BoundedQueryCache("accepted");
+        List<Serializable> rows = new ArrayList<>(Arrays.asList(1L, "a"));
+
+        cache.putObject(KEY, rows);
+        Object cached = cache.getObject(KEY);
+
+        assertThat(cached).isEqualTo(rows).isNotSameAs(rows);
+        assertThat(cache.getHitCount()).isEqualTo(1L);
+        assertThat(cache.getRejectionCount()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOverMaxEntries() {
+        BoundedQueryCache cache = new BoundedQueryCache("evicted");
+        cache.setMaxEntries(2);
+
+        cache.putObject(KEY + ":1", 1L);
+        cache.putObject(KEY + ":2", 2L);
+        cache.getObject(KEY + ":1");
+        cache.putObject(KEY + ":3", 3L);
+
+        assertThat(cache.getObject(KEY + ":1")).isEqualTo(1L);
+        assertThat(cache.getObject(KEY + ":2")).isNull();
+        assertThat(cache.getSizeEvictionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void clearSuppressesPutsDuringReplicaLag() {
+        BoundedQueryCache cache = new BoundedQueryCache("suppressed");
+        cache.setReplicaLag("1h");
+
+        cache.clear();
+        cache.putObject(KEY, 1L);
+
+        assertThat(cache.getObject(KEY)).isNull();
+        assertThat(cache.getSuppressionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void clearWithoutReplicaLagCachesAgain() {
+        BoundedQueryCache cache = new BoundedQueryCache("not-suppressed");
+        cache.setReplicaLag("0");
+
+        cache.clear();
+        cache.putObject(KEY, 1L);
+
+        assertThat(cache.getObject(KEY)).isEqualTo(1L);
+        assertThat(cache.getSuppressionCount()).isZero();
+    }
+
+    @Test
+    void unregisteredCacheIsNotInvalidated() {
+        BoundedQueryCache cache = new BoundedQueryCache("unregistered");
+        cache.setTables("sample_table");
+        cache.setReplicaLag("0");
+        cache.putObject(KEY, 1L);
+
+        QueryCacheRegistry.unregister(Collections.singletonList(cache));
+        QueryCacheRegistry.invalidateTables(Collections.singleton("sample_table"));
+
+        assertThat(QueryCacheRegistry.getCaches()).doesNotContain(cache);
+        assertThat(cache.getObject(KEY)).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,75 @@
+package com.hashmap27.sample.component.mybatis.cache;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.transaction.Transaction;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TableInvalidationInterceptorTest {
+
+    private final List<Set<String>> published = new ArrayList<>();
+    private final CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+    private final TableInvalidationInterceptor interceptor = new TableInvalidationInterceptor(publisher);
+
+    @Test
+    void publishesAfterFlushOnCommitWithoutTransaction() throws Throwable {
+        Executor executor = executor();
+        doAnswer(invocation -> published.add(invocation.getArgument(1))).when(publisher).publish(any(), any());
+
+        interceptor.intercept(update(executor));
+        assertThat(published).isEmpty();
+
+        interceptor.intercept(new Invocation(executor, Executor.class.getMethod("commit", boolean.class), new Object[] { true }));
+
+        assertThat(published).containsExactly(Set.of("foo"));
+        InOrder order = inOrder(executor, publisher);
+        order.verify(executor).flushStatements();
+        order.verify(publisher).publish(any(), any());
+        order.verify(executor).commit(true);
+    }
+
+    @Test
+    void rollbackDropsUncommittedTables() throws Throwable {
+        Executor executor = executor();
+
+        interceptor.intercept(update(executor));
+        interceptor.intercept(new Invocation(executor, Executor.class.getMethod("rollback", boolean.class), new Object[] { true }));
+        interceptor.intercept(new Invocation(executor, Executor.class.getMethod("commit", boolean.class), new Object[] { true }));
+
+        verifyNoInteractions(publisher);
+    }
+
+    private static Executor executor() throws Exception {
+        Connection connection = mock(Connection.class);
+        Transaction transaction = mock(Transaction.class);
+        when(transaction.getConnection()).thenReturn(connection);
+        Executor executor = mock(Executor.class);
+        when(executor.getTransaction()).thenReturn(transaction);
+        return executor;
+    }
+
+    private static Invocation update(Executor executor) throws NoSuchMethodException {
+        Configuration configuration = new Configuration();
+        MappedStatement mappedStatement = new MappedStatement.Builder(configuration, "com.hashmap27.sample.repository.FooMapper.insertFoo",
+                new StaticSqlSource(configuration, "INSERT INTO foo (name) VALUES ('a')"), SqlCommandType.INSERT).build();
+        return new Invocation(executor, Executor.class.getMethod("update", MappedStatement.class, Object.class), new Object[] { mappedStatement, null });
+    }
+}
@@ -0,0 +1,94 @@
+package com.hashmap27.sample.component.mybatis.count;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedCountStrategyTest {
+
+    private static final String STATEMENT_ID = "com.hashmap27.sample.repository.FooMapper.selectFooCount";
+
+    @Test
+    void returnsCachedCountWithinTtl() {
+        RecordingCountStrategy delegate = new RecordingCountStrategy();
+        CachedCountStrategy strategy = new CachedCountStrategy(delegate, configuration(), Duration.ofMinutes(1), 10);
+
+        assertThat(strategy.count(STATEMENT_ID, "a")).isEqualTo(1L);
+        assertThat(strategy.count(STATEMENT_ID, "a")).isEqualTo(1L);
+
+        assertThat(delegate.parameters).containsExactly("a");
+    }
+
+    @Test
+    void expiredCountIsReloaded() {
+        RecordingCountStrategy delegate = new RecordingCountStrategy();
+        CachedCountStrategy strategy = new CachedCountStrategy(delegate, configuration(), Duration.ZERO, 10);
+
+        strategy.count(STATEMENT_ID, "a");
+        strategy.count(STATEMENT_ID, "a");
+
+        assertThat(delegate.parameters).containsExactly("a", "a");
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntryOnly() {
+        RecordingCountStrategy delegate = new RecordingCountStrategy();
+        CachedCountStrategy strategy = new CachedCountStrategy(delegate, configuration(), Duration.ofMinutes(1), 2);
+
+        strategy.count(STATEMENT_ID, "a");
+        strategy.count(STATEMENT_ID, "b");
+        strategy.count(STATEMENT_ID, "a");
+        strategy.count(STATEMENT_ID, "c");
+
+        assertThat(strategy.size()).isEqualTo(2);
+        strategy.count(STATEMENT_ID, "a");
+        strategy.count(STATEMENT_ID, "c");
+        assertThat(delegate.parameters).containsExactly("a", "b", "c");
+
+        strategy.count(STATEMENT_ID, "b");
+        assertThat(delegate.parameters).containsExactly("a", "b", "c", "b");
+    }
+
+    @Test
+    void writeToCountedTableEvictsEntry() {
+        RecordingCountStrategy delegate = new RecordingCountStrategy();
+        CachedCountStrategy strategy = new CachedCountStrategy(delegate, configuration(), Duration.ofMinutes(1), 10);
+
+        strategy.count(STATEMENT_ID, "a");
+        strategy.invalidateTables(Collections.singleton("bar"));
+        strategy.count(STATEMENT_ID, "a");
+        strategy.invalidateTables(Collections.singleton("foo"));
+        strategy.count(STATEMENT_ID, "a");
+
+        assertThat(delegate.parameters).containsExactly("a", "a");
+    }
+
+    private static Configuration configuration() {
+        Configuration configuration = new Configuration();
+        List<ParameterMapping> parameterMappings = Collections.singletonList(
+                new ParameterMapping.Builder(configuration, "value", String.class).build());
+        configuration.addMappedStatement(new MappedStatement.Builder(configuration, STATEMENT_ID,
+                new StaticSqlSource(configuration, "SELECT count(*) FROM foo WHERE name = ?", parameterMappings), SqlCommandType.SELECT).build());
+        return configuration;
+    }
+
+    private static class RecordingCountStrategy implements CountStrategy {
+        private final List<Object> parameters = new ArrayList<>();
+
+        @Override
+        public long count(String statementId, Object parameter) {
+            parameters.add(parameter);
+            return parameters.size();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.hashmap27.sample.component.mybatis.count;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountServiceTest {
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void countAsyncPropagatesCallerMdc() {
+        AtomicReference<String> taskRequestId = new AtomicReference<>();
+        AtomicReference<String> taskThread = new AtomicReference<>();
+        CountStrategy strategy = (statementId, parameter) -> {
+            taskRequestId.set(MDC.get("requestId"));
+            taskThread.set(Thread.currentThread().getName());
+            return 3L;
+        };
+        CountService countService = new CountService(Collections.singletonMap(CountMode.EXACT, strategy), new CountProperties());
+        try {
+            MDC.put("requestId", "req-1");
+
+            assertThat(countService.countAsync("foo.selectFooCount", null, CountMode.EXACT).join()).isEqualTo(3L);
+            assertThat(taskRequestId.get()).isEqualTo("req-1");
+            assertThat(taskThread.get()).startsWith("mybatis-count-");
+
+            MDC.clear();
+            countService.countAsync("foo.selectFooCount", null, CountMode.EXACT).join();
+            assertThat(taskRequestId.get()).isNull();
+        } finally {
+            countService.destroy();
+        }
+    }
+}
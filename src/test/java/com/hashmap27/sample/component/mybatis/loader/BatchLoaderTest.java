@@ -0,0 +1,145 @@
+package com.hashmap27.sample.component.mybatis.loader;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchLoaderTest {
+
+    /** 조회 함수에 전달된 key 목록 */
+    private final List<List<Long>> batches = new ArrayList<>();
+    private final AtomicBoolean failNext = new AtomicBoolean();
+    private BatchLoaderRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        BatchLoaderProperties properties = new BatchLoaderProperties();
+        properties.setMaxBatchSize(2);
+        registry = new BatchLoaderRegistry(properties, new SimpleMeterRegistry());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /** 100 미만 key 만 존재 */
+    private BatchLoader<Long, String> register() {
+        return registry.register("row", ids -> {
+            batches.add(new ArrayList<>(ids));
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("query failed");
+            }
+            return ids.stream().filter(id -> id < 100).map(id -> "row-" + id).collect(Collectors.toList());
+        }, row -> Long.valueOf(row.substring(4)));
+    }
+
+    @Test
+    void loadIsDeferredUntilFirstGet() {
+        BatchLoader<Long, String> loader = register();
+
+        Supplier<String> first = loader.load(1L);
+        Supplier<String> second = loader.load(2L);
+        assertThat(batches).isEmpty();
+
+        assertThat(first.get()).isEqualTo("row-1");
+        assertThat(second.get()).isEqualTo("row-2");
+        assertThat(batches).containsExactly(Arrays.asList(1L, 2L));
+    }
+
+    @Test
+    void duplicateKeysAreLoadedOnce() {
+        BatchLoader<Long, String> loader = register();
+
+        loader.load(1L);
+        loader.load(1L);
+        Map<Long, String> rows = loader.loadMany(Arrays.asList(1L, 2L));
+
+        assertThat(rows).containsEntry(1L, "row-1").containsEntry(2L, "row-2");
+        assertThat(batches).containsExactly(Arrays.asList(1L, 2L));
+        assertThat(loader.getRequestStatistics().getRequested()).isEqualTo(4L);
+        assertThat(loader.getRequestStatistics().getHits()).isEqualTo(2L);
+        assertThat(loader.getRequestStatistics().getQueries()).isEqualTo(1L);
+    }
+
+    @Test
+    void missingKeyIsMemoizedAsNull() {
+        BatchLoader<Long, String> loader = register();
+
+        assertThat(loader.load(100L).get()).isNull();
+        assertThat(loader.load(100L).get()).isNull();
+        assertThat(loader.loadMany(Arrays.asList(100L))).isEmpty();
+
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    void keysAreChunkedByMaxBatchSize() {
+        BatchLoader<Long, String> loader = register();
+
+        Map<Long, String> rows = loader.loadMany(Arrays.asList(1L, 2L, 3L, 4L, 5L));
+
+        assertThat(rows).hasSize(5);
+        assertThat(batches).containsExactly(Arrays.asList(1L, 2L), Arrays.asList(3L, 4L), Arrays.asList(5L));
+        assertThat(loader.getRequestStatistics().getQueries()).isEqualTo(3L);
+    }
+
+    @Test
+    void failedDispatchIsRetriedOnNextGet() {
+        BatchLoader<Long, String> loader = register();
+        Supplier<String> first = loader.load(1L);
+        Supplier<String> second = loader.load(2L);
+
+        failNext.set(true);
+        assertThatThrownBy(first::get).isInstanceOf(IllegalStateException.class);
+
+        assertThat(first.get()).isEqualTo("row-1");
+        assertThat(second.get()).isEqualTo("row-2");
+        assertThat(batches).containsExactly(Arrays.asList(1L, 2L), Arrays.asList(1L), Arrays.asList(2L));
+    }
+
+    @Test
+    void primedValueIsNotLoaded() {
+        BatchLoader<Long, String> loader = register();
+
+        loader.prime(7L, "row-7");
+
+        assertThat(loader.load(7L).get()).isEqualTo("row-7");
+        assertThat(batches).isEmpty();
+    }
+
+    @Test
+    void outsideRequestNothingIsReused() {
+        BatchLoader<Long, String> loader = register();
+        RequestContextHolder.resetRequestAttributes();
+
+        loader.load(1L).get();
+        loader.load(1L).get();
+
+        assertThat(batches).hasSize(2);
+    }
+
+    @Test
+    void duplicateNameIsRejected() {
+        register();
+
+        assertThatThrownBy(this::register).isInstanceOf(IllegalStateException.class);
+        assertThat(registry.<Long, String>get("row")).isNotNull();
+    }
+}
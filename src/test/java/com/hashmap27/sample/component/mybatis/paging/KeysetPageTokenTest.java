@@ -0,0 +1,134 @@
+package com.hashmap27.sample.component.mybatis.paging;
+
+import com.hashmap27.sample.component.exception.SampleBadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPageTokenTest {
+
+    private static final String SIGNATURE = "1a2b3c";
+    private static final Instant NOW = Instant.parse("2021-09-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        KeysetPageToken.configure("test-secret", Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        KeysetPageToken.configure(null, Duration.ofHours(1));
+    }
+
+    @Test
+    void blankTokenIsFirstPage() {
+        assertThat(KeysetPageToken.decode(null, SIGNATURE, 1, NOW)).isNull();
+        assertThat(KeysetPageToken.decode(" ", SIGNATURE, 1, NOW)).isNull();
+    }
+
+    @Test
+    void roundTripKeepsKeyTypes() {
+        Object[] keyValues = {
+                10L,
+                new BigDecimal("12.50"),
+                LocalDateTime.of(2021, 8, 31, 23, 59, 59, 123_000_000),
+                Timestamp.valueOf("2021-08-31 23:59:59.123456"),
+                LocalDate.of(2021, 8, 31),
+                OffsetDateTime.of(2021, 8, 31, 23, 59, 59, 0, ZoneOffset.ofHours(9)),
+                new Date(1_630_454_399_000L),
+                UUID.fromString("123e4567-e89b-12d3-a456-426614174000"),
+                Boolean.TRUE,
+                "name",
+                null
+        };
+
+        String token = KeysetPageToken.encode(SIGNATURE, keyValues, NOW);
+        List<Object> decoded = KeysetPageToken.decode(token, SIGNATURE, keyValues.length, NOW);
+
+        assertThat(decoded).containsExactly(keyValues);
+    }
+
+    @Test
+    void integerKeyIsDecodedAsLong() {
+        String token = KeysetPageToken.encode(SIGNATURE, new Object[] { 7 }, NOW);
+
+        assertThat(KeysetPageToken.decode(token, SIGNATURE, 1, NOW)).containsExactly(7L);
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = KeysetPageToken.encode(SIGNATURE, new Object[] { 10L }, NOW);
+        int separator = token.indexOf('.');
+        String json = new String(Base64.getUrlDecoder().decode(token.substring(0, separator)), StandardCharsets.UTF_8);
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(json.replace("\"10\"", "\"99999\"").getBytes(StandardCharsets.UTF_8))
+                + token.substring(separator);
+
+        assertInvalid(tampered, "hmac mismatch");
+    }
+
+    @Test
+    void rejectsTokenSignedWithOtherSecret() {
+        String token = KeysetPageToken.encode(SIGNATURE, new Object[] { 10L }, NOW);
+        KeysetPageToken.configure("other-secret", Duration.ofHours(1));
+
+        assertInvalid(token, "hmac mismatch");
+    }
+
+    @Test
+    void rejectsUnsignedOrMalformedToken() {
+        String unsigned = Base64.getUrlEncoder().withoutPadding().encodeToString("{\"s\":\"1a2b3c\",\"k\":[[\"L\",\"10\"]]}".getBytes(StandardCharsets.UTF_8));
+
+        assertInvalid(unsigned, "no hmac");
+        assertInvalid("not-base64!.@@", "IllegalArgumentException");
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = KeysetPageToken.encode(SIGNATURE, new Object[] { 10L }, NOW);
+
+        assertThat(KeysetPageToken.decode(token, SIGNATURE, 1, NOW.plus(Duration.ofMinutes(59)))).containsExactly(10L);
+        assertInvalid(token, NOW.plus(Duration.ofMinutes(61)), "expired");
+    }
+
+    @Test
+    void rejectsOtherSortSignatureOrKeyCount() {
+        String token = KeysetPageToken.encode(SIGNATURE, new Object[] { 10L }, NOW);
+
+        assertThatThrownBy(() -> KeysetPageToken.decode(token, "ffff", 1, NOW))
+                .isInstanceOf(SampleBadRequestException.class)
+                .hasFieldOrPropertyWithValue("debugMessage", "signature or key count mismatch");
+        assertThatThrownBy(() -> KeysetPageToken.decode(token, SIGNATURE, 2, NOW))
+                .isInstanceOf(SampleBadRequestException.class)
+                .hasFieldOrPropertyWithValue("debugMessage", "signature or key count mismatch");
+    }
+
+    private static void assertInvalid(String token, String debugMessage) {
+        assertInvalid(token, NOW, debugMessage);
+    }
+
+    private static void assertInvalid(String token, Instant now, String debugMessage) {
+        assertThatThrownBy(() -> KeysetPageToken.decode(token, SIGNATURE, 1, now))
+                .isInstanceOfSatisfying(SampleBadRequestException.class, e -> {
+                    assertThat(e.getCode()).isEqualTo("page.token.invalid");
+                    assertThat(e.getDebugMessage()).contains(debugMessage);
+                    assertThat(e.getStackTrace()).isEmpty();
+                });
+    }
+}
@@ -0,0 +1,29 @@
+package com.hashmap27.sample.component.mybatis.profiling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfilingPropertiesTest {
+
+    @Test
+    void subSecondTimeoutIsRoundedUp() {
+        assertThat(ProfilingProperties.toQueryTimeoutSeconds(Duration.ofMillis(1))).isEqualTo(1);
+        assertThat(ProfilingProperties.toQueryTimeoutSeconds(Duration.ofMillis(500))).isEqualTo(1);
+        assertThat(ProfilingProperties.toQueryTimeoutSeconds(Duration.ofMillis(1500))).isEqualTo(2);
+        assertThat(ProfilingProperties.toQueryTimeoutSeconds(Duration.ofSeconds(30))).isEqualTo(30);
+    }
+
+    @Test
+    void zeroOrNegativeTimeoutMeansNoLimit() {
+        assertThat(ProfilingProperties.toQueryTimeoutSeconds(Duration.ZERO)).isZero();
+        assertThat(ProfilingProperties.toQueryTimeoutSeconds(Duration.ofSeconds(-1))).isZero();
+    }
+
+    @Test
+    void hugeTimeoutIsCapped() {
+        assertThat(ProfilingProperties.toQueryTimeoutSeconds(Duration.ofDays(100_000))).isEqualTo(Integer.MAX_VALUE);
+    }
+}
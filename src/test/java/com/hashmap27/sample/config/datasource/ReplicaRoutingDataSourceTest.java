@@ -0,0 +1,102 @@
+package com.hashmap27.sample.config.datasource;
+
+import com.hashmap27.sample.config.type.ReplicaLoadBalanceType;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final Connection replicaConnection = mock(Connection.class);
+    private final HikariDataSource first = mock(HikariDataSource.class);
+    private final HikariDataSource second = mock(HikariDataSource.class);
+    private final DataSource primary = mock(DataSource.class);
+
+    private ReplicaRoutingDataSource routingDataSource() throws SQLException {
+        return routingDataSource(ReplicaLoadBalanceType.ROUND_ROBIN);
+    }
+
+    private ReplicaRoutingDataSource routingDataSource(ReplicaLoadBalanceType loadBalance) throws SQLException {
+        when(second.getConnection()).thenReturn(replicaConnection);
+        ReplicaRoutingProperties properties = new ReplicaRoutingProperties();
+        properties.setFallbackToPrimary(false);
+        properties.setLoadBalance(loadBalance);
+        return new ReplicaRoutingDataSource(Arrays.asList(first, second), primary, properties);
+    }
+
+    @Test
+    void poolTimeoutDoesNotEjectReplica() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLTransientConnectionException("hikari-replica-1 - Connection is not available, request timed out after 30000ms."));
+        ReplicaRoutingDataSource routingDataSource = routingDataSource();
+
+        // round robin: first → second, second, first → second
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+
+        verify(first, times(2)).getConnection();
+    }
+
+    @Test
+    void connectivityFailureEjectsReplica() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLTransientConnectionException("hikari-replica-1 - Connection is not available", "08001"));
+        ReplicaRoutingDataSource routingDataSource = routingDataSource();
+
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+
+        verify(first, times(1)).getConnection();
+    }
+
+    @Test
+    void leastOutstandingDoesNotRetrySameBusyReplica() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLTransientConnectionException("hikari-replica-1 - Connection is not available, request timed out after 30000ms."));
+        HikariPoolMXBean idlePool = pool(0);
+        HikariPoolMXBean busyPool = pool(5);
+        when(first.getHikariPoolMXBean()).thenReturn(idlePool);
+        when(second.getHikariPoolMXBean()).thenReturn(busyPool);
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(ReplicaLoadBalanceType.LEAST_OUTSTANDING);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+
+        verify(first, times(1)).getConnection();
+        verify(second, times(1)).getConnection();
+    }
+
+    @Test
+    void leastOutstandingFailsAfterTryingEachReplicaOnce() throws SQLException {
+        SQLTransientConnectionException timeout = new SQLTransientConnectionException("Connection is not available, request timed out after 30000ms.");
+        HikariPoolMXBean idlePool = pool(0);
+        HikariPoolMXBean busyPool = pool(5);
+        when(first.getHikariPoolMXBean()).thenReturn(idlePool);
+        when(second.getHikariPoolMXBean()).thenReturn(busyPool);
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(ReplicaLoadBalanceType.LEAST_OUTSTANDING);
+        when(first.getConnection()).thenThrow(timeout);
+        when(second.getConnection()).thenThrow(timeout);
+
+        assertThatThrownBy(routingDataSource::getConnection).isInstanceOf(SQLException.class).hasCause(timeout);
+
+        verify(first, times(1)).getConnection();
+        verify(second, times(1)).getConnection();
+    }
+
+    private static HikariPoolMXBean pool(int activeConnections) {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getActiveConnections()).thenReturn(activeConnections);
+        return pool;
+    }
+}